@@ -0,0 +1,209 @@
+package model.emulator;
+
+import model.kernel.Flags;
+import model.kernel.IMicroprocessor;
+import model.kernel.RegisterPairs;
+import model.kernel.Registers;
+
+import java.util.ArrayList;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Транслятор условий точек остановки. Условие разбирается один раз при установке точки
+ * остановки и превращается в дерево предикатов, которое при достижении точки остановки
+ * только читает регистры и память микропроцессора.
+ * <p>
+ * Синтаксис условия: сравнения {@code == != < <= > >=}, объединённые операциями
+ * {@code &&} и {@code ||}, и скобки. Операнды сравнений:
+ * <ul>
+ *     <li>регистры A, B, C, D, E, H, L, SP, PC и пары регистров BC, DE, HL;</li>
+ *     <li>флаги Z, S, P, AC и CY (флаг переноса);</li>
+ *     <li>ячейка памяти M (по адресу из HL) или [адрес], где адрес - число, регистр
+ *     или пара регистров;</li>
+ *     <li>числа в десятичной, шестнадцатеричной (0x) или двоичной (0b) системе.</li>
+ * </ul>
+ * Например: {@code A == 0x10 && [HL] != 0 || CY == 1}.
+ */
+class BreakpointCondition {
+
+    private final ArrayList<String> tokens = new ArrayList<>();
+    private int position;
+
+    private BreakpointCondition(String expression) {
+        tokenize(expression);
+    }
+
+    /**
+     * Метод для трансляции условия.
+     * @param expression текст условия.
+     * @return предикат, проверяющий условие для состояния микропроцессора.
+     * @throws IllegalArgumentException если условие содержит ошибку.
+     */
+    static Predicate<IMicroprocessor> compile(String expression) {
+        BreakpointCondition condition = new BreakpointCondition(expression);
+        Predicate<IMicroprocessor> predicate = condition.parseOr();
+        if (condition.position != condition.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected " + condition.tokens.get(condition.position)
+                    + " in condition: " + expression);
+        }
+        return predicate;
+    }
+
+    private void tokenize(String expression) {
+        int i = 0;
+        while (i < expression.length()) {
+            char symbol = expression.charAt(i);
+            if (Character.isWhitespace(symbol)) {
+                ++i;
+            } else if (Character.isLetterOrDigit(symbol)) {
+                int start = i;
+                while (i < expression.length() && Character.isLetterOrDigit(expression.charAt(i))) {
+                    ++i;
+                }
+                tokens.add(expression.substring(start, i).toUpperCase());
+            } else {
+                String pair = i + 1 < expression.length() ? expression.substring(i, i + 2) : "";
+                if (pair.equals("==") || pair.equals("!=") || pair.equals("<=") || pair.equals(">=")
+                        || pair.equals("&&") || pair.equals("||")) {
+                    tokens.add(pair);
+                    i += 2;
+                } else if ("<>()[]".indexOf(symbol) >= 0) {
+                    tokens.add(String.valueOf(symbol));
+                    ++i;
+                } else {
+                    throw new IllegalArgumentException("Unexpected symbol " + symbol
+                            + " in condition: " + expression);
+                }
+            }
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Empty condition");
+        }
+    }
+
+    private Predicate<IMicroprocessor> parseOr() {
+        Predicate<IMicroprocessor> left = parseAnd();
+        while (accept("||")) {
+            Predicate<IMicroprocessor> first = left;
+            Predicate<IMicroprocessor> second = parseAnd();
+            left = mp -> first.test(mp) || second.test(mp);
+        }
+        return left;
+    }
+
+    private Predicate<IMicroprocessor> parseAnd() {
+        Predicate<IMicroprocessor> left = parseComparison();
+        while (accept("&&")) {
+            Predicate<IMicroprocessor> first = left;
+            Predicate<IMicroprocessor> second = parseComparison();
+            left = mp -> first.test(mp) && second.test(mp);
+        }
+        return left;
+    }
+
+    private Predicate<IMicroprocessor> parseComparison() {
+        if (accept("(")) {
+            Predicate<IMicroprocessor> predicate = parseOr();
+            expect(")");
+            return predicate;
+        }
+        ToIntFunction<IMicroprocessor> left = parseOperand();
+        String operator = next();
+        ToIntFunction<IMicroprocessor> right = parseOperand();
+        switch (operator) {
+            case "==": return mp -> left.applyAsInt(mp) == right.applyAsInt(mp);
+            case "!=": return mp -> left.applyAsInt(mp) != right.applyAsInt(mp);
+            case "<": return mp -> left.applyAsInt(mp) < right.applyAsInt(mp);
+            case "<=": return mp -> left.applyAsInt(mp) <= right.applyAsInt(mp);
+            case ">": return mp -> left.applyAsInt(mp) > right.applyAsInt(mp);
+            case ">=": return mp -> left.applyAsInt(mp) >= right.applyAsInt(mp);
+            default: throw new IllegalArgumentException("Comparison expected instead of " + operator);
+        }
+    }
+
+    private ToIntFunction<IMicroprocessor> parseOperand() {
+        if (accept("[")) {
+            ToIntFunction<IMicroprocessor> address = parseOperand();
+            expect("]");
+            return mp -> memory(mp, address.applyAsInt(mp));
+        }
+        String token = next();
+        switch (token) {
+            case "A": return register(Registers.A);
+            case "B": return register(Registers.B);
+            case "C": return register(Registers.C);
+            case "D": return register(Registers.D);
+            case "E": return register(Registers.E);
+            case "H": return register(Registers.H);
+            case "L": return register(Registers.L);
+            case "SP": return register(Registers.SP);
+            case "PC": return register(Registers.PC);
+            case "BC": return registerPair(RegisterPairs.B);
+            case "DE": return registerPair(RegisterPairs.D);
+            case "HL": return registerPair(RegisterPairs.H);
+            case "M": return mp -> memory(mp, mp.getValueFromRegisterPair(RegisterPairs.H));
+            case "Z": return flag(Flags.Z);
+            case "S": return flag(Flags.S);
+            case "P": return flag(Flags.P);
+            case "AC": return flag(Flags.AC);
+            case "CY": return flag(Flags.C);
+        }
+        int value = parseNumber(token);
+        return mp -> value;
+    }
+
+    /**
+     * Чтение ячейки памяти для проверки условия. Память читается в обход точек наблюдения:
+     * проверка условия отладчиком не является обращением программы к памяти.
+     */
+    private static int memory(IMicroprocessor mp, int address) {
+        return mp.peekMemory(address % mp.getMemorySize());
+    }
+
+    private static ToIntFunction<IMicroprocessor> register(Registers register) {
+        return mp -> mp.getValueFromRegister(register);
+    }
+
+    private static ToIntFunction<IMicroprocessor> registerPair(RegisterPairs registerPair) {
+        return mp -> mp.getValueFromRegisterPair(registerPair);
+    }
+
+    private static ToIntFunction<IMicroprocessor> flag(Flags flag) {
+        return mp -> mp.getValueFromFlag(flag);
+    }
+
+    private static int parseNumber(String token) {
+        try {
+            if (token.startsWith("0X")) {
+                return Integer.parseInt(token.substring(2), 16);
+            } else if (token.startsWith("0B")) {
+                return Integer.parseInt(token.substring(2), 2);
+            }
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown operand " + token);
+        }
+    }
+
+    private String next() {
+        if (position == tokens.size()) {
+            throw new IllegalArgumentException("Unexpected end of condition");
+        }
+        return tokens.get(position++);
+    }
+
+    private boolean accept(String token) {
+        if (position < tokens.size() && tokens.get(position).equals(token)) {
+            ++position;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw new IllegalArgumentException(token + " expected");
+        }
+    }
+}
\ No newline at end of file
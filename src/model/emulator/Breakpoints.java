@@ -0,0 +1,181 @@
+package model.emulator;
+
+import model.kernel.IMicroprocessor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Predicate;
+
+/**
+ * Точки остановки эмулятора.
+ * Установленные адреса хранятся в битовой маске, которая проверяется один раз на линейный
+ * участок программы, а при отсутствии точек остановки не проверяется вовсе.
+ * Условие, счётчик срабатываний и признак временной точки остановки хранятся отдельно
+ * и используются только при достижении установленного адреса.
+ * Адреса точек остановки являются границами линейных участков микропроцессора.
+ */
+class Breakpoints {
+
+    /**
+     * Сведения о точке остановки, установленной по одному адресу.
+     */
+    private static class Breakpoint {
+        private boolean permanent;
+        private boolean temporary;
+        private Predicate<IMicroprocessor> condition;
+        private long hitCount;
+    }
+
+    private final IMicroprocessor microprocessor;
+
+    private final long[] armed;
+    private int armedCount;
+
+    private final HashMap<Integer, Breakpoint> breakpoints = new HashMap<>();
+
+    Breakpoints(IMicroprocessor microprocessor) {
+        this.microprocessor = microprocessor;
+        this.armed = new long[(microprocessor.getMemorySize() + 63) / 64];
+    }
+
+    /**
+     * @return true, если установлена хотя бы одна точка остановки.
+     */
+    boolean isAnyArmed() {
+        return armedCount != 0;
+    }
+
+    /**
+     * @return true, если по адресу установлена точка остановки (без учёта условия).
+     */
+    boolean isArmed(int address) {
+        return (armed[address >>> 6] & (1L << address)) != 0;
+    }
+
+    /**
+     * Метод для проверки точки остановки при достижении адреса. Увеличивает счётчик
+     * срабатываний, если условие точки остановки выполнено. Временная точка остановки
+     * срабатывает без условия и не учитывается в счётчике.
+     * @param address значение программного счётчика.
+     * @return true, если выполнение нужно остановить.
+     */
+    boolean hit(int address) {
+        if (!isArmed(address)) {
+            return false;
+        }
+        Breakpoint breakpoint = breakpoints.get(address);
+        boolean stop = breakpoint.temporary;
+        if (breakpoint.permanent
+                && (breakpoint.condition == null || breakpoint.condition.test(microprocessor))) {
+            ++breakpoint.hitCount;
+            stop = true;
+        }
+        return stop;
+    }
+
+    /**
+     * Метод для установки или снятия безусловной точки остановки.
+     */
+    void toggle(int address) {
+        Breakpoint breakpoint = breakpoints.get(address);
+        if (breakpoint != null && breakpoint.permanent) {
+            breakpoint.permanent = false;
+            breakpoint.condition = null;
+            disarmIfUnused(address, breakpoint);
+        } else {
+            set(address, null);
+        }
+    }
+
+    /**
+     * Метод для установки точки остановки. Счётчик срабатываний сбрасывается.
+     * @param condition условие остановки или null для безусловной точки остановки.
+     */
+    void set(int address, Predicate<IMicroprocessor> condition) {
+        Breakpoint breakpoint = arm(address);
+        breakpoint.permanent = true;
+        breakpoint.condition = condition;
+        breakpoint.hitCount = 0;
+    }
+
+    /**
+     * Метод для установки временной точки остановки (выполнение до курсора). Временная
+     * точка остановки безусловна и снимается методом {@link #removeTemporary()}.
+     */
+    void setTemporary(int address) {
+        arm(address).temporary = true;
+    }
+
+    /**
+     * Метод для снятия временных точек остановки после завершения выполнения программы.
+     */
+    void removeTemporary() {
+        breakpoints.entrySet().removeIf(entry -> {
+            Breakpoint breakpoint = entry.getValue();
+            breakpoint.temporary = false;
+            if (breakpoint.permanent) {
+                return false;
+            }
+            disarm(entry.getKey());
+            return true;
+        });
+    }
+
+    /**
+     * @return количество срабатываний точки остановки с момента её установки.
+     */
+    long getHitCount(int address) {
+        Breakpoint breakpoint = breakpoints.get(address);
+        return breakpoint == null ? 0 : breakpoint.hitCount;
+    }
+
+    /**
+     * Метод для снятия всех точек остановки. Перебираются только установленные адреса.
+     */
+    void clear() {
+        for (int address : breakpoints.keySet()) {
+            microprocessor.setBlockBoundary(address, false);
+        }
+        breakpoints.clear();
+        Arrays.fill(armed, 0);
+        armedCount = 0;
+    }
+
+    /**
+     * Метод для заполнения массива признаков точек остановки (1 - точка остановки
+     * установлена) для отображения. Временные точки остановки не отображаются.
+     */
+    void fill(int[] breakpointsData) {
+        Arrays.fill(breakpointsData, 0);
+        breakpoints.forEach((address, breakpoint) -> {
+            if (breakpoint.permanent) {
+                breakpointsData[address] = 1;
+            }
+        });
+    }
+
+    private Breakpoint arm(int address) {
+        Breakpoint breakpoint = breakpoints.get(address);
+        if (breakpoint == null) {
+            breakpoint = new Breakpoint();
+            breakpoints.put(address, breakpoint);
+            armed[address >>> 6] |= 1L << address;
+            ++armedCount;
+            microprocessor.setBlockBoundary(address, true);
+        }
+        return breakpoint;
+    }
+
+    private void disarmIfUnused(int address, Breakpoint breakpoint) {
+        if (!breakpoint.permanent && !breakpoint.temporary) {
+            breakpoints.remove(address);
+            disarm(address);
+        }
+    }
+
+    private void disarm(int address) {
+        armed[address >>> 6] &= ~(1L << address);
+        --armedCount;
+        microprocessor.setBlockBoundary(address, false);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package model.emulator;
+
+import model.kernel.IMicroprocessor;
+import model.kernel.Registers;
+import model.translator.Intel8080CommandsCodes;
+
+/**
+ * Распознавание циклов ожидания таймера (порт 0x16). Цикл ожидания только читает таймер
+ * и возвращается к чтению, пока таймер не достигнет нужного значения:
+ * <pre>
+ * loop: IN 16h          loop: IN 16h          loop: IN 16h
+ *       ORA A (ANA A)         CPI n                 CPI n
+ *       JNZ loop              JNZ loop              JNC loop
+ * </pre>
+ * Таймер только уменьшается, поэтому значение, на котором цикл завершится, известно заранее
+ * и таймер можно сразу перевести к этому значению, не выполняя цикл. Программа видит ту же
+ * последовательность значений, что и при ожидании, но без промежуточных.
+ * Проверка выполняется при чтении порта таймера, когда программный счётчик указывает на
+ * команду, следующую за IN, и стоит нескольких чтений памяти.
+ */
+class BusyWaitDetector {
+
+    private static final int TIMER_PORT = 0x16;
+
+    /**
+     * Наибольший размер цикла ожидания в байтах (IN, CPI, JNZ).
+     */
+    private static final int MAX_LOOP_SIZE = 7;
+
+    private final IMicroprocessor microprocessor;
+    private final byte[] code = new byte[MAX_LOOP_SIZE];
+
+    private volatile boolean enabled;
+
+    BusyWaitDetector(IMicroprocessor microprocessor) {
+        this.microprocessor = microprocessor;
+    }
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Метод для определения значения таймера, на котором завершится цикл ожидания,
+     * начинающийся с только что выполненной команды IN.
+     * @param value текущее значение таймера.
+     * @return значение таймера, на котором цикл завершится, или -1, если распознавание
+     * отключено, команда IN не начинает цикл ожидания или цикл не завершится уменьшением
+     * таймера.
+     */
+    int getExitValue(int value) {
+        if (!enabled) {
+            return -1;
+        }
+        int start = microprocessor.getValueFromRegister(Registers.PC) - 2;
+        if (start < 0 || start + MAX_LOOP_SIZE > microprocessor.getMemorySize()) {
+            return -1;
+        }
+        // Код читается без проверки точек наблюдения за памятью.
+        microprocessor.readMemory(start, code, 0, MAX_LOOP_SIZE);
+        if (get(0) != Intel8080CommandsCodes.IN || get(1) != TIMER_PORT) {
+            return -1;
+        }
+        int exitValue;
+        int jump;
+        if (get(2) == Intel8080CommandsCodes.ORA_A || get(2) == Intel8080CommandsCodes.ANA_A) {
+            exitValue = 0;
+            jump = 3;
+            if (get(jump) != Intel8080CommandsCodes.JNZ) {
+                return -1;
+            }
+        } else if (get(2) == Intel8080CommandsCodes.CPI) {
+            int operand = get(3);
+            jump = 4;
+            if (get(jump) == Intel8080CommandsCodes.JNZ) {
+                exitValue = operand;
+            } else if (get(jump) == Intel8080CommandsCodes.JNC && operand > 0) {
+                exitValue = operand - 1;
+            } else {
+                return -1;
+            }
+        } else {
+            return -1;
+        }
+        int target = get(jump + 1) * 256 + get(jump + 2);
+        if (target != start || value <= exitValue) {
+            return -1;
+        }
+        return exitValue;
+    }
+
+    private int get(int offset) {
+        return code[offset] & 0xFF;
+    }
+}
\ No newline at end of file
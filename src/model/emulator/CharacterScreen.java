@@ -7,6 +7,7 @@ class CharacterScreen implements IScreen {
 
     private int[][] colorMemory;
     private int[][] charMemory;
+    private final DirtyMask dirtyCells;
     private int inputState;
     private int outputState;
     private int outputRegister;
@@ -18,6 +19,7 @@ class CharacterScreen implements IScreen {
         this.columnCount = columnCount;
         this.colorMemory = new int[rowCount][columnCount];
         this.charMemory = new int[rowCount][columnCount];
+        this.dirtyCells = new DirtyMask(rowCount * columnCount);
         this.inputState = 0;
         this.outputState = 0;
         this.outputRegister = 0;
@@ -58,12 +60,14 @@ class CharacterScreen implements IScreen {
             }
             case 3: {
                 colorMemory[rowSelectedAddress][columnSelectedAddress] = value;
+                dirtyCells.mark(rowSelectedAddress * columnCount + columnSelectedAddress);
                 outputRegister = 0x00;
                 inputState = 4;
                 break;
             }
             case 4: {
                 charMemory[rowSelectedAddress][columnSelectedAddress] = value;
+                dirtyCells.mark(rowSelectedAddress * columnCount + columnSelectedAddress);
                 outputRegister = 0x00;
                 inputState = 0;
                 return true;
@@ -100,6 +104,11 @@ class CharacterScreen implements IScreen {
         return charMemory;
     }
 
+    @Override
+    public DirtyMask getDirtyMask() {
+        return dirtyCells;
+    }
+
     @Override
     public void clear() {
         for (int i = 0; i < rowCount; ++i) {
@@ -108,5 +117,6 @@ class CharacterScreen implements IScreen {
                 colorMemory[i][j] = 0;
             }
         }
+        dirtyCells.markAll();
     }
 }
\ No newline at end of file
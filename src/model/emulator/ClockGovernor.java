@@ -0,0 +1,93 @@
+package model.emulator;
+
+/**
+ * Регулятор тактовой частоты эмулятора. Сравнивает количество выполненных тактов
+ * микропроцессора со временем, прошедшим с начала выполнения, и приостанавливает поток
+ * выполнения, если эмуляция опережает заданную частоту.
+ * Проверка выполняется не чаще одного раза на {@link #SYNCHRONIZATION_CYCLES} тактов,
+ * поэтому поток засыпает пакетами, а не после каждой команды.
+ */
+class ClockGovernor {
+
+    /**
+     * Количество тактов между сверками со временем (5 мс при частоте 2 МГц).
+     */
+    private static final long SYNCHRONIZATION_CYCLES = 10_000;
+
+    /**
+     * Минимальное опережение, при котором поток засыпает.
+     */
+    private static final long MIN_SLEEP_NANOS = 1_000_000;
+
+    /**
+     * Максимальное отставание от заданной частоты. При большем отставании (например,
+     * после долгого обращения к устройству ввода) отсчёт начинается заново, чтобы эмуляция
+     * не наверстывала упущенное время на максимальной скорости.
+     */
+    private static final long MAX_LAG_NANOS = 100_000_000;
+
+    private volatile long frequency;
+
+    private long appliedFrequency;
+    private long startNanos;
+    private long startCycles;
+    private long lastCycles;
+
+    /**
+     * Метод для установки тактовой частоты.
+     * @param frequency частота в герцах, {@link IEmulator#UNTHROTTLED} - без ограничения.
+     */
+    void setFrequency(long frequency) {
+        this.frequency = frequency;
+    }
+
+    long getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * Метод для начала отсчёта времени.
+     * @param cycles текущее значение счётчика тактов микропроцессора.
+     */
+    void start(long cycles) {
+        appliedFrequency = frequency;
+        startNanos = System.nanoTime();
+        startCycles = cycles;
+        lastCycles = cycles;
+    }
+
+    /**
+     * Метод для сверки выполненных тактов со временем. Если эмуляция опережает заданную
+     * частоту, поток засыпает на время опережения.
+     * @param cycles текущее значение счётчика тактов микропроцессора.
+     * @return false, если ожидание было прервано.
+     */
+    boolean synchronize(long cycles) {
+        if (cycles - lastCycles < SYNCHRONIZATION_CYCLES) {
+            return true;
+        }
+        lastCycles = cycles;
+        long frequency = this.frequency;
+        if (frequency <= 0) {
+            return true;
+        }
+        if (frequency != appliedFrequency) {
+            start(cycles);
+            return true;
+        }
+        long expectedNanos = (long) ((cycles - startCycles) * 1e9 / frequency);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long aheadNanos = expectedNanos - elapsedNanos;
+        if (aheadNanos >= MIN_SLEEP_NANOS) {
+            try {
+                Thread.sleep(aheadNanos / 1_000_000, (int) (aheadNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        } else if (aheadNanos < -MAX_LAG_NANOS) {
+            start(cycles);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+package model.emulator;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Отметки изменённых элементов видеопамяти экрана (строк пиксельного экрана или ячеек
+ * символьного экрана). Экран отмечает элементы в потоке выполнения программы, а
+ * view-компонент забирает отметки при перерисовке и обновляет только отмеченные элементы.
+ * Повторная отметка уже отмеченного элемента сводится к одному чтению.
+ */
+public class DirtyMask {
+
+    private final int size;
+    private final AtomicLongArray mask;
+
+    DirtyMask(int size) {
+        this.size = size;
+        this.mask = new AtomicLongArray((size + 63) / 64);
+        markAll();
+    }
+
+    /**
+     * @return количество элементов.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Метод для отметки изменённого элемента. Вызывается после записи в видеопамять.
+     */
+    void mark(int index) {
+        long bit = 1L << index;
+        if ((mask.get(index >>> 6) & bit) == 0) {
+            mask.getAndAccumulate(index >>> 6, bit, (word, value) -> word | value);
+        }
+    }
+
+    /**
+     * Метод для отметки всех элементов, например после очистки экрана.
+     */
+    void markAll() {
+        for (int i = 0; i < mask.length(); ++i) {
+            int bits = Math.min(64, size - 64 * i);
+            mask.set(i, bits == 64 ? -1L : (1L << bits) - 1);
+        }
+    }
+
+    /**
+     * Метод для получения и сброса отметок.
+     * @param words массив, в который копируются отметки (бит i элемента words[i / 64]
+     *              соответствует элементу i), размером не меньше (getSize() + 63) / 64.
+     * @return true, если отмечен хотя бы один элемент.
+     */
+    public boolean take(long[] words) {
+        boolean any = false;
+        for (int i = 0; i < mask.length(); ++i) {
+            words[i] = mask.get(i) == 0 ? 0 : mask.getAndSet(i, 0);
+            any |= words[i] != 0;
+        }
+        return any;
+    }
+}
\ No newline at end of file
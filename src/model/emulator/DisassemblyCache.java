@@ -0,0 +1,126 @@
+package model.emulator;
+
+import model.kernel.IMicroprocessor;
+import model.kernel.cmd.ICommand;
+import model.translator.CommandsTable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Дизассемблированное содержимое памяти микропроцессора.
+ * Память просматривается последовательно с адреса 0: для каждой ячейки хранится
+ * мнемоника команды, начинающейся в ней, или "***" для аргумента команды, а также признак
+ * начала команды. Кэш хранит копию памяти, по которой он построен, и при обновлении
+ * сравнивает её с памятью микропроцессора. Изменённые области (запись программы
+ * транслятором, команды STA, SHLD, PUSH и другие) дизассемблируются заново с начала
+ * команды, содержащей первую изменённую ячейку, до адреса за областью, с которого
+ * границы команд совпадают с прежними.
+ * Копирование и сравнение памяти при каждом обновлении пропорциональны размеру памяти,
+ * но не требуют учёта записи в память при выполнении команд; дизассемблирование
+ * пропорционально размеру изменений. Мнемоники не копируются: вызывающий получает
+ * представление массива мнемоник только для чтения.
+ */
+class DisassemblyCache {
+
+    private static final String ARGUMENT = "***";
+
+    private final IMicroprocessor microprocessor;
+    private final int size;
+
+    private final byte[] image;
+    private final byte[] current;
+    private final String[] names;
+    private final boolean[] starts;
+    private final List<String> commands;
+
+    DisassemblyCache(IMicroprocessor microprocessor) {
+        this.microprocessor = microprocessor;
+        this.size = microprocessor.getMemorySize();
+        this.image = new byte[size];
+        this.current = new byte[size];
+        this.names = new String[size];
+        this.starts = new boolean[size];
+        this.commands = Collections.unmodifiableList(Arrays.asList(names));
+        microprocessor.readMemory(0, current, 0, size);
+        System.arraycopy(current, 0, image, 0, size);
+        disassemble(0, size - 1, false);
+    }
+
+    /**
+     * Метод для получения мнемоник команд в памяти. Перед получением дизассемблируются
+     * области памяти, изменившиеся с прошлого вызова.
+     * @return список мнемоник по адресам ячеек памяти только для чтения. Список отражает
+     * содержимое кэша и изменяется при следующих вызовах метода.
+     */
+    synchronized List<String> getCommands() {
+        microprocessor.readMemory(0, current, 0, size);
+        int address = 0;
+        while (address < size) {
+            int mismatch = Arrays.mismatch(image, address, size, current, address, size);
+            if (mismatch < 0) {
+                break;
+            }
+            int first = address + mismatch;
+            int last = first;
+            while (last + 1 < size && image[last + 1] != current[last + 1]) {
+                ++last;
+            }
+            address = disassemble(first, last, true);
+            if (first < 2) {
+                // Аргумент команды в конце памяти мог продолжиться с адреса 0.
+                disassemble(size - 1, size - 1, true);
+            }
+            // Область от первой изменённой ячейки до точки совпадения границ
+            // дизассемблирована по текущей памяти.
+            System.arraycopy(current, first, image, first, address - first);
+        }
+        return commands;
+    }
+
+    /**
+     * Дизассемблирование области памяти по текущему содержимому памяти.
+     * @param first адрес первой изменённой ячейки.
+     * @param last адрес последней изменённой ячейки.
+     * @param resync true, если после области можно остановиться на прежней границе команд.
+     * @return адрес, с которого мнемоники не изменились.
+     */
+    private int disassemble(int first, int last, boolean resync) {
+        int address = first;
+        while (address > 0 && !starts[address]) {
+            --address;
+        }
+        while (address < size) {
+            if (resync && address > last && starts[address]) {
+                break;
+            }
+            int code = current[address] & 0xFF;
+            ICommand command = CommandsTable.getCommand(code);
+            int commandSize = command.getSize();
+            names[address] = command.getName(getArgument(address, commandSize));
+            starts[address] = true;
+            for (int i = 1; i < commandSize && address + i < size; ++i) {
+                names[address + i] = ARGUMENT;
+                starts[address + i] = false;
+            }
+            address += commandSize;
+        }
+        return Math.min(address, size);
+    }
+
+    private int getArgument(int address, int commandSize) {
+        switch (commandSize) {
+            case 2: {
+                return current[(address + 1) % size] & 0xFF;
+            }
+            case 3: {
+                return (current[(address + 1) % size] & 0xFF) * 256
+                        + (current[(address + 2) % size] & 0xFF);
+            }
+            default: {
+                return 0;
+            }
+        }
+    }
+}
\ No newline at end of file
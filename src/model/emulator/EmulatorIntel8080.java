@@ -4,17 +4,37 @@ import model.kernel.*;
 import model.kernel.cmd.CMD_Intel8080_CALL;
 import model.kernel.cmd.ICommand;
 import presenter.IIntraProgramIOUpdateEventsListener;
-import model.translator.ComandsFactory;
 import model.translator.Intel8080CommandsCodes;
 import model.translator.ITranslator;
 import model.translator.Intel8080Translator;
 
 import java.io.*;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
 
 public class EmulatorIntel8080 implements IEmulator {
 
+    private static final ICommand RST = new CMD_Intel8080_CALL();
+
+    private static final int RUN_BATCH_SIZE = 4096;
+
+    /**
+     * Размер пакета команд при выполнении без ограничения скорости. Регулятор тактовой
+     * частоты в этом режиме не сверяет время, поэтому пакеты крупнее, а накладные расходы
+     * цикла выполнения, отнесённые к одной команде, меньше.
+     */
+    private static final int UNTHROTTLED_RUN_BATCH_SIZE = 65536;
+
+    private static final int MAX_BLOCK_LENGTH = 64;
+
+    /**
+     * Количество команд между проверками запроса остановки и времени выполнения.
+     */
+    private static final int CANCEL_POLL_INTERVAL = 16384;
+
     private IMicroprocessor microprocessor;
 
     private ITranslator translator;
@@ -22,14 +42,44 @@ public class EmulatorIntel8080 implements IEmulator {
     private IScreen pixelScreen;
     private IScreen characterScreen;
 
-    private int[] breakpoints;
+    private final Breakpoints breakpoints;
+    private int[] breakpointsData;
 
     private ArrayList<IExternalPeripheral> externalPeripherals;
 
+    private final ClockGovernor clockGovernor = new ClockGovernor();
+
+    private final InterruptController interruptController = new InterruptController();
+
+    private final BusyWaitDetector busyWaitDetector;
+
+    private final ProgrammableIntervalTimer timer;
+
+    private final PerformanceCounters performanceCounters;
+
+    private DisassemblyCache disassembly;
+
+    private volatile boolean cancelled;
+    private volatile Thread runThread;
+
+    private volatile boolean waitForInterruptOnHalt;
+
     public EmulatorIntel8080() {
-        this.microprocessor = new Microprocessor(65536);
+        this(new Microprocessor(65536));
+    }
+
+    /**
+     * Создание эмулятора с выбранной реализацией микропроцессора, например
+     * {@link FastMicroprocessor} для длительных вычислений.
+     * @param microprocessor микропроцессор с памятью размером 65536 байт.
+     */
+    public EmulatorIntel8080(IMicroprocessor microprocessor) {
+        this.microprocessor = microprocessor;
         this.translator = new Intel8080Translator();
-        this.breakpoints = new int[65536];
+        this.breakpoints = new Breakpoints(microprocessor);
+        this.busyWaitDetector = new BusyWaitDetector(microprocessor);
+        this.timer = new ProgrammableIntervalTimer(microprocessor, interruptController);
+        this.performanceCounters = new PerformanceCounters(microprocessor);
     }
 
     @Override
@@ -58,36 +108,242 @@ public class EmulatorIntel8080 implements IEmulator {
 
     @Override
     public void run() {
-        while (!step()) {
-            if (isBreakpoint(microprocessor.getValueFromRegister(Registers.PC))) {
+        run(NO_LIMIT, NO_LIMIT, null);
+    }
+
+    @Override
+    public RunResult run(long maxInstructions, long maxCycles, Duration deadline) {
+        cancelled = false;
+        runThread = Thread.currentThread();
+        microprocessor.resetWatchpointHit();
+        long startCycles = microprocessor.getCycles();
+        long deadlineNanos = deadline == null ? 0 : System.nanoTime() + deadline.toNanos();
+        long instructions = 0;
+        long pollCountdown = CANCEL_POLL_INTERVAL;
+        StopReason stopReason;
+        clockGovernor.start(startCycles);
+        while (true) {
+            long cycles = microprocessor.getCycles();
+            long nextTimerEvent = timer.getNextEventCycle();
+            if (cycles >= nextTimerEvent) {
+                timer.update(cycles);
+                interrupt();
+                cycles = microprocessor.getCycles();
+                nextTimerEvent = timer.getNextEventCycle();
+            }
+            long spentCycles = cycles - startCycles;
+            if (instructions >= maxInstructions) {
+                stopReason = StopReason.INSTRUCTION_LIMIT;
+                break;
+            }
+            if (spentCycles >= maxCycles) {
+                stopReason = StopReason.CYCLE_LIMIT;
                 break;
             }
+            // Количество команд, которое заведомо не превысит ни одно из ограничений.
+            // Ближайшее событие таймера также не должно быть пропущено.
+            long allowed = Math.min(maxInstructions - instructions,
+                    (maxCycles - spentCycles - 1) / CyclesTable.MAX_COMMAND_CYCLES + 1);
+            allowed = Math.min(allowed,
+                    (nextTimerEvent - cycles - 1) / CyclesTable.MAX_COMMAND_CYCLES + 1);
+            int executed;
+            if (externalPeripherals.isEmpty() && !interruptController.hasPending()) {
+                // Без внешних устройств и ожидающих прерываний новые запросы может сделать
+                // только таймер, события которого учтены в ограничении пакета, поэтому
+                // команды выполняются пакетами внутри микропроцессора. Пакет прерывается
+                // на точках остановки, которые являются границами линейных участков;
+                // без точек остановки проверять нечего. Срабатывание точки наблюдения
+                // за памятью прерывает пакет в самом микропроцессоре.
+                int batch = (int) Math.min(clockGovernor.getFrequency() == UNTHROTTLED
+                        ? UNTHROTTLED_RUN_BATCH_SIZE : RUN_BATCH_SIZE, allowed);
+                executed = breakpoints.isAnyArmed()
+                        ? microprocessor.executeToBoundary(batch) : microprocessor.execute(batch);
+            } else {
+                // Прерывания проверяются один раз на линейный участок.
+                // Вблизи ограничений команды выполняются по одной.
+                executed = allowed < MAX_BLOCK_LENGTH
+                        ? microprocessor.execute(1) : microprocessor.executeBlock();
+                if (executed != 0) {
+                    interrupt();
+                }
+            }
+            if (executed == 0) {
+                StopReason haltReason = halt(true, deadline != null, deadlineNanos);
+                if (haltReason != null) {
+                    stopReason = haltReason;
+                    break;
+                }
+            }
+            instructions += executed;
+            if (microprocessor.getWatchpointHit() != null) {
+                stopReason = StopReason.WATCHPOINT;
+                break;
+            }
+            if (breakpoints.isAnyArmed()
+                    && breakpoints.hit(microprocessor.getValueFromRegister(Registers.PC))) {
+                stopReason = StopReason.BREAKPOINT;
+                break;
+            }
+            pollCountdown -= executed;
+            if (pollCountdown <= 0) {
+                pollCountdown = CANCEL_POLL_INTERVAL;
+                if (cancelled) {
+                    stopReason = StopReason.CANCELLED;
+                    break;
+                }
+                if (deadline != null && System.nanoTime() - deadlineNanos >= 0) {
+                    stopReason = StopReason.DEADLINE;
+                    break;
+                }
+            }
+            if (!clockGovernor.synchronize(microprocessor.getCycles())) {
+                stopReason = StopReason.CANCELLED;
+                break;
+            }
+        }
+        breakpoints.removeTemporary();
+        return new RunResult(stopReason, instructions, microprocessor.getCycles() - startCycles);
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        Thread thread = runThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
         }
     }
 
+    @Override
+    public void setWaitForInterruptOnHalt(boolean enabled) {
+        waitForInterruptOnHalt = enabled;
+    }
+
+    @Override
+    public boolean isWaitForInterruptOnHalt() {
+        return waitForInterruptOnHalt;
+    }
+
+    @Override
+    public void setTimerWaitFastForward(boolean enabled) {
+        busyWaitDetector.setEnabled(enabled);
+    }
+
+    @Override
+    public boolean isTimerWaitFastForward() {
+        return busyWaitDetector.isEnabled();
+    }
+
+    @Override
+    public void setClockFrequency(long frequency) {
+        clockGovernor.setFrequency(frequency);
+    }
+
+    @Override
+    public long getClockFrequency() {
+        return clockGovernor.getFrequency();
+    }
+
+    @Override
+    public long getCycles() {
+        return microprocessor.getCycles();
+    }
+
     @Override
     public boolean step() {
-        int address = microprocessor.getValueFromRegister(Registers.PC);
-        if (microprocessor.getValueFromMemoryByAddress(address) != Intel8080CommandsCodes.HLT) {
-            ICommand command = ComandsFactory.createCommand(microprocessor, address);
-            microprocessor.executeCommand(command);
-            interrupt();
-            return false;
+        cancelled = false;
+        runThread = Thread.currentThread();
+        microprocessor.resetWatchpointHit();
+        if (microprocessor.step()) {
+            // Шаг не ожидает прерывания: остановить ожидание было бы нечем.
+            return halt(false, false, 0) != null;
         }
-        return true;
+        updateTimer();
+        interrupt();
+        return false;
     }
 
-    private void interrupt() {
-        for (int i = 0; i < externalPeripherals.size(); ++i) {
-            if (externalPeripherals.get(i)._isInterrupted()) {
-                if (externalPeripherals.get(i)._getPriority() < microprocessor.getExecutionLevel()) {
-                    int address = 0x08 * externalPeripherals.get(i)._getPriority();
-                    ICommand rst = new CMD_Intel8080_CALL();
-                    rst.setArgument(Integer.toString(address, 16));
-                    microprocessor.setExecutionLevel(externalPeripherals.get(i)._getPriority());
-                    microprocessor.interrupt(rst);
+    /**
+     * Обработка команды HLT. В режиме ожидания прерывания при разрешённых прерываниях поток
+     * выполнения приостанавливается до запроса прерывания, которое может быть принято
+     * программой, после чего команда HLT считается выполненной и выполняется переход
+     * к обработчику прерывания.
+     * Если ожидается окончание отсчёта таймера, прерывание от которого может быть принято,
+     * счётчик тактов сразу переводится к этому событию, а реальное время ожидания
+     * выдерживает регулятор тактовой частоты. Иначе время ожидания не наверстывается
+     * регулятором тактовой частоты.
+     * Без права ожидания (выполнение по шагам) команда HLT выполняется, только если
+     * прерывание уже запрошено или ожидается событие таймера, иначе выполнение
+     * останавливается на команде HLT.
+     * @param canWait true, если поток выполнения может быть приостановлен.
+     * @param hasDeadline true, если время выполнения ограничено.
+     * @param deadlineNanos момент окончания выполнения (по {@link System#nanoTime()}).
+     * @return причина остановки выполнения или null, если выполнение продолжается
+     * с обработчика прерывания.
+     */
+    private StopReason halt(boolean canWait, boolean hasDeadline, long deadlineNanos) {
+        if (!waitForInterruptOnHalt || !microprocessor.isInterruptsEnabled()) {
+            return StopReason.HALTED;
+        }
+        long nextTimerEvent = timer.getNextEventCycle(microprocessor.getExecutionLevel());
+        if (nextTimerEvent != ProgrammableIntervalTimer.NO_EVENT) {
+            microprocessor.addCycles(Math.max(0, nextTimerEvent - microprocessor.getCycles()));
+            updateTimer();
+            resumeAfterHalt();
+            return null;
+        }
+        if (!canWait && !interruptController.hasPending(microprocessor.getExecutionLevel())) {
+            return StopReason.HALTED;
+        }
+        while (true) {
+            if (cancelled || Thread.currentThread().isInterrupted()) {
+                return StopReason.CANCELLED;
+            }
+            long timeoutNanos = Long.MAX_VALUE;
+            if (hasDeadline) {
+                timeoutNanos = deadlineNanos - System.nanoTime();
+                if (timeoutNanos <= 0) {
+                    return StopReason.DEADLINE;
                 }
             }
+            if (interruptController.await(microprocessor.getExecutionLevel(), timeoutNanos)) {
+                break;
+            }
+        }
+        resumeAfterHalt();
+        clockGovernor.start(microprocessor.getCycles());
+        return null;
+    }
+
+    private void resumeAfterHalt() {
+        int PC = microprocessor.getValueFromRegister(Registers.PC);
+        microprocessor.setValueInRegister(Registers.PC, (PC + 1) % microprocessor.getMemorySize());
+        interrupt();
+    }
+
+    /**
+     * Обработка событий таймера, наступивших к текущему значению счётчика тактов.
+     */
+    private void updateTimer() {
+        long cycles = microprocessor.getCycles();
+        if (cycles >= timer.getNextEventCycle()) {
+            timer.update(cycles);
+        }
+    }
+
+    /**
+     * Переход к обработчику ожидающего прерывания с наивысшим приоритетом, если прерывания
+     * разрешены и приоритет прерывания выше уровня приоритета исполняемой программы.
+     * Без запросов прерываний метод сводится к одному чтению маски контроллера.
+     */
+    private void interrupt() {
+        if (!interruptController.hasPending() || !microprocessor.isInterruptsEnabled()) {
+            return;
+        }
+        int priority = interruptController.acknowledge(microprocessor.getExecutionLevel());
+        if (priority >= 0) {
+            microprocessor.setExecutionLevel(priority);
+            microprocessor.interrupt(RST, InterruptController.getVector(priority));
         }
     }
 
@@ -99,29 +355,19 @@ public class EmulatorIntel8080 implements IEmulator {
     }
 
     @Override
-    public String[] getCommandsList() {
-        ArrayList<String> commands = new ArrayList<>();
-        int address = 0;
-        while (address < 65536) {
-            ICommand command
-                    = ComandsFactory.createCommand(microprocessor, address);
-            commands.add(command.getName());
-            for (int i = 1; i < command.getSize(); ++i) {
-                address += 1;
-                commands.add("***");
-            }
-            address += 1;
-        }
-        String[] output = new String[commands.size()];
-        for (int i = 0; i < output.length; ++i) {
-            output[i] = commands.get(i);
+    public synchronized List<String> getCommandsList() {
+        if (disassembly == null) {
+            // Кэш создаётся при первом обращении: эмулятору без таблицы памяти он не нужен.
+            disassembly = new DisassemblyCache(microprocessor);
         }
-        return output;
+        return disassembly.getCommands();
     }
 
     @Override
     public void resetRegisters() {
         microprocessor.resetRegisters();
+        interruptController.clear();
+        timer.reset();
     }
 
     @Override
@@ -146,19 +392,52 @@ public class EmulatorIntel8080 implements IEmulator {
 
     @Override
     public void setBreakpoint(int address) {
-        breakpoints[address] = (breakpoints[address] + 1) % 2;
+        breakpoints.toggle(address);
+    }
+
+    @Override
+    public void setBreakpoint(int address, String condition) {
+        breakpoints.set(address, BreakpointCondition.compile(condition));
+    }
+
+    @Override
+    public void setTemporaryBreakpoint(int address) {
+        breakpoints.setTemporary(address);
+    }
+
+    @Override
+    public long getBreakpointHitCount(int address) {
+        return breakpoints.getHitCount(address);
     }
 
     @Override
     public int[] getBreakpoints() {
-        return breakpoints;
+        if (breakpointsData == null) {
+            // Массив нужен только таблице памяти, поэтому создаётся при первом обращении.
+            breakpointsData = new int[microprocessor.getMemorySize()];
+        }
+        breakpoints.fill(breakpointsData);
+        return breakpointsData;
     }
 
     @Override
     public void removeAllBreakpoints() {
-        for (int i = 0; i < 65536; ++i) {
-            breakpoints[i] = 0;
-        }
+        breakpoints.clear();
+    }
+
+    @Override
+    public void setWatchpoint(int address, int length, boolean read, boolean write) {
+        microprocessor.setWatchpoint(address, length, read, write);
+    }
+
+    @Override
+    public void removeAllWatchpoints() {
+        microprocessor.removeAllWatchpoints();
+    }
+
+    @Override
+    public WatchpointHit getWatchpointHit() {
+        return microprocessor.getWatchpointHit();
     }
 
     @Override
@@ -185,6 +464,11 @@ public class EmulatorIntel8080 implements IEmulator {
         return pixelScreen.getColorMemory();
     }
 
+    @Override
+    public DirtyMask getPixelScreenDirtyRows() {
+        return pixelScreen.getDirtyMask();
+    }
+
     @Override
     public int[][] getCharacterScreenColorMemory() {
         return characterScreen.getColorMemory();
@@ -195,6 +479,11 @@ public class EmulatorIntel8080 implements IEmulator {
         return characterScreen.getCharMemory();
     }
 
+    @Override
+    public DirtyMask getCharacterScreenDirtyCells() {
+        return characterScreen.getDirtyMask();
+    }
+
     @Override
     public int getValueFromRegister(Registers register) {
         return microprocessor.getValueFromRegister(register);
@@ -205,6 +494,11 @@ public class EmulatorIntel8080 implements IEmulator {
         return microprocessor.getValueFromMemoryByAddress(address);
     }
 
+    @Override
+    public void readMemory(int address, byte[] buffer, int offset, int length) {
+        microprocessor.readMemory(address, buffer, offset, length);
+    }
+
     @Override
     public int getValueFromFlag(Flags flag) {
         return microprocessor.getValueFromFlag(flag);
@@ -225,7 +519,8 @@ public class EmulatorIntel8080 implements IEmulator {
         this.externalPeripherals = new ArrayList<>();
 
         IIntraProgramIOEventsListener actionsListener
-                = new IOPeripheralSystem(listener, pixelScreen, characterScreen, externalPeripherals);
+                = new IOPeripheralSystem(listener, pixelScreen, characterScreen, externalPeripherals,
+                        interruptController, timer, performanceCounters, busyWaitDetector);
 
         microprocessor.setIntraProgramIOEventsListener(actionsListener);
     }
@@ -244,8 +539,4 @@ public class EmulatorIntel8080 implements IEmulator {
     public ArrayList<IExternalPeripheral> getExternalPeripheral() {
         return externalPeripherals;
     }
-
-    private boolean isBreakpoint(int address) {
-        return breakpoints[address] == 1;
-    }
 }
\ No newline at end of file
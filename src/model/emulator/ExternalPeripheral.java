@@ -14,15 +14,16 @@ public class ExternalPeripheral extends Thread implements IExternalPeripheral {
     private DataOutputStream output;
 
     private int register;
-    private boolean interrupt;
-    private int priority;
+    private volatile int priority;
 
-    public ExternalPeripheral(Socket socket, int port) throws IOException {
+    private final InterruptController interruptController;
+
+    public ExternalPeripheral(Socket socket, int port, InterruptController interruptController) throws IOException {
         this.port = port;
+        this.interruptController = interruptController;
         input = new DataInputStream(socket.getInputStream());
         output = new DataOutputStream(socket.getOutputStream());
         description = input.readUTF();
-        interrupt = false;
         priority = 8;
     }
 
@@ -63,13 +64,6 @@ public class ExternalPeripheral extends Thread implements IExternalPeripheral {
         this.start();
     }
 
-    @Override
-    public boolean _isInterrupted() {
-        boolean state = interrupt;
-        interrupt = false;
-        return state;
-    }
-
     @Override
     public void _setPriority(int priority) {
         this.priority = priority;
@@ -90,9 +84,7 @@ public class ExternalPeripheral extends Thread implements IExternalPeripheral {
                         register = inputData;
                     }
                 } else {
-                    synchronized (this) {
-                        interrupt = true;
-                    }
+                    interruptController.request(priority);
                 }
             } catch (IOException e) {
                 currentThread().stop();
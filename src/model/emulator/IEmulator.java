@@ -2,10 +2,13 @@ package model.emulator;
 
 import model.kernel.Flags;
 import model.kernel.Registers;
+import model.kernel.WatchpointHit;
 import presenter.IIntraProgramIOUpdateEventsListener;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Интерфейс программного эмулятора микропроцессора Intel 8080. Класс, описывающий программный
@@ -14,6 +17,21 @@ import java.util.ArrayList;
  */
 public interface IEmulator {
 
+    /**
+     * Тактовая частота микропроцессора Intel 8080 (2 МГц).
+     */
+    long CLOCK_FREQUENCY_2_MHZ = 2_000_000;
+
+    /**
+     * Значение частоты, при котором программа выполняется без ограничения скорости.
+     */
+    long UNTHROTTLED = 0;
+
+    /**
+     * Значение ограничения количества команд или тактов, при котором выполнение не ограничено.
+     */
+    long NO_LIMIT = Long.MAX_VALUE;
+
     /**
      * Метод для трансляции и последующей загрузки программы в память микропроцессора.
      * @param program исходный текст программы.
@@ -21,12 +39,89 @@ public interface IEmulator {
     void translation(String program);
 
     /**
-     * Метод для запуска выполнения программы.
+     * Метод для запуска выполнения программы до команды HLT, точки остановки или вызова
+     * {@link #cancel()}.
      */
     void run();
 
     /**
-     * Метод для выполнения текущей команды микропроцессора.
+     * Метод для запуска выполнения программы с ограничениями. Выполнение всегда
+     * останавливается между командами, поэтому после остановки состояние микропроцессора
+     * согласовано и выполнение можно продолжить.
+     * Ограничение тактов может быть превышено на длительность последней команды.
+     * Запрос остановки и время выполнения проверяются раз в несколько тысяч команд.
+     * @param maxInstructions наибольшее количество команд или {@link #NO_LIMIT}.
+     * @param maxCycles наибольшее количество тактов или {@link #NO_LIMIT}.
+     * @param deadline наибольшее время выполнения или null.
+     * @return причина остановки, количество выполненных команд и затраченных тактов.
+     */
+    RunResult run(long maxInstructions, long maxCycles, Duration deadline);
+
+    /**
+     * Метод для остановки выполняемой программы из другого потока. Выполнение
+     * останавливается после ближайшей проверки запроса остановки. Ожидание прерывания
+     * на команде HLT прекращается сразу.
+     */
+    void cancel();
+
+    /**
+     * Метод для установки тактовой частоты, с которой метод {@link #run()} выполняет программу.
+     * Частота задаётся в герцах, например {@link #CLOCK_FREQUENCY_2_MHZ} или
+     * 4 * {@link #CLOCK_FREQUENCY_2_MHZ}. Значение {@link #UNTHROTTLED} (по умолчанию) снимает
+     * ограничение скорости.
+     * @param frequency частота в герцах.
+     */
+    void setClockFrequency(long frequency);
+
+    /**
+     * @return установленная тактовая частота в герцах или {@link #UNTHROTTLED}.
+     */
+    long getClockFrequency();
+
+    /**
+     * Метод для включения режима ожидания прерывания на команде HLT. В этом режиме при
+     * разрешённых прерываниях команда HLT не завершает выполнение программы: поток выполнения
+     * приостанавливается без загрузки процессора до запроса прерывания, которое может быть
+     * принято программой, истечения времени выполнения или остановки, а затем выполняется
+     * переход к обработчику прерывания. Обработчик возвращается к команде, следующей за HLT.
+     * При запрещённых прерываниях HLT завершает выполнение, как и без этого режима.
+     * @param enabled true для включения режима (по умолчанию режим выключен).
+     */
+    void setWaitForInterruptOnHalt(boolean enabled);
+
+    /**
+     * @return true, если включён режим ожидания прерывания на команде HLT.
+     */
+    boolean isWaitForInterruptOnHalt();
+
+    /**
+     * Метод для включения ускоренного ожидания таймера (порт 0x16). В этом режиме цикл,
+     * который только читает таймер и повторяет чтение, пока таймер не достигнет нужного
+     * значения (IN 16h, затем ORA A, ANA A или CPI n, затем JNZ или JNC на IN), не
+     * выполняется: счётчик тактов сразу переводится к моменту, когда таймер достигнет
+     * значения, на котором цикл завершится. Регулятор тактовой частоты выдерживает
+     * пропущенное время так же, как ожидание на команде HLT.
+     * Режим предназначен для пакетного выполнения программ с задержками, например анимаций.
+     * @param enabled true для включения режима (по умолчанию режим выключен).
+     */
+    void setTimerWaitFastForward(boolean enabled);
+
+    /**
+     * @return true, если включено ускоренное ожидание таймера.
+     */
+    boolean isTimerWaitFastForward();
+
+    /**
+     * Метод для получения количества тактов, затраченных микропроцессором на выполнение
+     * программы с момента сброса регистров.
+     * @return количество тактов.
+     */
+    long getCycles();
+
+    /**
+     * Метод для выполнения текущей команды микропроцессора. В режиме ожидания прерывания
+     * (см. {@link #setWaitForInterruptOnHalt(boolean)}) команда HLT выполняется, если
+     * прерывание уже запрошено или ожидается событие таймера; шаг не ожидает прерывания.
      * @return true, если конец программы, иначе false.
      */
     boolean step();
@@ -45,6 +140,15 @@ public interface IEmulator {
      */
     int getValueFromMemoryByAddress(int address);
 
+    /**
+     * Метод для чтения последовательности ячеек памяти микропроцессора одним вызовом.
+     * @param address адрес первой ячейки памяти.
+     * @param buffer массив, в который копируется содержимое памяти.
+     * @param offset индекс в массиве, начиная с которого записываются значения.
+     * @param length количество копируемых ячеек.
+     */
+    void readMemory(int address, byte[] buffer, int offset, int length);
+
     /**
      * Метод для чтения значения из выбранного флага состояния микропроцессора.
      * @param flag флаг микропроцессора.
@@ -80,11 +184,37 @@ public interface IEmulator {
     void setProgramCounter(int address);
 
     /**
-     * Метод для установки точки остановки.
+     * Метод для установки точки остановки. Повторный вызов снимает точку остановки.
      * @param address адрес точки остановки.
      */
     void setBreakpoint(int address);
 
+    /**
+     * Метод для установки условной точки остановки. Условие транслируется один раз при
+     * установке, например {@code A == 0x10 && [HL] != 0}: сравнения регистров (A - L, SP,
+     * PC, BC, DE, HL), флагов (Z, S, P, AC, CY), ячеек памяти (M, [адрес]) и чисел,
+     * объединённые операциями && и ||.
+     * @param address адрес точки остановки.
+     * @param condition условие остановки.
+     * @throws IllegalArgumentException если условие содержит ошибку.
+     */
+    void setBreakpoint(int address, String condition);
+
+    /**
+     * Метод для установки временной точки остановки (выполнение до курсора). Временная
+     * точка остановки снимается после завершения ближайшего выполнения программы.
+     * @param address адрес точки остановки.
+     */
+    void setTemporaryBreakpoint(int address);
+
+    /**
+     * Метод для получения количества срабатываний точки остановки (с выполненным условием)
+     * с момента её установки.
+     * @param address адрес точки остановки.
+     * @return количество срабатываний.
+     */
+    long getBreakpointHitCount(int address);
+
     /**
      * Метод для удаления всех точек остановки.
      */
@@ -96,6 +226,31 @@ public interface IEmulator {
      */
     int[] getBreakpoints();
 
+    /**
+     * Метод для установки режима наблюдения за областью памяти (точки наблюдения).
+     * Выполнение программы останавливается после команды, прочитавшей или записавшей
+     * наблюдаемую ячейку ({@link StopReason#WATCHPOINT}). Вызов с read и write, равными
+     * false, снимает наблюдение за областью.
+     * @param address адрес первой ячейки области.
+     * @param length количество ячеек.
+     * @param read true для наблюдения за чтением.
+     * @param write true для наблюдения за записью.
+     * @throws IllegalArgumentException если область выходит за пределы памяти.
+     */
+    void setWatchpoint(int address, int length, boolean read, boolean write);
+
+    /**
+     * Метод для снятия всех точек наблюдения за памятью.
+     */
+    void removeAllWatchpoints();
+
+    /**
+     * Метод для получения сведений о срабатывании точки наблюдения при последнем выполнении
+     * программы: адрес ячейки, вид обращения и адрес обратившейся команды.
+     * @return сведения о срабатывании или null, если точки наблюдения не срабатывали.
+     */
+    WatchpointHit getWatchpointHit();
+
     /**
      * Метод для получения строки с уведомлением о результате трансляции.
      * @return строка, с результатом трансляции, содержащим перечисление ошибок.
@@ -104,10 +259,13 @@ public interface IEmulator {
 
     /**
      * Метод для получения списка полных имён команд микропроцессора, находящихся в памяти
-     * после успешной трансляции программы.
-     * @return массив полных имён команд микропроцессора.
+     * после успешной трансляции программы. Заново дизассемблируются только области памяти,
+     * изменившиеся с прошлого вызова.
+     * @return список полных имён команд микропроцессора по адресам ячеек памяти
+     * ("***" для аргументов команд) только для чтения. Список не копируется: его элементы
+     * изменяются при следующих вызовах метода.
      */
-    String[] getCommandsList();
+    List<String> getCommandsList();
 
     /**
      * Метод для получения видеопамяти пиксельного экрана эмулятора.
@@ -115,6 +273,12 @@ public interface IEmulator {
      */
     int[][] getPixelScreenMemory();
 
+    /**
+     * Метод для получения отметок изменённых строк пиксельного экрана эмулятора.
+     * @return отметки строк видеопамяти пиксельного экрана.
+     */
+    DirtyMask getPixelScreenDirtyRows();
+
     /**
      * Метод для получения видеопамяти цветов символьного экрана эмулятора.
      * @return двумерный массив содержащий коды цвета пикселей и символов
@@ -128,6 +292,12 @@ public interface IEmulator {
      */
     int[][] getCharacterScreenCharMemory();
 
+    /**
+     * Метод для получения отметок изменённых ячеек символьного экрана эмулятора.
+     * @return отметки ячеек символьного экрана, ячейка (i, j) имеет номер i * 20 + j.
+     */
+    DirtyMask getCharacterScreenDirtyCells();
+
     /**
      * Метод для загрузки текста прогрммы из файла.
      * @param path путь к файлу.
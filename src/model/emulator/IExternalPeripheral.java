@@ -45,14 +45,9 @@ public interface IExternalPeripheral {
     void _start();
 
     /**
-     * Проверка на принятое прерывание от устройство
-     * @return true - если прерывание, иначе - false
-     */
-    boolean _isInterrupted();
-
-    /**
-     * Установка приоритета прерывания устройства
-     * @param priority приоритет
+     * Установка приоритета прерывания устройства.
+     * Прерывание запрашивается у {@link InterruptController} с этим приоритетом
+     * @param priority приоритет (0 - 7, 8 - прерывания устройства отключены)
      */
     void _setPriority(int priority);
 
@@ -18,20 +18,27 @@ public class IOPeripheralSystem implements IIntraProgramIOEventsListener {
     private IScreen screenOnPort0x05;
     private IScreen screenOnPort0x07;
 
-    private Timer timer;
+    private ProgrammableIntervalTimer timer;
+    private PerformanceCounters performanceCounters;
+    private BusyWaitDetector busyWaitDetector;
 
     private ArrayList<IExternalPeripheral> externalPeripherals;
 
     public IOPeripheralSystem(IIntraProgramIOUpdateEventsListener intraProgramIOUpdateListener,
                               IScreen screenOnPort0x05, IScreen characterScreen,
-                              ArrayList<IExternalPeripheral> externalPeripherals) {
+                              ArrayList<IExternalPeripheral> externalPeripherals,
+                              InterruptController interruptController,
+                              ProgrammableIntervalTimer timer,
+                              PerformanceCounters performanceCounters,
+                              BusyWaitDetector busyWaitDetector) {
 
         this.intraProgramIOUpdateListener = intraProgramIOUpdateListener;
         this.screenOnPort0x05 = screenOnPort0x05;
         this.screenOnPort0x07 = characterScreen;
 
-        this.timer = new Timer();
-        this.timer.start();
+        this.timer = timer;
+        this.performanceCounters = performanceCounters;
+        this.busyWaitDetector = busyWaitDetector;
 
         this.externalPeripherals = externalPeripherals;
 
@@ -46,7 +53,7 @@ public class IOPeripheralSystem implements IIntraProgramIOEventsListener {
                         if (externalPeripherals.size() != 0) {
                             port = externalPeripherals.get(externalPeripherals.size() - 1).getPort() + 1;
                         }
-                        IExternalPeripheral externalPeripheral = new ExternalPeripheral(socket, port);
+                        IExternalPeripheral externalPeripheral = new ExternalPeripheral(socket, port, interruptController);
                         externalPeripheral._start();
                         externalPeripherals.add(externalPeripheral);
                     }
@@ -90,8 +97,12 @@ public class IOPeripheralSystem implements IIntraProgramIOEventsListener {
                 }
                 break;
             }
+            case 0x10:
+            case 0x11:
+            case 0x12:
+            case 0x13:
             case 0x16: {
-                timer.setValue(value);
+                timer.write(port, value);
                 break;
             }
             default: {
@@ -117,8 +128,32 @@ public class IOPeripheralSystem implements IIntraProgramIOEventsListener {
             case 0x07: {
                 return screenOnPort0x07.getByte_Protocol();
             }
+            case 0x10:
+            case 0x11:
+            case 0x12:
+            case 0x13: {
+                return timer.read(port);
+            }
             case 0x16: {
-                return timer.getValue();
+                int value = timer.getLegacyValue();
+                int exitValue = busyWaitDetector.getExitValue(value);
+                if (exitValue >= 0) {
+                    // Цикл ожидания таймера: эмулированное время сразу переводится
+                    // к значению таймера, на котором цикл завершится (или к событию
+                    // канала таймера, если оно наступит раньше).
+                    value = timer.skipLegacyTo(exitValue);
+                }
+                return value;
+            }
+            case 0x18:
+            case 0x19:
+            case 0x1A:
+            case 0x1B:
+            case 0x1C:
+            case 0x1D:
+            case 0x1E:
+            case 0x1F: {
+                return performanceCounters.read(port);
             }
             default: {
                 for (IExternalPeripheral current : externalPeripherals) {
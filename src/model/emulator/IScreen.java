@@ -31,6 +31,12 @@ interface IScreen {
      */
     int[][] getCharMemory();
 
+    /**
+     * Метод для получения отметок изменённых элементов видеопамяти.
+     * @return отметки изменённых элементов или null, если экран их не ведёт.
+     */
+    DirtyMask getDirtyMask();
+
     /**
      * Метод для очистки экрана.
      */
@@ -0,0 +1,129 @@
+package model.emulator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Контроллер прерываний эмулятора.
+ * Устройства запрашивают прерывание установкой бита своего приоритета в общей маске
+ * ожидающих прерываний, а цикл выполнения программы проверяет маску одним чтением
+ * volatile-поля после каждой команды или линейного участка.
+ * Прерывание принимается, если его приоритет выше уровня приоритета исполняемой программы
+ * (меньше по значению). Остальные запросы остаются в маске до понижения уровня.
+ * Поток выполнения программы может ожидать прерывания (команда HLT) без загрузки
+ * процессора: запрос прерывания возобновляет ожидающий поток.
+ */
+public class InterruptController {
+
+    /**
+     * Количество уровней приоритета прерываний (0 - наивысший, 7 - низший).
+     */
+    public static final int PRIORITY_LEVELS = 8;
+
+    private static final int[] VECTORS = new int[PRIORITY_LEVELS];
+
+    static {
+        for (int priority = 0; priority < PRIORITY_LEVELS; ++priority) {
+            VECTORS[priority] = 0x08 * priority;
+        }
+    }
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile Thread waiter;
+
+    /**
+     * Метод для запроса прерывания. Может вызываться из любого потока.
+     * @param priority приоритет прерывания (0 - 7), запросы с другим приоритетом
+     *                 (например, 8 - прерывания устройства отключены) игнорируются.
+     */
+    public void request(int priority) {
+        if (priority >= 0 && priority < PRIORITY_LEVELS) {
+            pending.getAndAccumulate(1 << priority, (mask, bit) -> mask | bit);
+            Thread thread = waiter;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * Метод для проверки наличия ожидающих прерываний.
+     * @return true - если есть хотя бы один запрос прерывания, иначе - false.
+     */
+    public boolean hasPending() {
+        return pending.get() != 0;
+    }
+
+    /**
+     * Метод для проверки наличия ожидающих прерываний, которые может принять программа
+     * с указанным уровнем приоритета.
+     * @param executionLevel уровень приоритета исполняемой программы (8 - основная программа).
+     * @return true, если есть прерывание, которое будет принято методом {@link #acknowledge(int)}.
+     */
+    public boolean hasPending(int executionLevel) {
+        return (pending.get() & ((1 << executionLevel) - 1)) != 0;
+    }
+
+    /**
+     * Метод для приёма прерывания с наивысшим приоритетом среди ожидающих.
+     * Бит принятого прерывания сбрасывается.
+     * @param executionLevel уровень приоритета исполняемой программы (8 - основная программа).
+     * @return приоритет принятого прерывания или -1, если все ожидающие прерывания
+     * замаскированы уровнем приоритета программы.
+     */
+    public int acknowledge(int executionLevel) {
+        while (true) {
+            int mask = pending.get();
+            int accepted = mask & ((1 << executionLevel) - 1);
+            if (accepted == 0) {
+                return -1;
+            }
+            int priority = Integer.numberOfTrailingZeros(accepted);
+            if (pending.compareAndSet(mask, mask & ~(1 << priority))) {
+                return priority;
+            }
+        }
+    }
+
+    /**
+     * Метод для ожидания прерывания, которое может быть принято программой с указанным
+     * уровнем приоритета. Поток приостанавливается до запроса прерывания или истечения
+     * времени ожидания, но может быть возобновлён и раньше - прерыванием потока или вызовом
+     * {@link LockSupport#unpark(Thread)}, поэтому вызывающий код проверяет результат
+     * и при необходимости повторяет ожидание.
+     * @param executionLevel уровень приоритета исполняемой программы (8 - основная программа).
+     * @param timeoutNanos максимальное время ожидания в наносекундах.
+     * @return true, если есть прерывание, которое будет принято методом {@link #acknowledge(int)}.
+     */
+    public boolean await(int executionLevel, long timeoutNanos) {
+        int accepted = (1 << executionLevel) - 1;
+        waiter = Thread.currentThread();
+        try {
+            // Поток регистрируется до проверки маски, поэтому запрос, пришедший после
+            // проверки, обязательно возобновит поток.
+            if ((pending.get() & accepted) == 0) {
+                LockSupport.parkNanos(this, timeoutNanos);
+            }
+            return (pending.get() & accepted) != 0;
+        } finally {
+            waiter = null;
+        }
+    }
+
+    /**
+     * Метод для сброса всех ожидающих прерываний.
+     */
+    public void clear() {
+        pending.set(0);
+    }
+
+    /**
+     * Метод для получения адреса обработчика прерывания.
+     * @param priority приоритет прерывания (0 - 7).
+     * @return адрес обработчика (8 * приоритет).
+     */
+    public static int getVector(int priority) {
+        return VECTORS[priority];
+    }
+}
\ No newline at end of file
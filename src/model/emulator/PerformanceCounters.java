@@ -0,0 +1,49 @@
+package model.emulator;
+
+import model.kernel.IMicroprocessor;
+
+/**
+ * Счётчики производительности, доступные программе через порты ввода (подобно TSC).
+ * Порты 0x18 - 0x1B возвращают байты 32-битного счётчика тактов микропроцессора,
+ * порты 0x1C - 0x1F - байты 32-битного счётчика выполненных команд, от младшего к старшему.
+ * Чтение младшего байта (порты 0x18 и 0x1C) запоминает текущее значение счётчика,
+ * остальные байты читаются из запомненного значения, поэтому четыре чтения дают
+ * согласованное значение. Значения не зависят от скорости компьютера: порт читается командой
+ * IN, такты и сама команда которой уже учтены.
+ * Пример замера (результат - разность двух значений):
+ * <pre>
+ * IN 18h      ; такты 0 - 7, значение запоминается
+ * MOV E,A
+ * IN 19h      ; такты 8 - 15
+ * MOV D,A
+ * </pre>
+ */
+class PerformanceCounters {
+
+    static final int CYCLES_PORT = 0x18;
+    static final int INSTRUCTIONS_PORT = 0x1C;
+
+    private final IMicroprocessor microprocessor;
+
+    private int cycles;
+    private int instructions;
+
+    PerformanceCounters(IMicroprocessor microprocessor) {
+        this.microprocessor = microprocessor;
+    }
+
+    /**
+     * Метод для чтения из порта счётчиков.
+     * @param port порт 0x18 - 0x1F.
+     * @return байт запомненного значения счётчика.
+     */
+    int read(int port) {
+        if (port == CYCLES_PORT) {
+            cycles = (int) microprocessor.getCycles();
+        } else if (port == INSTRUCTIONS_PORT) {
+            instructions = (int) microprocessor.getInstructions();
+        }
+        int value = port < INSTRUCTIONS_PORT ? cycles : instructions;
+        return (value >>> 8 * (port & 3)) & 0xFF;
+    }
+}
\ No newline at end of file
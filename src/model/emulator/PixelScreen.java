@@ -6,6 +6,7 @@ class PixelScreen implements IScreen {
     private int columnCount;
 
     private int[][] memory;
+    private final DirtyMask dirtyRows;
 
     private int outputRegister;
     private int inputState;
@@ -16,6 +17,7 @@ class PixelScreen implements IScreen {
         this.rowCount = rowCount;
         this.columnCount = columtCount;
         this.memory = new int[rowCount][columtCount];
+        this.dirtyRows = new DirtyMask(rowCount);
         this.inputState = 0;
         this.outputRegister = 0;
     }
@@ -55,6 +57,7 @@ class PixelScreen implements IScreen {
             }
             case 3: {
                 memory[rowSelectedAddress][columnSelectedAddress] = value;
+                dirtyRows.mark(rowSelectedAddress);
                 inputState = 0;
                 return true;
             }
@@ -77,6 +80,11 @@ class PixelScreen implements IScreen {
         return null;
     }
 
+    @Override
+    public DirtyMask getDirtyMask() {
+        return dirtyRows;
+    }
+
     @Override
     public void clear() {
         for (int i = 0; i < memory.length; ++i) {
@@ -84,5 +92,6 @@ class PixelScreen implements IScreen {
                 memory[i][j] = 0;
             }
         }
+        dirtyRows.markAll();
     }
 }
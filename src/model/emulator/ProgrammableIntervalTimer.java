@@ -0,0 +1,306 @@
+package model.emulator;
+
+import model.kernel.IMicroprocessor;
+
+/**
+ * Программируемый интервальный таймер, подобный Intel 8253, и таймер порта 0x16.
+ * Таймер не имеет собственного потока и отсчитывает эмулированное время по счётчику тактов
+ * микропроцессора: значения счётчиков вычисляются при обращении к портам, а эмулятор
+ * вызывает {@link #update(long)}, когда счётчик тактов достигает ближайшего события
+ * ({@link #getNextEventCycle()}). Между событиями таймер ничего не стоит, а результат
+ * выполнения программы не зависит от загрузки компьютера.
+ * <p>
+ * Порты 0x10 - 0x12 - счётчики каналов 0 - 2, порт 0x13 - регистр управляющего слова
+ * в формате Intel 8253 (SC1 SC0 RW1 RW0 M2 M1 M0 BCD, двоично-десятичный счёт
+ * не поддерживается). Счётчики уменьшаются на 1 каждые {@link #CYCLES_PER_COUNT} такта
+ * (1 МГц при частоте микропроцессора 2 МГц). Режимы 0 и 4 - однократный отсчёт, режимы 2 и 3 -
+ * периодический. Режимы 1 и 5 запускаются сигналом GATE, который не подключён, поэтому
+ * счёт в них не начинается. Окончание отсчёта канала запрашивает прерывание с приоритетом,
+ * равным номеру канала, увеличенному на 1 (обработчики по адресам 0x08, 0x10 и 0x18).
+ * <p>
+ * Порт 0x16 совместим с прежним таймером: записанное значение уменьшается на 1 каждые 10 мс
+ * эмулированного времени ({@link #LEGACY_TICK_CYCLES} тактов) до нуля. Прерываний этот таймер
+ * не запрашивает.
+ */
+class ProgrammableIntervalTimer {
+
+    static final int FIRST_CHANNEL_PORT = 0x10;
+    static final int CONTROL_PORT = 0x13;
+    static final int LEGACY_PORT = 0x16;
+
+    static final int CHANNELS = 3;
+
+    /**
+     * Количество тактов микропроцессора на один отсчёт каналов.
+     */
+    static final long CYCLES_PER_COUNT = 2;
+
+    /**
+     * Количество тактов микропроцессора на один отсчёт таймера порта 0x16 (10 мс при 2 МГц).
+     */
+    static final long LEGACY_TICK_CYCLES = 20_000;
+
+    /**
+     * Значение {@link #getNextEventCycle()}, если ни один канал не ведёт отсчёт.
+     */
+    static final long NO_EVENT = Long.MAX_VALUE;
+
+    private static final int ACCESS_LATCH = 0;
+    private static final int ACCESS_LOW = 1;
+    private static final int ACCESS_HIGH = 2;
+    private static final int ACCESS_LOW_HIGH = 3;
+
+    /**
+     * Состояние канала таймера.
+     */
+    private static class Channel {
+        private int mode;
+        private int access = ACCESS_LOW_HIGH;
+        private int count;
+        private int lowByte;
+        private boolean writeHigh;
+        private boolean readHigh;
+        private boolean latched;
+        private int latch;
+        private boolean counting;
+        private long start;
+        private long nextEvent = NO_EVENT;
+
+        private boolean isPeriodic() {
+            return mode == 2 || mode == 3;
+        }
+
+        private int getValue(long cycles) {
+            if (!counting) {
+                return count & 0xFFFF;
+            }
+            long elapsed = (cycles - start) / CYCLES_PER_COUNT;
+            if (isPeriodic()) {
+                return (int) (count - elapsed % count) & 0xFFFF;
+            }
+            return (int) (count - elapsed) & 0xFFFF;
+        }
+    }
+
+    private final IMicroprocessor microprocessor;
+    private final InterruptController interruptController;
+
+    private final Channel[] channels = new Channel[CHANNELS];
+    private long nextEventCycle = NO_EVENT;
+
+    private int legacyValue;
+    private long legacyStart;
+
+    ProgrammableIntervalTimer(IMicroprocessor microprocessor, InterruptController interruptController) {
+        this.microprocessor = microprocessor;
+        this.interruptController = interruptController;
+        reset();
+    }
+
+    /**
+     * Метод для записи в порт таймера.
+     */
+    void write(int port, int value) {
+        long cycles = microprocessor.getCycles();
+        if (port == LEGACY_PORT) {
+            setLegacyValue(value);
+        } else if (port == CONTROL_PORT) {
+            writeControlWord(value, cycles);
+        } else {
+            Channel channel = channels[port - FIRST_CHANNEL_PORT];
+            switch (channel.access) {
+                case ACCESS_LOW: {
+                    load(channel, value, cycles);
+                    break;
+                }
+                case ACCESS_HIGH: {
+                    load(channel, value << 8, cycles);
+                    break;
+                }
+                default: {
+                    if (!channel.writeHigh) {
+                        channel.lowByte = value;
+                        channel.writeHigh = true;
+                    } else {
+                        channel.writeHigh = false;
+                        load(channel, channel.lowByte | value << 8, cycles);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Метод для чтения из порта таймера. Регистр управляющего слова не читается (0).
+     */
+    int read(int port) {
+        long cycles = microprocessor.getCycles();
+        if (port == LEGACY_PORT) {
+            return getLegacyValue();
+        }
+        if (port == CONTROL_PORT) {
+            return 0;
+        }
+        Channel channel = channels[port - FIRST_CHANNEL_PORT];
+        int value = channel.latched ? channel.latch : channel.getValue(cycles);
+        boolean high;
+        if (channel.access == ACCESS_LOW_HIGH) {
+            high = channel.readHigh;
+            channel.readHigh = !channel.readHigh;
+        } else {
+            high = channel.access == ACCESS_HIGH;
+        }
+        if (channel.access != ACCESS_LOW_HIGH || high) {
+            channel.latched = false;
+        }
+        return high ? value >> 8 : value & 0xFF;
+    }
+
+    /**
+     * @return значение таймера порта 0x16.
+     */
+    int getLegacyValue() {
+        long ticks = (microprocessor.getCycles() - legacyStart) / LEGACY_TICK_CYCLES;
+        return (int) Math.max(0, legacyValue - ticks);
+    }
+
+    /**
+     * Метод для записи значения в таймер порта 0x16. Отсчёт начинается заново.
+     */
+    void setLegacyValue(int value) {
+        legacyValue = value;
+        legacyStart = microprocessor.getCycles();
+    }
+
+    /**
+     * Метод для перевода эмулированного времени вперёд до момента, когда таймер порта 0x16
+     * уменьшится до указанного значения. Счётчик тактов микропроцессора увеличивается
+     * на время ожидания, но не дальше ближайшего окончания отсчёта канала: прерывание
+     * запрашивается в свой момент, и каждый период периодического канала даёт своё
+     * прерывание, как при выполнении цикла ожидания. Пакет команд микропроцессора
+     * завершается, чтобы эмулятор принял прерывание и проверил ограничения выполнения.
+     * @param value значение таймера, не большее текущего.
+     * @return значение таймера порта 0x16 после перевода времени.
+     */
+    int skipLegacyTo(int value) {
+        long target = legacyStart + (legacyValue - value) * LEGACY_TICK_CYCLES;
+        long cycles = microprocessor.getCycles();
+        if (target > cycles) {
+            target = Math.min(target, nextEventCycle);
+            microprocessor.addCycles(target - cycles);
+            if (target == nextEventCycle) {
+                update(target);
+            }
+            microprocessor.endBatch();
+        }
+        return getLegacyValue();
+    }
+
+    /**
+     * @return номер такта ближайшего окончания отсчёта или {@link #NO_EVENT}.
+     */
+    long getNextEventCycle() {
+        return nextEventCycle;
+    }
+
+    /**
+     * Метод для получения ближайшего окончания отсчёта, прерывание от которого может быть
+     * принято программой с указанным уровнем приоритета.
+     * @param executionLevel уровень приоритета исполняемой программы (8 - основная программа).
+     * @return номер такта или {@link #NO_EVENT}.
+     */
+    long getNextEventCycle(int executionLevel) {
+        long next = NO_EVENT;
+        for (int i = 0; i < CHANNELS; ++i) {
+            if (getPriority(i) < executionLevel) {
+                next = Math.min(next, channels[i].nextEvent);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Метод для обработки окончаний отсчёта, наступивших к указанному такту: запрашивает
+     * прерывания и назначает следующие события периодических каналов. Пропущенные периоды
+     * запрашивают одно прерывание.
+     * @param cycles текущее значение счётчика тактов микропроцессора.
+     */
+    void update(long cycles) {
+        for (int i = 0; i < CHANNELS; ++i) {
+            Channel channel = channels[i];
+            if (channel.nextEvent <= cycles) {
+                interruptController.request(getPriority(i));
+                if (channel.isPeriodic()) {
+                    long period = channel.count * CYCLES_PER_COUNT;
+                    channel.nextEvent += ((cycles - channel.nextEvent) / period + 1) * period;
+                } else {
+                    channel.nextEvent = NO_EVENT;
+                }
+            }
+        }
+        updateNextEventCycle();
+    }
+
+    /**
+     * Метод для сброса таймера: каналы останавливаются, таймер порта 0x16 обнуляется.
+     */
+    void reset() {
+        for (int i = 0; i < CHANNELS; ++i) {
+            channels[i] = new Channel();
+        }
+        nextEventCycle = NO_EVENT;
+        legacyValue = 0;
+        legacyStart = 0;
+    }
+
+    private void writeControlWord(int value, long cycles) {
+        int index = value >> 6;
+        if (index >= CHANNELS) {
+            return;
+        }
+        Channel channel = channels[index];
+        int access = (value >> 4) & 3;
+        if (access == ACCESS_LATCH) {
+            if (!channel.latched) {
+                channel.latched = true;
+                channel.latch = channel.getValue(cycles);
+                channel.readHigh = false;
+            }
+            return;
+        }
+        int mode = (value >> 1) & 7;
+        channel.mode = mode > 5 ? mode - 4 : mode;
+        channel.access = access;
+        channel.writeHigh = false;
+        channel.readHigh = false;
+        channel.latched = false;
+        channel.counting = false;
+        channel.nextEvent = NO_EVENT;
+        updateNextEventCycle();
+        microprocessor.endBatch();
+    }
+
+    private void load(Channel channel, int value, long cycles) {
+        channel.count = value == 0 ? 65536 : value;
+        channel.counting = channel.mode != 1 && channel.mode != 5;
+        channel.start = cycles;
+        channel.nextEvent = channel.counting ? cycles + channel.count * CYCLES_PER_COUNT : NO_EVENT;
+        updateNextEventCycle();
+        // Пакет команд эмулятора ограничен ближайшим событием таймера, поэтому после
+        // изменения события пакет завершается.
+        microprocessor.endBatch();
+    }
+
+    private void updateNextEventCycle() {
+        long next = NO_EVENT;
+        for (Channel channel : channels) {
+            next = Math.min(next, channel.nextEvent);
+        }
+        nextEventCycle = next;
+    }
+
+    private static int getPriority(int channel) {
+        return channel + 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package model.emulator;
+
+/**
+ * Результат выполнения программы методом
+ * {@link IEmulator#run(long, long, java.time.Duration)}.
+ */
+public class RunResult {
+
+    private final StopReason stopReason;
+    private final long instructions;
+    private final long cycles;
+
+    RunResult(StopReason stopReason, long instructions, long cycles) {
+        this.stopReason = stopReason;
+        this.instructions = instructions;
+        this.cycles = cycles;
+    }
+
+    /**
+     * @return причина остановки выполнения.
+     */
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    /**
+     * @return количество команд, выполненных за время запуска.
+     */
+    public long getInstructions() {
+        return instructions;
+    }
+
+    /**
+     * @return количество тактов, затраченных за время запуска (с учётом входа в прерывания).
+     */
+    public long getCycles() {
+        return cycles;
+    }
+
+    @Override
+    public String toString() {
+        return stopReason + ": " + instructions + " instructions, " + cycles + " cycles";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package model.emulator;
+
+/**
+ * Перечисление, описывающее причины остановки выполнения программы эмулятором.
+ */
+public enum StopReason {
+
+    /**
+     * Выполнение дошло до команды HLT.
+     */
+    HALTED,
+
+    /**
+     * Выполнение дошло до точки остановки.
+     */
+    BREAKPOINT,
+
+    /**
+     * Команда обратилась к наблюдаемой ячейке памяти (см. {@link IEmulator#getWatchpointHit()}).
+     */
+    WATCHPOINT,
+
+    /**
+     * Выполнено заданное количество команд.
+     */
+    INSTRUCTION_LIMIT,
+
+    /**
+     * Затрачено заданное количество тактов.
+     */
+    CYCLE_LIMIT,
+
+    /**
+     * Истекло заданное время выполнения.
+     */
+    DEADLINE,
+
+    /**
+     * Выполнение остановлено методом {@link IEmulator#cancel()} или прерыванием потока.
+     */
+    CANCELLED
+}
\ No newline at end of file
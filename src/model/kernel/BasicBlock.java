@@ -0,0 +1,48 @@
+package model.kernel;
+
+/**
+ * Линейный участок программы (basic block), подготовленный к выполнению.
+ * Команды участка, кроме последней, заранее связаны со своими аргументами и выполняются
+ * подряд без декодирования и без изменения программного счётчика. Последняя команда
+ * (переход, вызов, возврат или ввод-вывод) выполняется после установки программного
+ * счётчика на адрес, следующий за участком.
+ * Элемент участка может выполнять сразу две команды ({@link Superinstructions}), поэтому
+ * для каждого элемента хранится количество команд и тактов, выполненных с начала участка.
+ * Длительность участка {@link #cycles} не включает дополнительные такты условного вызова
+ * или возврата, которые учитываются при выполнении.
+ */
+class BasicBlock {
+
+    final int start;
+    final int length;
+
+    final Runnable[] body;
+    final int[] nextAddresses;
+    final int[] executedCommands;
+    final int[] executedCycles;
+
+    final Runnable exit;
+    final boolean conditionalExit;
+    final int exitAddress;
+    final int commandsCount;
+    final int cycles;
+
+    boolean valid;
+
+    BasicBlock(int start, int length, Runnable[] body, int[] nextAddresses, int[] executedCommands,
+               int[] executedCycles, Runnable exit, boolean conditionalExit, int exitAddress,
+               int commandsCount, int cycles) {
+        this.start = start;
+        this.length = length;
+        this.body = body;
+        this.nextAddresses = nextAddresses;
+        this.executedCommands = executedCommands;
+        this.executedCycles = executedCycles;
+        this.exit = exit;
+        this.conditionalExit = conditionalExit;
+        this.exitAddress = exitAddress;
+        this.commandsCount = commandsCount;
+        this.cycles = cycles;
+        this.valid = true;
+    }
+}
@@ -0,0 +1,320 @@
+package model.kernel;
+
+import model.kernel.cmd.ICommand;
+import model.translator.CommandsTable;
+import model.translator.Intel8080CommandsCodes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Кэш линейных участков программы. Участок строится при первом выполнении программы
+ * с его начального адреса и заканчивается командой передачи управления или ввода-вывода,
+ * перед командой HLT, перед границей участков (например, точкой остановки) или
+ * по достижении {@link #MAX_BLOCK_LENGTH} команд.
+ * Запись в любую ячейку памяти, входящую в участок, делает участок недействительным.
+ * Если участок с одного адреса становится недействительным {@link #MAX_INVALIDATIONS} раз
+ * (программа изменяет собственный код в цикле), участки с этого адреса больше не строятся
+ * и команды по нему выполняются по одной ({@link #isCacheable(int)}). Счётчики удалений
+ * сохраняются при очистке кэша и сбрасываются только вместе с памятью ({@link #reset()}).
+ * Массивы кэша разбиты на страницы по {@link #PAGE_SIZE} адресов, которые создаются
+ * при первом обращении к адресам страницы, поэтому память расходуется только на участки,
+ * где есть выполняемый код.
+ * Часто встречающиеся пары команд заменяются слитыми командами ({@link Superinstructions}),
+ * если слияние не отключено (при наблюдении за памятью каждая команда выполняется отдельно,
+ * чтобы можно было указать команду, обратившуюся к наблюдаемой ячейке).
+ * Коды команд читаются непосредственно из памяти, минуя проверку точек наблюдения.
+ */
+class BasicBlocksCache {
+
+    static final int MAX_BLOCK_LENGTH = 64;
+
+    /**
+     * Количество удалений участка, после которого участки с его адреса не строятся.
+     */
+    static final int MAX_INVALIDATIONS = 4;
+
+    private static final int MAX_COMMAND_SIZE = 3;
+    private static final int MAX_BLOCK_SIZE = MAX_BLOCK_LENGTH * MAX_COMMAND_SIZE;
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private final IMicroprocessor microprocessor;
+    private final IMemory memory;
+    private final IExecutableCommandEventsListener executeListener;
+    private final int size;
+
+    private boolean fusionEnabled = true;
+
+    private final BasicBlock[][] blocks;
+    private final char[][] coverage;
+    private final byte[][] invalidations;
+    private boolean[] boundaries;
+
+    BasicBlocksCache(IMicroprocessor microprocessor, IMemory memory,
+                     IExecutableCommandEventsListener executeListener) {
+        this.microprocessor = microprocessor;
+        this.memory = memory;
+        this.executeListener = executeListener;
+        this.size = memory.getSize();
+        int pages = (size + PAGE_SIZE - 1) >> PAGE_BITS;
+        this.blocks = new BasicBlock[pages][];
+        this.coverage = new char[pages][];
+        this.invalidations = new byte[pages][];
+    }
+
+    /**
+     * Метод для получения линейного участка, начинающегося с указанного адреса.
+     * @param address начальный адрес участка.
+     * @return линейный участок или null, если по адресу находится команда HLT.
+     */
+    BasicBlock get(int address) {
+        BasicBlock[] page = blocks[address >> PAGE_BITS];
+        BasicBlock block = page != null ? page[address & (PAGE_SIZE - 1)] : null;
+        if (block == null) {
+            block = compile(address);
+            if (block != null) {
+                add(block);
+            }
+        }
+        return block;
+    }
+
+    /**
+     * Метод для установки или снятия границы участков. Участок может начинаться
+     * с границы, но не может продолжаться через неё.
+     * @param address адрес границы.
+     * @param boundary true для установки границы, false для снятия.
+     */
+    void setBoundary(int address, boolean boundary) {
+        if (boundaries == null) {
+            if (!boundary) {
+                return;
+            }
+            boundaries = new boolean[size];
+        }
+        boundaries[address] = boundary;
+        invalidate(address, 1, false);
+    }
+
+    /**
+     * @return true, если по адресу установлена граница участков.
+     */
+    boolean isBoundary(int address) {
+        return boundaries != null && boundaries[address];
+    }
+
+    /**
+     * @return false, если участки с адреса больше не строятся из-за частых изменений кода.
+     */
+    boolean isCacheable(int address) {
+        byte[] page = invalidations[address >> PAGE_BITS];
+        return page == null || page[address & (PAGE_SIZE - 1)] < MAX_INVALIDATIONS;
+    }
+
+    /**
+     * Метод для удаления из кэша участков, содержащих указанные ячейки памяти.
+     * @param address адрес первой изменённой ячейки.
+     * @param length количество изменённых ячеек.
+     */
+    void invalidate(int address, int length) {
+        invalidate(address, length, true);
+    }
+
+    private void invalidate(int address, int length, boolean counted) {
+        if (length >= size) {
+            clear();
+            return;
+        }
+        for (int i = 0; i < length; ++i) {
+            int changed = (address + i) % size;
+            char[] changedCoverage = coverage[changed >> PAGE_BITS];
+            int index = changed & (PAGE_SIZE - 1);
+            if (changedCoverage == null) {
+                continue;
+            }
+            for (int offset = 0; offset < MAX_BLOCK_SIZE && changedCoverage[index] > 0; ++offset) {
+                BasicBlock block = getBlock(Math.floorMod(changed - offset, size));
+                if (block != null && offset < block.length) {
+                    remove(block);
+                    if (counted) {
+                        countInvalidation(block.start);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Метод для включения и отключения слитых команд. При изменении режима кэш очищается.
+     * @param enabled true для замены пар команд слитыми командами.
+     */
+    void setFusionEnabled(boolean enabled) {
+        if (fusionEnabled != enabled) {
+            fusionEnabled = enabled;
+            clear();
+        }
+    }
+
+    /**
+     * Метод для очистки кэша. Счётчики удалений участков сохраняются.
+     */
+    void clear() {
+        for (BasicBlock[] page : blocks) {
+            if (page == null) {
+                continue;
+            }
+            for (BasicBlock block : page) {
+                if (block != null) {
+                    block.valid = false;
+                }
+            }
+        }
+        Arrays.fill(blocks, null);
+        Arrays.fill(coverage, null);
+    }
+
+    /**
+     * Метод для очистки кэша вместе со счётчиками удалений участков (при очистке памяти).
+     */
+    void reset() {
+        clear();
+        Arrays.fill(invalidations, null);
+    }
+
+    private BasicBlock getBlock(int address) {
+        BasicBlock[] page = blocks[address >> PAGE_BITS];
+        return page != null ? page[address & (PAGE_SIZE - 1)] : null;
+    }
+
+    private void countInvalidation(int address) {
+        byte[] page = invalidations[address >> PAGE_BITS];
+        if (page == null) {
+            page = new byte[PAGE_SIZE];
+            invalidations[address >> PAGE_BITS] = page;
+        }
+        int index = address & (PAGE_SIZE - 1);
+        if (page[index] < MAX_INVALIDATIONS) {
+            ++page[index];
+        }
+    }
+
+    private void add(BasicBlock block) {
+        BasicBlock[] page = blocks[block.start >> PAGE_BITS];
+        if (page == null) {
+            page = new BasicBlock[PAGE_SIZE];
+            blocks[block.start >> PAGE_BITS] = page;
+        }
+        page[block.start & (PAGE_SIZE - 1)] = block;
+        for (int i = 0; i < block.length; ++i) {
+            int address = (block.start + i) % size;
+            char[] coveragePage = coverage[address >> PAGE_BITS];
+            if (coveragePage == null) {
+                coveragePage = new char[PAGE_SIZE];
+                coverage[address >> PAGE_BITS] = coveragePage;
+            }
+            ++coveragePage[address & (PAGE_SIZE - 1)];
+        }
+    }
+
+    private void remove(BasicBlock block) {
+        block.valid = false;
+        blocks[block.start >> PAGE_BITS][block.start & (PAGE_SIZE - 1)] = null;
+        for (int i = 0; i < block.length; ++i) {
+            int address = (block.start + i) % size;
+            --coverage[address >> PAGE_BITS][address & (PAGE_SIZE - 1)];
+        }
+    }
+
+    private BasicBlock compile(int start) {
+        int[] codes = new int[MAX_BLOCK_LENGTH];
+        int[] args = new int[MAX_BLOCK_LENGTH];
+        int[] nextAddresses = new int[MAX_BLOCK_LENGTH];
+        int count = 0;
+        boolean hasExit = false;
+        int address = start;
+        int length = 0;
+        while (count < MAX_BLOCK_LENGTH) {
+            if (address != start && boundaries != null && boundaries[address]) {
+                break;
+            }
+            int code = memory.getValue(address);
+            if (code == Intel8080CommandsCodes.HLT) {
+                break;
+            }
+            int commandSize = CommandsTable.getCommand(code).getSize();
+            int next = address + commandSize;
+            codes[count] = code;
+            args[count] = CommandsTable.getArgument(memory, address, commandSize);
+            nextAddresses[count] = next % size;
+            ++count;
+            length += commandSize;
+            address = next % size;
+            if (CommandsTable.isBlockEnd(code)) {
+                hasExit = true;
+                break;
+            }
+            if (next >= size) {
+                break;
+            }
+        }
+        if (length == 0) {
+            return null;
+        }
+
+        // Последняя команда (переход, вызов, возврат или ввод-вывод) выполняется отдельно,
+        // но может быть слита с предыдущей командой.
+        int bodyCount = count;
+        Runnable exit = null;
+        if (hasExit) {
+            bodyCount = count - 1;
+            if (bodyCount > 0 && fusionEnabled) {
+                exit = Superinstructions.fuse(microprocessor, codes[bodyCount - 1], args[bodyCount - 1],
+                        codes[bodyCount], args[bodyCount]);
+            }
+            if (exit != null) {
+                --bodyCount;
+            } else {
+                exit = bind(codes[count - 1], args[count - 1]);
+            }
+        }
+
+        ArrayList<Runnable> body = new ArrayList<>();
+        int[] bodyNextAddresses = new int[bodyCount];
+        int[] executedCommands = new int[bodyCount];
+        int[] executedCycles = new int[bodyCount];
+        int cycles = 0;
+        int i = 0;
+        while (i < bodyCount) {
+            Runnable fused = null;
+            if (i + 1 < bodyCount && fusionEnabled) {
+                fused = Superinstructions.fuse(microprocessor, codes[i], args[i], codes[i + 1], args[i + 1]);
+            }
+            if (fused != null) {
+                body.add(fused);
+                cycles += CyclesTable.getCycles(codes[i]) + CyclesTable.getCycles(codes[i + 1]);
+                i += 2;
+            } else {
+                body.add(bind(codes[i], args[i]));
+                cycles += CyclesTable.getCycles(codes[i]);
+                ++i;
+            }
+            bodyNextAddresses[body.size() - 1] = nextAddresses[i - 1];
+            executedCommands[body.size() - 1] = i;
+            executedCycles[body.size() - 1] = cycles;
+        }
+        for (int j = i; j < count; ++j) {
+            cycles += CyclesTable.getCycles(codes[j]);
+        }
+        boolean conditionalExit = hasExit && CyclesTable.isConditionalCallOrReturn(codes[count - 1]);
+        int entries = body.size();
+        return new BasicBlock(start, length, body.toArray(new Runnable[0]),
+                Arrays.copyOf(bodyNextAddresses, entries), Arrays.copyOf(executedCommands, entries),
+                Arrays.copyOf(executedCycles, entries), exit, conditionalExit, address, count, cycles);
+    }
+
+    private Runnable bind(int code, int arg) {
+        ICommand command = CommandsTable.getCommand(code);
+        return () -> command.execute(executeListener, arg);
+    }
+}
@@ -0,0 +1,46 @@
+package model.kernel;
+
+import java.util.Arrays;
+
+/**
+ * Память микропроцессора, хранящаяся в массиве байтов в куче.
+ * Используется по умолчанию и занимает в 4 раза меньше места, чем массив int.
+ */
+public class ByteArrayMemory implements IMemory {
+
+    private final byte[] memory;
+
+    public ByteArrayMemory(int size) {
+        this.memory = new byte[size];
+    }
+
+    @Override
+    public int getSize() {
+        return memory.length;
+    }
+
+    @Override
+    public int getValue(int address) {
+        return memory[address] & 0xFF;
+    }
+
+    @Override
+    public void setValue(int address, int value) {
+        memory[address] = (byte) value;
+    }
+
+    @Override
+    public void read(int address, byte[] buffer, int offset, int length) {
+        System.arraycopy(memory, address, buffer, offset, length);
+    }
+
+    @Override
+    public void write(int address, byte[] buffer, int offset, int length) {
+        System.arraycopy(buffer, offset, memory, address, length);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(memory, (byte) 0);
+    }
+}
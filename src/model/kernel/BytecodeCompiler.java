@@ -0,0 +1,1034 @@
+package model.kernel;
+
+import model.translator.CommandsTable;
+import model.translator.Intel8080CommandsCodes;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import static model.kernel.ClassFileWriter.*;
+
+/**
+ * Транслятор часто выполняемых линейных участков программы в байт-код JVM.
+ * Регистры микропроцессора на время выполнения участка хранятся в локальных переменных
+ * метода, аргументы команд становятся константами, а флаги вычисляются только для тех
+ * команд, результат которых может быть прочитан (следующей командой участка, после
+ * выхода из участка или командой PUSH PSW). Если из флагов арифметической или логической
+ * команды может быть прочитан только флаг переноса (например, перед INR или DCR),
+ * вычисляется только он.
+ * Участок заканчивается командой передачи управления (включительно), перед командами HLT,
+ * IN и OUT, перед границей участков или по достижении {@link #MAX_BLOCK_LENGTH} команд.
+ * Если команда участка записывает значение в память, занятую оттранслированным кодом,
+ * участок завершается после этой команды, и выполнение продолжается интерпретатором.
+ */
+class BytecodeCompiler {
+
+    static final int MAX_BLOCK_LENGTH = 64;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final String CLASS_NAME = "model/kernel/CompiledBlock$Generated";
+    private static final String SUPER_NAME = "model/kernel/CompiledBlock";
+    private static final String MICROPROCESSOR = "model/kernel/FastMicroprocessor";
+    private static final String EXECUTION_LEVELS = "model/kernel/ExecutionLevelStack";
+    private static final String COMPILER = "model/kernel/BytecodeCompiler";
+
+    private static final int THIS = 0;
+    private static final int CPU = 1;
+    private static final int LIMIT = 2;
+    private static final int MEMORY = 3;
+    private static final int A = 4;
+    private static final int B = 5;
+    private static final int C = 6;
+    private static final int D = 7;
+    private static final int E = 8;
+    private static final int H = 9;
+    private static final int L = 10;
+    private static final int SP = 11;
+    private static final int FLAGS = 12;
+    private static final int FIRST = 13;
+    private static final int SECOND = 14;
+    private static final int MODIFIED = 15;
+    private static final int PC = 16;
+    private static final int COUNT = 17;
+    private static final int CYCLES = 18;
+    private static final int LOCALS = 19;
+    private static final int MAX_STACK = 8;
+
+    /**
+     * Локальные переменные регистров в порядке кодирования регистров в командах
+     * Intel 8080 (B, C, D, E, H, L, M, A). Ячейка памяти M обрабатывается отдельно.
+     */
+    private static final int[] REGISTERS = {B, C, D, E, H, L, -1, A};
+    private static final String[] REGISTER_FIELDS = {"a", "b", "c", "d", "e", "h", "l", "sp", "flags"};
+
+    private static final int ALL_FLAGS = 0xFF;
+    private static final int ARITHMETIC_FLAGS = FlagsTable.ARITHMETIC_FLAGS;
+    private static final int FLAG_C = FlagsTable.FLAG_C;
+
+    private final FastMicroprocessor microprocessor;
+
+    private ClassFileWriter writer;
+    private ClassFileWriter.Label exit;
+    private ClassFileWriter.Label loop;
+    private int start;
+    private int[] executedCycles;
+    private boolean carryOnly;
+
+    BytecodeCompiler(FastMicroprocessor microprocessor) {
+        this.microprocessor = microprocessor;
+    }
+
+    /**
+     * Метод для трансляции участка программы.
+     * @param start адрес первой команды участка.
+     * @param boundaries границы участков или null.
+     * @return оттранслированный участок или null, если по адресу находится команда,
+     * которая не транслируется (HLT, IN, OUT, EI, DI).
+     */
+    CompiledBlock compile(int start, boolean[] boundaries) {
+        int memorySize = microprocessor.getMemorySize();
+        int[] codes = new int[MAX_BLOCK_LENGTH];
+        int[] addresses = new int[MAX_BLOCK_LENGTH + 1];
+        int count = 0;
+        int address = start;
+        while (count < MAX_BLOCK_LENGTH) {
+            if (address != start && boundaries != null && boundaries[address]) {
+                break;
+            }
+            int code = microprocessor.getValueFromMemoryByAddress(address);
+            int size = CommandsTable.getCommand(code).getSize();
+            if (code == Intel8080CommandsCodes.HLT || code == Intel8080CommandsCodes.IN
+                    || code == Intel8080CommandsCodes.OUT || code == Intel8080CommandsCodes.EI
+                    || code == Intel8080CommandsCodes.DI || address + size >= memorySize) {
+                break;
+            }
+            codes[count] = code;
+            addresses[count] = address;
+            ++count;
+            address += size;
+            if (CommandsTable.isBlockEnd(code)) {
+                break;
+            }
+        }
+        addresses[count] = address;
+        if (count == 0) {
+            return null;
+        }
+
+        // Такты, затраченные с начала участка до конца каждой команды включительно
+        // (без дополнительных тактов выполненного условного вызова или возврата).
+        executedCycles = new int[count];
+        for (int i = 0; i < count; ++i) {
+            executedCycles[i] = (i > 0 ? executedCycles[i - 1] : 0) + CyclesTable.getCycles(codes[i]);
+        }
+
+        // Обратный проход: флаги команды нужны, только если они читаются раньше,
+        // чем перезаписываются следующими командами. После участка нужны все флаги.
+        boolean[] flagsUsed = new boolean[count];
+        boolean[] carryUsedOnly = new boolean[count];
+        int live = ALL_FLAGS;
+        for (int i = count - 1; i >= 0; --i) {
+            int written = getWrittenFlags(codes[i]);
+            flagsUsed[i] = (written & live) != 0;
+            carryUsedOnly[i] = (written & live) == FLAG_C;
+            live = (live & ~written) | getReadFlags(codes[i]);
+        }
+
+        writer = new ClassFileWriter();
+        exit = writer.newLabel();
+        loop = writer.newLabel();
+        this.start = start;
+        writePrologue();
+        for (int i = 0; i < count; ++i) {
+            carryOnly = carryUsedOnly[i];
+            writeCommand(codes[i], addresses[i], addresses[i + 1], i + 1, flagsUsed[i]);
+        }
+        if (!CommandsTable.isBlockEnd(codes[count - 1])) {
+            writeExit(addresses[count], count);
+        }
+        writeEpilogue();
+        byte[] bytes = writer.toByteArray(CLASS_NAME, SUPER_NAME, "execute",
+                "(L" + MICROPROCESSOR + ";I)I", MAX_STACK, LOCALS);
+        writer = null;
+        exit = null;
+        loop = null;
+        executedCycles = null;
+
+        try {
+            MethodHandles.Lookup lookup = LOOKUP.defineHiddenClass(bytes, true);
+            CompiledBlock block = (CompiledBlock) lookup
+                    .findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+            block.length = address - start;
+            return block;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Ошибка трансляции участка " + start, throwable);
+        }
+    }
+
+    // Методы, вызываемые из оттранслированного кода
+
+    static int addFlags(int flags, int first, int second, int result) {
+        return (flags & ~ARITHMETIC_FLAGS) | FlagsTable.getFlags(result)
+                | FlagsTable.getAdditionAuxiliaryCarry(first, second, result);
+    }
+
+    static int subFlags(int flags, int first, int second, int result) {
+        return (flags & ~ARITHMETIC_FLAGS) | FlagsTable.getFlags(result)
+                | FlagsTable.getSubtractionAuxiliaryCarry(first, second, result);
+    }
+
+    static int andFlags(int flags, int first, int second, int result) {
+        return (flags & ~ARITHMETIC_FLAGS) | FlagsTable.getFlags(result)
+                | FlagsTable.getLogicalAndAuxiliaryCarry(first, second);
+    }
+
+    static int logicFlags(int flags, int result) {
+        return (flags & ~ARITHMETIC_FLAGS) | FlagsTable.getFlags(result);
+    }
+
+    static int incrementFlags(int flags, int result) {
+        return (flags & ~(ARITHMETIC_FLAGS & ~FLAG_C)) | (FlagsTable.getFlags(result) & ~FLAG_C)
+                | FlagsTable.getIncrementAuxiliaryCarry(result);
+    }
+
+    static int decrementFlags(int flags, int result) {
+        return (flags & ~(ARITHMETIC_FLAGS & ~FLAG_C)) | (FlagsTable.getFlags(result) & ~FLAG_C)
+                | FlagsTable.getDecrementAuxiliaryCarry(result);
+    }
+
+    static int wordCarry(int flags, int result) {
+        return (result & ~0xFFFF) != 0 ? flags | FLAG_C : flags & ~FLAG_C;
+    }
+
+    // Анализ флагов
+
+    private static int getWrittenFlags(int code) {
+        if (code >= Intel8080CommandsCodes.ADD_B && code <= Intel8080CommandsCodes.CMP_A) {
+            return ARITHMETIC_FLAGS;
+        }
+        switch (code) {
+            case Intel8080CommandsCodes.ADI:
+            case Intel8080CommandsCodes.ACI:
+            case Intel8080CommandsCodes.SUI:
+            case Intel8080CommandsCodes.SBI:
+            case Intel8080CommandsCodes.ANI:
+            case Intel8080CommandsCodes.XRI:
+            case Intel8080CommandsCodes.ORI:
+            case Intel8080CommandsCodes.CPI:
+                return ARITHMETIC_FLAGS;
+            case Intel8080CommandsCodes.POP_PSW:
+                return ALL_FLAGS;
+            default:
+                if (isIncrement(code) || isDecrement(code)) {
+                    return ARITHMETIC_FLAGS & ~FLAG_C;
+                }
+                return 0;
+        }
+    }
+
+    private static int getReadFlags(int code) {
+        switch (code) {
+            case Intel8080CommandsCodes.ACI:
+            case Intel8080CommandsCodes.SBI:
+            case Intel8080CommandsCodes.CMC:
+            case Intel8080CommandsCodes.RAL:
+            case Intel8080CommandsCodes.RAR:
+                return FLAG_C;
+            case Intel8080CommandsCodes.PUSH_PSW:
+                return ALL_FLAGS;
+            default:
+                if ((code >= Intel8080CommandsCodes.ADC_B && code <= Intel8080CommandsCodes.ADC_A)
+                        || (code >= Intel8080CommandsCodes.SBB_B && code <= Intel8080CommandsCodes.SBB_A)) {
+                    return FLAG_C;
+                }
+                // Условные команды являются последними в участке, после которого
+                // и так считаются нужными все флаги.
+                return 0;
+        }
+    }
+
+    private static boolean isIncrement(int code) {
+        return (code & 0b11000111) == 0b00000100;
+    }
+
+    private static boolean isDecrement(int code) {
+        return (code & 0b11000111) == 0b00000101;
+    }
+
+    // Генерация байт-кода
+
+    private void writePrologue() {
+        writer.local(ALOAD, CPU);
+        writer.invoke(INVOKEVIRTUAL, MICROPROCESSOR, "readFlags", "()I");
+        writer.local(ISTORE, FLAGS);
+        writer.local(ALOAD, CPU);
+        writer.field(GETFIELD, MICROPROCESSOR, "memory", "[B");
+        writer.local(ASTORE, MEMORY);
+        for (int i = 0; i < REGISTER_FIELDS.length - 1; ++i) {
+            writer.local(ALOAD, CPU);
+            writer.field(GETFIELD, MICROPROCESSOR, REGISTER_FIELDS[i], "I");
+            writer.local(ISTORE, A + i);
+        }
+        writer.pushInt(0);
+        writer.local(ISTORE, COUNT);
+        writer.pushInt(0);
+        writer.local(ISTORE, CYCLES);
+        writer.mark(loop);
+    }
+
+    private void writeEpilogue() {
+        writer.mark(exit);
+        for (int i = 0; i < REGISTER_FIELDS.length; ++i) {
+            writer.local(ALOAD, CPU);
+            writer.local(ILOAD, A + i);
+            writer.field(PUTFIELD, MICROPROCESSOR, REGISTER_FIELDS[i], "I");
+        }
+        writer.local(ALOAD, CPU);
+        writer.local(ILOAD, PC);
+        writer.field(PUTFIELD, MICROPROCESSOR, "pc", "I");
+        writer.local(ALOAD, CPU);
+        writer.op(DUP);
+        writer.field(GETFIELD, MICROPROCESSOR, "cycles", "J");
+        writer.local(ILOAD, CYCLES);
+        writer.op(I2L);
+        writer.op(LADD);
+        writer.field(PUTFIELD, MICROPROCESSOR, "cycles", "J");
+        writer.local(ILOAD, COUNT);
+        writer.op(IRETURN);
+    }
+
+    private void writeExit(int pc, int count) {
+        writeExit(pc, count, true);
+    }
+
+    private void writeExit(int pc, int count, boolean loopAllowed) {
+        writeExecuted(count);
+        if (loopAllowed && pc == start) {
+            // Переход на начало участка: следующий проход выполняется без выхода из метода,
+            // если он гарантированно не превысит ограничение количества команд.
+            writer.local(ILOAD, COUNT);
+            writer.local(ILOAD, LIMIT);
+            writer.pushInt(count);
+            writer.op(ISUB);
+            writer.jump(IF_ICMPLE, loop);
+        }
+        writer.pushInt(pc);
+        writer.local(ISTORE, PC);
+        writer.jump(GOTO, exit);
+    }
+
+    /**
+     * Выход из участка после команды, записавшей значение в оттранслированный код.
+     * Результат записи (признак изменения кода) должен находиться на вершине стека.
+     */
+    private void writeModifiedCodeCheck(int next, int count) {
+        ClassFileWriter.Label notModified = writer.newLabel();
+        writer.jump(IFEQ, notModified);
+        writeExit(next, count);
+        writer.mark(notModified);
+    }
+
+    private void writeRegisterPair(int high, int low) {
+        writer.local(ILOAD, high);
+        writer.pushInt(8);
+        writer.op(ISHL);
+        writer.local(ILOAD, low);
+        writer.op(IOR);
+    }
+
+    private void writeSetRegisterPair(int high, int low, int value) {
+        writer.local(ILOAD, value);
+        writer.pushInt(8);
+        writer.op(ISHR);
+        writer.pushInt(0xFF);
+        writer.op(IAND);
+        writer.local(ISTORE, high);
+        writer.local(ILOAD, value);
+        writer.pushInt(0xFF);
+        writer.op(IAND);
+        writer.local(ISTORE, low);
+    }
+
+    /**
+     * Чтение ячейки памяти, адрес которой находится на вершине стека.
+     */
+    private void writeReadMemory() {
+        writer.local(ALOAD, MEMORY);
+        writer.op(SWAP);
+        writer.op(BALOAD);
+        writer.pushInt(0xFF);
+        writer.op(IAND);
+    }
+
+    private void writeReadMemoryAt(int address) {
+        writer.local(ALOAD, MEMORY);
+        writer.pushInt(address);
+        writer.op(BALOAD);
+        writer.pushInt(0xFF);
+        writer.op(IAND);
+    }
+
+    /**
+     * Начало записи в память: на стек кладётся ссылка на микропроцессор,
+     * после чего вызывающий метод кладёт адрес и значение и вызывает {@link #writeStore()}.
+     */
+    private void writeStoreTarget() {
+        writer.local(ALOAD, CPU);
+    }
+
+    private void writeStore() {
+        writer.invoke(INVOKEVIRTUAL, MICROPROCESSOR, "writeCompiled", "(II)Z");
+    }
+
+    private void writeOperand(int register) {
+        if (register == 6) {
+            writeRegisterPair(H, L);
+            writeReadMemory();
+        } else {
+            writer.local(ILOAD, REGISTERS[register]);
+        }
+    }
+
+    private void writeFlagTest(int mask, boolean set, ClassFileWriter.Label notTaken) {
+        writer.local(ILOAD, FLAGS);
+        writer.pushInt(mask);
+        writer.op(IAND);
+        writer.jump(set ? IFEQ : IFNE, notTaken);
+    }
+
+    private void writePush(int highValue, int lowValue) {
+        writeDecrementStackPointer();
+        writeStoreTarget();
+        writer.local(ILOAD, SP);
+        writer.local(ILOAD, highValue);
+        writeStore();
+        writer.local(ISTORE, MODIFIED);
+        writeDecrementStackPointer();
+        writeStoreTarget();
+        writer.local(ILOAD, SP);
+        writer.local(ILOAD, lowValue);
+        writeStore();
+        writer.local(ILOAD, MODIFIED);
+        writer.op(IOR);
+    }
+
+    private void writeDecrementStackPointer() {
+        writer.local(ILOAD, SP);
+        writer.pushInt(1);
+        writer.op(ISUB);
+        writer.pushInt(0xFFFF);
+        writer.op(IAND);
+        writer.local(ISTORE, SP);
+    }
+
+    private void writePop(int high, int low) {
+        writer.local(ILOAD, SP);
+        writeReadMemory();
+        writer.local(ISTORE, low);
+        writer.local(ILOAD, SP);
+        writer.pushInt(1);
+        writer.op(IADD);
+        writer.pushInt(0xFFFF);
+        writer.op(IAND);
+        writeReadMemory();
+        writer.local(ISTORE, high);
+        writer.local(ILOAD, SP);
+        writer.pushInt(2);
+        writer.op(IADD);
+        writer.pushInt(0xFFFF);
+        writer.op(IAND);
+        writer.local(ISTORE, SP);
+    }
+
+    /**
+     * Выполнение арифметической или логической операции над аккумулятором.
+     * Второй операнд должен находиться в локальной переменной SECOND.
+     */
+    private void writeArithmetic(int operation, boolean flagsUsed) {
+        String flagsMethod;
+        switch (operation) {
+            case 0:
+            case 1: {
+                writer.local(ILOAD, A);
+                writer.local(ILOAD, SECOND);
+                writer.op(IADD);
+                if (operation == 1) {
+                    writeCarry();
+                    writer.op(IADD);
+                }
+                flagsMethod = "addFlags";
+                break;
+            }
+            case 2:
+            case 3:
+            case 7: {
+                writer.local(ILOAD, A);
+                writer.local(ILOAD, SECOND);
+                writer.op(ISUB);
+                if (operation == 3) {
+                    writeCarry();
+                    writer.op(ISUB);
+                }
+                flagsMethod = "subFlags";
+                break;
+            }
+            case 4: {
+                writer.local(ILOAD, A);
+                writer.local(ILOAD, SECOND);
+                writer.op(IAND);
+                flagsMethod = "andFlags";
+                break;
+            }
+            default: {
+                writer.local(ILOAD, A);
+                writer.local(ILOAD, SECOND);
+                writer.op(operation == 5 ? IXOR : IOR);
+                flagsMethod = "logicFlags";
+                break;
+            }
+        }
+        writer.local(ISTORE, FIRST);
+        if (flagsUsed && carryOnly) {
+            // Перенос - бит 8 результата в интервале от -256 до 511, после логических
+            // операций перенос сбрасывается.
+            writer.local(ILOAD, FLAGS);
+            writer.pushInt(~FLAG_C);
+            writer.op(IAND);
+            if (operation < 4 || operation == 7) {
+                writer.local(ILOAD, FIRST);
+                writer.pushInt(8);
+                writer.op(ISHR);
+                writer.pushInt(FLAG_C);
+                writer.op(IAND);
+                writer.op(IOR);
+            }
+            writer.local(ISTORE, FLAGS);
+        } else if (flagsUsed) {
+            writer.local(ILOAD, FLAGS);
+            if (flagsMethod.equals("logicFlags")) {
+                writer.local(ILOAD, FIRST);
+                writer.invoke(INVOKESTATIC, COMPILER, flagsMethod, "(II)I");
+            } else {
+                writer.local(ILOAD, A);
+                writer.local(ILOAD, SECOND);
+                writer.local(ILOAD, FIRST);
+                writer.invoke(INVOKESTATIC, COMPILER, flagsMethod, "(IIII)I");
+            }
+            writer.local(ISTORE, FLAGS);
+        }
+        if (operation != 7) {
+            writer.local(ILOAD, FIRST);
+            writer.pushInt(0xFF);
+            writer.op(IAND);
+            writer.local(ISTORE, A);
+        }
+    }
+
+    private void writeCarry() {
+        writer.local(ILOAD, FLAGS);
+        writer.pushInt(FLAG_C);
+        writer.op(IAND);
+    }
+
+    private void writeSetCarryFrom(int value, int mask, int shift) {
+        writer.local(ILOAD, FLAGS);
+        writer.pushInt(~FLAG_C);
+        writer.op(IAND);
+        writer.local(ILOAD, value);
+        if (shift != 0) {
+            writer.pushInt(shift);
+            writer.op(ISHR);
+        }
+        writer.pushInt(mask);
+        writer.op(IAND);
+        writer.op(IOR);
+        writer.local(ISTORE, FLAGS);
+    }
+
+    private void writeWordOperation(int high, int low, int delta) {
+        if (high == SP) {
+            writer.local(ILOAD, SP);
+        } else {
+            writeRegisterPair(high, low);
+        }
+        writer.pushInt(delta);
+        writer.op(IADD);
+        writer.local(ISTORE, FIRST);
+        writer.local(ILOAD, FLAGS);
+        writer.local(ILOAD, FIRST);
+        writer.invoke(INVOKESTATIC, COMPILER, "wordCarry", "(II)I");
+        writer.local(ISTORE, FLAGS);
+        writeSetWord(high, low);
+    }
+
+    private void writeSetWord(int high, int low) {
+        if (high == SP) {
+            writer.local(ILOAD, FIRST);
+            writer.pushInt(0xFFFF);
+            writer.op(IAND);
+            writer.local(ISTORE, SP);
+        } else {
+            writeSetRegisterPair(high, low, FIRST);
+        }
+    }
+
+    private void writeCommand(int code, int address, int next, int count, boolean flagsUsed) {
+        int arg = CommandsTable.getArgument(microprocessor, address, CommandsTable.getCommand(code).getSize());
+
+        if (code >= Intel8080CommandsCodes.MOV_B_B && code <= Intel8080CommandsCodes.MOV_A_A) {
+            int destination = (code >> 3) & 7;
+            int source = code & 7;
+            if (destination == 6) {
+                writeStoreTarget();
+                writeRegisterPair(H, L);
+                writer.local(ILOAD, REGISTERS[source]);
+                writeStore();
+                writeModifiedCodeCheck(next, count);
+            } else {
+                writeOperand(source);
+                writer.local(ISTORE, REGISTERS[destination]);
+            }
+            return;
+        }
+        if (code >= Intel8080CommandsCodes.ADD_B && code <= Intel8080CommandsCodes.CMP_A) {
+            writeOperand(code & 7);
+            writer.local(ISTORE, SECOND);
+            writeArithmetic((code >> 3) & 7, flagsUsed);
+            return;
+        }
+        if ((code & 0b11000111) == 0b11000110) {
+            // ADI, ACI, SUI, SBI, ANI, XRI, ORI, CPI
+            writer.pushInt(arg);
+            writer.local(ISTORE, SECOND);
+            writeArithmetic((code >> 3) & 7, flagsUsed);
+            return;
+        }
+        if ((code & 0b11000111) == 0b00000110) {
+            // MVI
+            int destination = (code >> 3) & 7;
+            if (destination == 6) {
+                writeStoreTarget();
+                writeRegisterPair(H, L);
+                writer.pushInt(arg);
+                writeStore();
+                writeModifiedCodeCheck(next, count);
+            } else {
+                writer.pushInt(arg);
+                writer.local(ISTORE, REGISTERS[destination]);
+            }
+            return;
+        }
+        if (isIncrement(code) || isDecrement(code)) {
+            int register = (code >> 3) & 7;
+            if (register == 6) {
+                writeRegisterPair(H, L);
+                writer.local(ISTORE, SECOND);
+                writer.local(ILOAD, SECOND);
+                writeReadMemory();
+            } else {
+                writer.local(ILOAD, REGISTERS[register]);
+            }
+            writer.pushInt(isIncrement(code) ? 1 : -1);
+            writer.op(IADD);
+            writer.local(ISTORE, FIRST);
+            if (flagsUsed) {
+                writer.local(ILOAD, FLAGS);
+                writer.local(ILOAD, FIRST);
+                writer.invoke(INVOKESTATIC, COMPILER,
+                        isIncrement(code) ? "incrementFlags" : "decrementFlags", "(II)I");
+                writer.local(ISTORE, FLAGS);
+            }
+            if (register == 6) {
+                writeStoreTarget();
+                writer.local(ILOAD, SECOND);
+                writer.local(ILOAD, FIRST);
+                writer.pushInt(0xFF);
+                writer.op(IAND);
+                writeStore();
+                writeModifiedCodeCheck(next, count);
+            } else {
+                writer.local(ILOAD, FIRST);
+                writer.pushInt(0xFF);
+                writer.op(IAND);
+                writer.local(ISTORE, REGISTERS[register]);
+            }
+            return;
+        }
+
+        switch (code) {
+            case Intel8080CommandsCodes.LXI_B_data:
+            case Intel8080CommandsCodes.LXI_D_data:
+            case Intel8080CommandsCodes.LXI_H_data:
+            case Intel8080CommandsCodes.LXI_SP_data: {
+                int pair = code >> 4;
+                writer.pushInt(arg);
+                writer.local(ISTORE, FIRST);
+                writeSetWord(pair == 3 ? SP : REGISTERS[pair * 2], pair == 3 ? SP : REGISTERS[pair * 2 + 1]);
+                return;
+            }
+            case Intel8080CommandsCodes.INX_B:
+            case Intel8080CommandsCodes.INX_D:
+            case Intel8080CommandsCodes.INX_H:
+            case Intel8080CommandsCodes.INX_SP:
+            case Intel8080CommandsCodes.DCX_B:
+            case Intel8080CommandsCodes.DCX_D:
+            case Intel8080CommandsCodes.DCX_H:
+            case Intel8080CommandsCodes.DCX_SP: {
+                int pair = code >> 4;
+                int delta = (code & 0x08) == 0 ? 1 : -1;
+                writeWordOperation(pair == 3 ? SP : REGISTERS[pair * 2], pair == 3 ? SP : REGISTERS[pair * 2 + 1], delta);
+                return;
+            }
+            case Intel8080CommandsCodes.DAD_B:
+            case Intel8080CommandsCodes.DAD_D:
+            case Intel8080CommandsCodes.DAD_H:
+            case Intel8080CommandsCodes.DAD_SP: {
+                int pair = code >> 4;
+                writeRegisterPair(H, L);
+                if (pair == 3) {
+                    writer.local(ILOAD, SP);
+                } else {
+                    writeRegisterPair(REGISTERS[pair * 2], REGISTERS[pair * 2 + 1]);
+                }
+                writer.op(IADD);
+                writer.local(ISTORE, FIRST);
+                writer.local(ILOAD, FLAGS);
+                writer.local(ILOAD, FIRST);
+                writer.invoke(INVOKESTATIC, COMPILER, "wordCarry", "(II)I");
+                writer.local(ISTORE, FLAGS);
+                writeSetWord(H, L);
+                return;
+            }
+            case Intel8080CommandsCodes.LDA: {
+                writeReadMemoryAt(arg);
+                writer.local(ISTORE, A);
+                return;
+            }
+            case Intel8080CommandsCodes.STA: {
+                writeStoreTarget();
+                writer.pushInt(arg);
+                writer.local(ILOAD, A);
+                writeStore();
+                writeModifiedCodeCheck(next, count);
+                return;
+            }
+            case Intel8080CommandsCodes.LHLD: {
+                writeReadMemoryAt(arg);
+                writer.local(ISTORE, L);
+                writeReadMemoryAt((arg + 1) & 0xFFFF);
+                writer.local(ISTORE, H);
+                return;
+            }
+            case Intel8080CommandsCodes.SHLD: {
+                writeStoreTarget();
+                writer.pushInt(arg);
+                writer.local(ILOAD, L);
+                writeStore();
+                writer.local(ISTORE, MODIFIED);
+                writeStoreTarget();
+                writer.pushInt((arg + 1) & 0xFFFF);
+                writer.local(ILOAD, H);
+                writeStore();
+                writer.local(ILOAD, MODIFIED);
+                writer.op(IOR);
+                writeModifiedCodeCheck(next, count);
+                return;
+            }
+            case Intel8080CommandsCodes.LDAX_B:
+            case Intel8080CommandsCodes.LDAX_D: {
+                int pair = code >> 4;
+                writeRegisterPair(REGISTERS[pair * 2], REGISTERS[pair * 2 + 1]);
+                writeReadMemory();
+                writer.local(ISTORE, A);
+                return;
+            }
+            case Intel8080CommandsCodes.STAX_B:
+            case Intel8080CommandsCodes.STAX_D: {
+                int pair = code >> 4;
+                writeStoreTarget();
+                writeRegisterPair(REGISTERS[pair * 2], REGISTERS[pair * 2 + 1]);
+                writer.local(ILOAD, A);
+                writeStore();
+                writeModifiedCodeCheck(next, count);
+                return;
+            }
+            case Intel8080CommandsCodes.XCHG: {
+                writer.local(ILOAD, H);
+                writer.local(ILOAD, D);
+                writer.local(ISTORE, H);
+                writer.local(ISTORE, D);
+                writer.local(ILOAD, L);
+                writer.local(ILOAD, E);
+                writer.local(ISTORE, L);
+                writer.local(ISTORE, E);
+                return;
+            }
+            case Intel8080CommandsCodes.XTHL: {
+                writer.local(ILOAD, H);
+                writer.local(ISTORE, FIRST);
+                writer.local(ILOAD, L);
+                writer.local(ISTORE, SECOND);
+                writePop(H, L);
+                writePush(FIRST, SECOND);
+                writeModifiedCodeCheck(next, count);
+                return;
+            }
+            case Intel8080CommandsCodes.SPHL: {
+                writeRegisterPair(H, L);
+                writer.local(ISTORE, SP);
+                return;
+            }
+            case Intel8080CommandsCodes.PUSH_B:
+            case Intel8080CommandsCodes.PUSH_D:
+            case Intel8080CommandsCodes.PUSH_H:
+            case Intel8080CommandsCodes.PUSH_PSW: {
+                int pair = (code >> 4) & 3;
+                if (pair == 3) {
+                    writePush(A, FLAGS);
+                } else {
+                    writePush(REGISTERS[pair * 2], REGISTERS[pair * 2 + 1]);
+                }
+                writeModifiedCodeCheck(next, count);
+                return;
+            }
+            case Intel8080CommandsCodes.POP_B:
+            case Intel8080CommandsCodes.POP_D:
+            case Intel8080CommandsCodes.POP_H:
+            case Intel8080CommandsCodes.POP_PSW: {
+                int pair = (code >> 4) & 3;
+                if (pair == 3) {
+                    writePop(A, FLAGS);
+                } else {
+                    writePop(REGISTERS[pair * 2], REGISTERS[pair * 2 + 1]);
+                }
+                return;
+            }
+            case Intel8080CommandsCodes.CMA: {
+                writer.pushInt(255);
+                writer.local(ILOAD, A);
+                writer.op(ISUB);
+                writer.local(ISTORE, A);
+                return;
+            }
+            case Intel8080CommandsCodes.STC: {
+                writer.local(ILOAD, FLAGS);
+                writer.pushInt(FLAG_C);
+                writer.op(IOR);
+                writer.local(ISTORE, FLAGS);
+                return;
+            }
+            case Intel8080CommandsCodes.CMC: {
+                writer.local(ILOAD, FLAGS);
+                writer.pushInt(FLAG_C);
+                writer.op(IXOR);
+                writer.local(ISTORE, FLAGS);
+                return;
+            }
+            case Intel8080CommandsCodes.RLC: {
+                writer.local(ILOAD, A);
+                writer.pushInt(1);
+                writer.op(ISHL);
+                writer.local(ISTORE, FIRST);
+                writeSetCarryFrom(FIRST, 1, 8);
+                writer.local(ILOAD, FIRST);
+                writer.local(ILOAD, FIRST);
+                writer.pushInt(8);
+                writer.op(ISHR);
+                writer.op(IOR);
+                writer.pushInt(0xFF);
+                writer.op(IAND);
+                writer.local(ISTORE, A);
+                return;
+            }
+            case Intel8080CommandsCodes.RRC: {
+                writer.local(ILOAD, A);
+                writer.local(ISTORE, FIRST);
+                writeSetCarryFrom(FIRST, 1, 0);
+                writer.local(ILOAD, FIRST);
+                writer.pushInt(1);
+                writer.op(ISHR);
+                writer.local(ILOAD, FIRST);
+                writer.pushInt(1);
+                writer.op(IAND);
+                writer.pushInt(7);
+                writer.op(ISHL);
+                writer.op(IOR);
+                writer.local(ISTORE, A);
+                return;
+            }
+            case Intel8080CommandsCodes.RAL: {
+                writer.local(ILOAD, A);
+                writer.pushInt(1);
+                writer.op(ISHL);
+                writeCarry();
+                writer.op(IOR);
+                writer.local(ISTORE, FIRST);
+                writeSetCarryFrom(FIRST, 1, 8);
+                writer.local(ILOAD, FIRST);
+                writer.pushInt(0xFF);
+                writer.op(IAND);
+                writer.local(ISTORE, A);
+                return;
+            }
+            case Intel8080CommandsCodes.RAR: {
+                writer.local(ILOAD, A);
+                writeCarry();
+                writer.pushInt(8);
+                writer.op(ISHL);
+                writer.op(IOR);
+                writer.local(ISTORE, FIRST);
+                writeSetCarryFrom(FIRST, 1, 0);
+                writer.local(ILOAD, FIRST);
+                writer.pushInt(1);
+                writer.op(ISHR);
+                writer.local(ISTORE, A);
+                return;
+            }
+            case Intel8080CommandsCodes.JMP: {
+                writeExit(arg, count);
+                return;
+            }
+            case Intel8080CommandsCodes.PCHL: {
+                writeRegisterPair(H, L);
+                writer.local(ISTORE, PC);
+                writeExecuted(count);
+                writer.jump(GOTO, exit);
+                return;
+            }
+            case Intel8080CommandsCodes.CALL: {
+                writeCall(arg, next, count);
+                return;
+            }
+            case Intel8080CommandsCodes.RET: {
+                writeReturn(count);
+                return;
+            }
+            default: {
+                int condition = getCondition(code);
+                if (condition == 0) {
+                    // NOP и коды без команды
+                    return;
+                }
+                ClassFileWriter.Label notTaken = writer.newLabel();
+                writeFlagTest(condition & 0xFF, condition > 0xFF, notTaken);
+                if (CyclesTable.isConditionalCallOrReturn(code)) {
+                    writer.increment(CYCLES, CyclesTable.BRANCH_TAKEN_CYCLES);
+                }
+                switch (code & 0b11000111) {
+                    case 0b11000010: {
+                        writeExit(arg, count);
+                        break;
+                    }
+                    case 0b11000100: {
+                        writeCall(arg, next, count);
+                        break;
+                    }
+                    default: {
+                        writeReturn(count);
+                        break;
+                    }
+                }
+                writer.mark(notTaken);
+                writeExit(next, count);
+            }
+        }
+    }
+
+    private void writeCall(int address, int next, int count) {
+        writer.pushInt(next >> 8);
+        writer.local(ISTORE, FIRST);
+        writer.pushInt(next & 0xFF);
+        writer.local(ISTORE, SECOND);
+        writePush(FIRST, SECOND);
+        // Если адрес возврата записан поверх оттранслированного кода, повторный проход
+        // участка без выхода из метода недопустим.
+        ClassFileWriter.Label notModified = writer.newLabel();
+        writer.jump(IFEQ, notModified);
+        writeExit(address, count, false);
+        writer.mark(notModified);
+        writeExit(address, count);
+    }
+
+    private void writeReturn(int count) {
+        writePop(FIRST, SECOND);
+        writeRegisterPair(FIRST, SECOND);
+        writer.local(ISTORE, PC);
+        // Стек уровней изменяется только при возврате из обработчика прерывания.
+        ClassFileWriter.Label mainProgram = writer.newLabel();
+        writer.local(ALOAD, CPU);
+        writer.field(GETFIELD, MICROPROCESSOR, "executionLevels", "L" + EXECUTION_LEVELS + ";");
+        writer.field(GETFIELD, EXECUTION_LEVELS, "depth", "I");
+        writer.jump(IFEQ, mainProgram);
+        writer.local(ALOAD, CPU);
+        writer.field(GETFIELD, MICROPROCESSOR, "executionLevels", "L" + EXECUTION_LEVELS + ";");
+        writer.local(ILOAD, SP);
+        writer.invoke(INVOKEVIRTUAL, EXECUTION_LEVELS, "leave", "(I)V");
+        writer.mark(mainProgram);
+        writeExecuted(count);
+        writer.jump(GOTO, exit);
+    }
+
+    /**
+     * Учёт команд и тактов, выполненных с начала прохода участка, перед выходом из участка
+     * или переходом на его начало.
+     * @param count количество выполненных команд.
+     */
+    private void writeExecuted(int count) {
+        writer.increment(COUNT, count);
+        int cycles = executedCycles[count - 1];
+        if (cycles <= Byte.MAX_VALUE) {
+            writer.increment(CYCLES, cycles);
+        } else {
+            writer.local(ILOAD, CYCLES);
+            writer.pushInt(cycles);
+            writer.op(IADD);
+            writer.local(ISTORE, CYCLES);
+        }
+    }
+
+    /**
+     * Метод для получения условия условной команды.
+     * @return маска проверяемого флага; значение больше 0xFF означает переход
+     * при установленном флаге; 0 - команда не является условной.
+     */
+    private static int getCondition(int code) {
+        switch (code) {
+            case Intel8080CommandsCodes.JNZ:
+            case Intel8080CommandsCodes.CNZ:
+            case Intel8080CommandsCodes.RNZ:
+                return FlagsTable.FLAG_Z;
+            case Intel8080CommandsCodes.JZ:
+            case Intel8080CommandsCodes.CZ:
+            case Intel8080CommandsCodes.RZ:
+                return 0x100 | FlagsTable.FLAG_Z;
+            case Intel8080CommandsCodes.JNC:
+            case Intel8080CommandsCodes.CNC:
+            case Intel8080CommandsCodes.RNC:
+                return FlagsTable.FLAG_C;
+            case Intel8080CommandsCodes.JC:
+            case Intel8080CommandsCodes.CC:
+            case Intel8080CommandsCodes.RC:
+                return 0x100 | FlagsTable.FLAG_C;
+            case Intel8080CommandsCodes.JPO:
+            case Intel8080CommandsCodes.CPO:
+            case Intel8080CommandsCodes.RPO:
+                return FlagsTable.FLAG_P;
+            case Intel8080CommandsCodes.JPE:
+            case Intel8080CommandsCodes.CPE:
+            case Intel8080CommandsCodes.RPE:
+                return 0x100 | FlagsTable.FLAG_P;
+            case Intel8080CommandsCodes.JP:
+            case Intel8080CommandsCodes.CP:
+            case Intel8080CommandsCodes.RP:
+                return FlagsTable.FLAG_S;
+            case Intel8080CommandsCodes.JM:
+            case Intel8080CommandsCodes.CM:
+            case Intel8080CommandsCodes.RM:
+                return 0x100 | FlagsTable.FLAG_S;
+            default:
+                return 0;
+        }
+    }
+}
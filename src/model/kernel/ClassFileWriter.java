@@ -0,0 +1,320 @@
+package model.kernel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Минимальный генератор class-файлов JVM, достаточный для трансляции линейных участков
+ * программы в байт-код. Формирует класс с конструктором без параметров и одним методом.
+ * Используется версия class-файла 49, для которой не требуется атрибут StackMapTable:
+ * проверка байт-кода выполняется по выводу типов.
+ */
+class ClassFileWriter {
+
+    static final int ICONST_0 = 0x03;
+    static final int BIPUSH = 0x10;
+    static final int SIPUSH = 0x11;
+    static final int LDC_W = 0x13;
+    static final int ILOAD = 0x15;
+    static final int ALOAD = 0x19;
+    static final int BALOAD = 0x33;
+    static final int ISTORE = 0x36;
+    static final int ASTORE = 0x3A;
+    static final int DUP = 0x59;
+    static final int SWAP = 0x5F;
+    static final int IADD = 0x60;
+    static final int LADD = 0x61;
+    static final int ISUB = 0x64;
+    static final int ISHL = 0x78;
+    static final int ISHR = 0x7A;
+    static final int IAND = 0x7E;
+    static final int IOR = 0x80;
+    static final int IXOR = 0x82;
+    static final int IINC = 0x84;
+    static final int I2L = 0x85;
+    static final int IFEQ = 0x99;
+    static final int IFNE = 0x9A;
+    static final int IF_ICMPLE = 0xA4;
+    static final int GOTO = 0xA7;
+    static final int IRETURN = 0xAC;
+    static final int RETURN = 0xB1;
+    static final int GETFIELD = 0xB4;
+    static final int PUTFIELD = 0xB5;
+    static final int INVOKEVIRTUAL = 0xB6;
+    static final int INVOKESPECIAL = 0xB7;
+    static final int INVOKESTATIC = 0xB8;
+
+    private static final int CLASS_FILE_VERSION = 49;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    /**
+     * Метка в байт-коде метода. Переходы на метку, установленную позже,
+     * дописываются при её установке.
+     */
+    static class Label {
+        private int position = -1;
+        private final ArrayList<int[]> jumps = new ArrayList<>();
+    }
+
+    private final ByteArrayOutputStream constants = new ByteArrayOutputStream();
+    private final HashMap<String, Integer> constantIndexes = new HashMap<>();
+    private int constantsCount = 1;
+
+    private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+    private final ArrayList<Label> labels = new ArrayList<>();
+
+    /**
+     * Метод для записи кода операции.
+     * @param opcode код операции JVM.
+     */
+    void op(int opcode) {
+        code.write(opcode);
+    }
+
+    /**
+     * Метод для записи загрузки целой константы в стек.
+     * @param value значение константы.
+     */
+    void pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            code.write(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            code.write(BIPUSH);
+            code.write(value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            code.write(SIPUSH);
+            writeShort(value);
+        } else {
+            code.write(LDC_W);
+            writeShort(addConstant("I" + value, CONSTANT_INTEGER, value));
+        }
+    }
+
+    /**
+     * Метод для записи команды работы с локальной переменной (ILOAD, ISTORE, ALOAD, ASTORE).
+     * @param opcode код операции.
+     * @param index номер локальной переменной (0 - 255).
+     */
+    void local(int opcode, int index) {
+        code.write(opcode);
+        code.write(index);
+    }
+
+    /**
+     * Метод для записи увеличения локальной переменной на константу.
+     * @param index номер локальной переменной (0 - 255).
+     * @param value константа (от -128 до 127).
+     */
+    void increment(int index, int value) {
+        code.write(IINC);
+        code.write(index);
+        code.write(value);
+    }
+
+    /**
+     * Метод для записи обращения к полю (GETFIELD, PUTFIELD).
+     */
+    void field(int opcode, String owner, String name, String descriptor) {
+        code.write(opcode);
+        writeShort(addMemberReference(CONSTANT_FIELDREF, owner, name, descriptor));
+    }
+
+    /**
+     * Метод для записи вызова метода (INVOKEVIRTUAL, INVOKESPECIAL, INVOKESTATIC).
+     */
+    void invoke(int opcode, String owner, String name, String descriptor) {
+        code.write(opcode);
+        writeShort(addMemberReference(CONSTANT_METHODREF, owner, name, descriptor));
+    }
+
+    /**
+     * Метод для записи условного или безусловного перехода на метку.
+     * @param opcode код операции перехода.
+     * @param label метка перехода.
+     */
+    void jump(int opcode, Label label) {
+        int position = code.size();
+        code.write(opcode);
+        if (label.position >= 0) {
+            writeShort(label.position - position);
+        } else {
+            label.jumps.add(new int[] {position, code.size()});
+            writeShort(0);
+        }
+    }
+
+    /**
+     * Метод для установки метки на текущую позицию байт-кода.
+     * @param label устанавливаемая метка.
+     */
+    void mark(Label label) {
+        label.position = code.size();
+    }
+
+    /**
+     * Метод для получения class-файла.
+     * @param className внутреннее имя класса (через '/').
+     * @param superName внутреннее имя суперкласса.
+     * @param methodName имя метода.
+     * @param methodDescriptor дескриптор метода.
+     * @param maxStack максимальная глубина стека операндов метода.
+     * @param maxLocals количество локальных переменных метода.
+     * @return содержимое class-файла.
+     */
+    byte[] toByteArray(String className, String superName, String methodName,
+                       String methodDescriptor, int maxStack, int maxLocals) {
+        byte[] methodCode = code.toByteArray();
+        patchJumps(methodCode);
+        int thisClass = addClass(className);
+        int superClass = addClass(superName);
+        int superConstructor = addMemberReference(CONSTANT_METHODREF, superName, "<init>", "()V");
+        int constructorName = addUtf8("<init>");
+        int constructorDescriptor = addUtf8("()V");
+        int name = addUtf8(methodName);
+        int descriptor = addUtf8(methodDescriptor);
+        int codeAttribute = addUtf8("Code");
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_FILE_VERSION);
+            out.writeShort(constantsCount);
+            constants.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(2);
+
+            out.writeShort(ACC_PUBLIC);
+            out.writeShort(constructorName);
+            out.writeShort(constructorDescriptor);
+            out.writeShort(1);
+            byte[] constructorCode = {0x2A, (byte) INVOKESPECIAL,
+                    (byte) (superConstructor >> 8), (byte) superConstructor, (byte) RETURN};
+            writeCodeAttribute(out, codeAttribute, constructorCode, 1, 1);
+
+            out.writeShort(ACC_PUBLIC);
+            out.writeShort(name);
+            out.writeShort(descriptor);
+            out.writeShort(1);
+            writeCodeAttribute(out, codeAttribute, methodCode, maxStack, maxLocals);
+
+            out.writeShort(0);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void writeCodeAttribute(DataOutputStream out, int codeAttribute, byte[] bytes,
+                                    int maxStack, int maxLocals) throws IOException {
+        out.writeShort(codeAttribute);
+        out.writeInt(12 + bytes.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+
+    /**
+     * Метод для создания метки.
+     * @return новая метка.
+     */
+    Label newLabel() {
+        Label label = new Label();
+        labels.add(label);
+        return label;
+    }
+
+    private void patchJumps(byte[] bytes) {
+        for (Label label : labels) {
+            if (label.position < 0 && !label.jumps.isEmpty()) {
+                throw new IllegalStateException("Метка не установлена");
+            }
+            for (int[] jump : label.jumps) {
+                int offset = label.position - jump[0];
+                bytes[jump[1]] = (byte) (offset >> 8);
+                bytes[jump[1] + 1] = (byte) offset;
+            }
+        }
+    }
+
+    private void writeShort(int value) {
+        code.write(value >> 8);
+        code.write(value);
+    }
+
+    private int addUtf8(String value) {
+        Integer index = constantIndexes.get("U" + value);
+        if (index != null) {
+            return index;
+        }
+        try {
+            DataOutputStream out = new DataOutputStream(constants);
+            out.writeByte(CONSTANT_UTF8);
+            out.writeUTF(value);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        constantIndexes.put("U" + value, constantsCount);
+        return constantsCount++;
+    }
+
+    private int addClass(String name) {
+        int nameIndex = addUtf8(name);
+        return addConstant("C" + name, CONSTANT_CLASS, nameIndex);
+    }
+
+    private int addMemberReference(int tag, String owner, String name, String descriptor) {
+        String key = tag + owner + "." + name + descriptor;
+        Integer index = constantIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        int ownerIndex = addClass(owner);
+        int nameIndex = addUtf8(name);
+        int descriptorIndex = addUtf8(descriptor);
+        int nameAndType = addConstant("N" + name + descriptor, CONSTANT_NAME_AND_TYPE,
+                (nameIndex << 16) | descriptorIndex);
+        return addConstant(key, tag, (ownerIndex << 16) | nameAndType);
+    }
+
+    private int addConstant(String key, int tag, int value) {
+        Integer index = constantIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        constants.write(tag);
+        if (tag == CONSTANT_CLASS) {
+            constants.write(value >> 8);
+            constants.write(value);
+        } else {
+            constants.write(value >> 24);
+            constants.write(value >> 16);
+            constants.write(value >> 8);
+            constants.write(value);
+        }
+        constantIndexes.put(key, constantsCount);
+        return constantsCount++;
+    }
+}
@@ -0,0 +1,26 @@
+package model.kernel;
+
+/**
+ * Линейный участок программы, оттранслированный в байт-код JVM.
+ * Наследники этого класса создаются {@link BytecodeCompiler} во время выполнения
+ * программы в виде скрытых классов.
+ */
+abstract class CompiledBlock {
+
+    /**
+     * Количество байтов памяти, занимаемых командами участка.
+     */
+    int length;
+
+    /**
+     * Метод для выполнения участка. Значения регистров читаются из микропроцессора
+     * и записываются в него по окончании участка, включая программный счётчик.
+     * Если участок заканчивается переходом на своё начало (цикл), он выполняется повторно
+     * без выхода из метода, пока количество выполненных команд не превысит ограничение.
+     * @param microprocessor микропроцессор, выполняющий программу.
+     * @param limit максимальное количество выполняемых команд. Участок выполняется
+     * хотя бы один раз независимо от ограничения.
+     * @return количество выполненных команд.
+     */
+    abstract int execute(FastMicroprocessor microprocessor, int limit);
+}
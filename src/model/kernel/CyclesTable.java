@@ -0,0 +1,159 @@
+package model.kernel;
+
+import model.kernel.cmd.CMD_NULL;
+import model.translator.CommandsTable;
+import model.translator.Intel8080CommandsCodes;
+
+/**
+ * Класс, предоставляющий длительность выполнения команд микропроцессора Intel 8080
+ * в тактах (T-states) согласно документации Intel.
+ * Условные вызовы (Ccc) и условные возвраты (Rcc) выполняются дольше, если условие
+ * выполнено: в таблице указана длительность при невыполненном условии, а разница
+ * равна {@link #BRANCH_TAKEN_CYCLES}. Коды без команды выполняются как NOP.
+ */
+public class CyclesTable {
+
+    /**
+     * Дополнительные такты условного вызова или условного возврата при выполненном условии
+     * (11 и 17 тактов для Ccc, 5 и 11 тактов для Rcc).
+     */
+    public static final int BRANCH_TAKEN_CYCLES = 6;
+
+    /**
+     * Длительность обработки прерывания (команда RST).
+     */
+    public static final int INTERRUPT_CYCLES = 11;
+
+    /**
+     * Наибольшая длительность команды (XTHL).
+     */
+    public static final int MAX_COMMAND_CYCLES = 18;
+
+    private static final int COMMANDS_COUNT = 256;
+
+    private static final int[] CYCLES = new int[COMMANDS_COUNT];
+
+    static {
+        for (int code = 0; code < COMMANDS_COUNT; ++code) {
+            CYCLES[code] = CommandsTable.getCommand(code) instanceof CMD_NULL ? 4 : computeCycles(code);
+        }
+    }
+
+    /**
+     * Метод для получения длительности выполнения команды.
+     * @param code код команды (0 - 255).
+     * @return количество тактов (для Ccc и Rcc - при невыполненном условии).
+     */
+    public static int getCycles(int code) {
+        return CYCLES[code];
+    }
+
+    /**
+     * Метод для проверки, зависит ли длительность команды от выполнения условия.
+     * @param code код команды (0 - 255).
+     * @return true для команд Ccc и Rcc.
+     */
+    public static boolean isConditionalCallOrReturn(int code) {
+        return (code & 0b11000111) == 0b11000100 || (code & 0b11000111) == 0b11000000;
+    }
+
+    private static int computeCycles(int code) {
+        int destination = (code >> 3) & 7;
+        int source = code & 7;
+        switch (code) {
+            case Intel8080CommandsCodes.HLT:
+                return 7;
+            case Intel8080CommandsCodes.SHLD:
+            case Intel8080CommandsCodes.LHLD:
+                return 16;
+            case Intel8080CommandsCodes.STA:
+            case Intel8080CommandsCodes.LDA:
+                return 13;
+            case Intel8080CommandsCodes.STAX_B:
+            case Intel8080CommandsCodes.STAX_D:
+            case Intel8080CommandsCodes.LDAX_B:
+            case Intel8080CommandsCodes.LDAX_D:
+                return 7;
+            case Intel8080CommandsCodes.JMP:
+            case Intel8080CommandsCodes.RET:
+            case Intel8080CommandsCodes.IN:
+            case Intel8080CommandsCodes.OUT:
+                return 10;
+            case Intel8080CommandsCodes.CALL:
+                return 17;
+            case Intel8080CommandsCodes.XTHL:
+                return 18;
+            case Intel8080CommandsCodes.PCHL:
+            case Intel8080CommandsCodes.SPHL:
+                return 5;
+            case Intel8080CommandsCodes.XCHG:
+                return 4;
+        }
+        switch (code & 0b11000000) {
+            case 0b01000000: {
+                // MOV
+                return source == 6 || destination == 6 ? 7 : 5;
+            }
+            case 0b10000000: {
+                // ADD, ADC, SUB, SBB, ANA, XRA, ORA, CMP
+                return source == 6 ? 7 : 4;
+            }
+            case 0b00000000: {
+                switch (source) {
+                    case 0b001: {
+                        // LXI или DAD
+                        return 10;
+                    }
+                    case 0b011: {
+                        // INX или DCX
+                        return 5;
+                    }
+                    case 0b100:
+                    case 0b101: {
+                        // INR или DCR
+                        return destination == 6 ? 10 : 5;
+                    }
+                    case 0b110: {
+                        // MVI
+                        return destination == 6 ? 10 : 7;
+                    }
+                    default: {
+                        // NOP, RLC, RRC, RAL, RAR, CMA, STC, CMC
+                        return 4;
+                    }
+                }
+            }
+            default: {
+                switch (source) {
+                    case 0b000: {
+                        // Rcc
+                        return 5;
+                    }
+                    case 0b001: {
+                        // POP
+                        return 10;
+                    }
+                    case 0b010: {
+                        // Jcc
+                        return 10;
+                    }
+                    case 0b100: {
+                        // Ccc
+                        return 11;
+                    }
+                    case 0b101: {
+                        // PUSH
+                        return 11;
+                    }
+                    case 0b110: {
+                        // ADI, ACI, SUI, SBI, ANI, XRI, ORI, CPI
+                        return 7;
+                    }
+                    default: {
+                        return 4;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package model.kernel;
+
+import java.util.Arrays;
+
+/**
+ * Кэш декодированных команд. Для каждого адреса памяти хранит код команды и её аргумент,
+ * прочитанные при первом выполнении команды по этому адресу. Запись в ячейку памяти
+ * делает недействительными все команды, в которые может входить эта ячейка
+ * (команда занимает до трёх байтов), поэтому самомодифицирующиеся программы выполняются
+ * правильно.
+ * Кэш разбит на страницы по 256 записей, которые создаются при первом сохранении
+ * команды со страницы, поэтому память расходуется только на участки, где есть
+ * выполняемый код.
+ */
+class DecodedCommandsCache {
+
+    private static final int DECODED = 1 << 24;
+    private static final int MAX_COMMAND_SIZE = 3;
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private final int size;
+    private final int[][] pages;
+
+    DecodedCommandsCache(int size) {
+        this.size = size;
+        this.pages = new int[(size + PAGE_SIZE - 1) >> PAGE_BITS][];
+    }
+
+    /**
+     * Метод для получения декодированной команды.
+     * @param address адрес команды.
+     * @return запись кэша или -1, если команда по этому адресу ещё не декодирована.
+     */
+    int get(int address) {
+        int[] page = pages[address >> PAGE_BITS];
+        if (page == null) {
+            return -1;
+        }
+        int entry = page[address & (PAGE_SIZE - 1)];
+        return (entry & DECODED) != 0 ? entry : -1;
+    }
+
+    /**
+     * Метод для сохранения декодированной команды.
+     * @param address адрес команды.
+     * @param code код команды.
+     * @param arg аргумент команды.
+     * @return запись кэша.
+     */
+    int put(int address, int code, int arg) {
+        int entry = DECODED | (code << 16) | arg;
+        int[] page = pages[address >> PAGE_BITS];
+        if (page == null) {
+            page = new int[PAGE_SIZE];
+            pages[address >> PAGE_BITS] = page;
+        }
+        page[address & (PAGE_SIZE - 1)] = entry;
+        return entry;
+    }
+
+    /**
+     * Метод для получения кода команды из записи кэша.
+     * @param entry запись кэша.
+     * @return код команды.
+     */
+    static int getCode(int entry) {
+        return (entry >> 16) & 0xFF;
+    }
+
+    /**
+     * Метод для получения аргумента команды из записи кэша.
+     * @param entry запись кэша.
+     * @return аргумент команды.
+     */
+    static int getArgument(int entry) {
+        return entry & 0xFFFF;
+    }
+
+    /**
+     * Метод для удаления из кэша команд, содержащих указанные ячейки памяти.
+     * @param address адрес первой изменённой ячейки.
+     * @param length количество изменённых ячеек.
+     */
+    void invalidate(int address, int length) {
+        if (length >= size - MAX_COMMAND_SIZE) {
+            clear();
+            return;
+        }
+        int first = address - (MAX_COMMAND_SIZE - 1);
+        int count = length + MAX_COMMAND_SIZE - 1;
+        for (int i = 0; i < count; ++i) {
+            int current = Math.floorMod(first + i, size);
+            int[] page = pages[current >> PAGE_BITS];
+            if (page != null) {
+                page[current & (PAGE_SIZE - 1)] = 0;
+            }
+        }
+    }
+
+    /**
+     * Метод для очистки кэша.
+     */
+    void clear() {
+        Arrays.fill(pages, null);
+    }
+}
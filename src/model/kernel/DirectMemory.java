@@ -0,0 +1,49 @@
+package model.kernel;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Память микропроцессора, размещённая вне кучи в прямом буфере {@link ByteBuffer}.
+ * Предназначена для одновременной работы большого количества эмуляторов:
+ * содержимое памяти не увеличивает размер кучи и не просматривается сборщиком мусора.
+ */
+public class DirectMemory implements IMemory {
+
+    private final ByteBuffer memory;
+
+    public DirectMemory(int size) {
+        this.memory = ByteBuffer.allocateDirect(size);
+    }
+
+    @Override
+    public int getSize() {
+        return memory.capacity();
+    }
+
+    @Override
+    public int getValue(int address) {
+        return memory.get(address) & 0xFF;
+    }
+
+    @Override
+    public void setValue(int address, int value) {
+        memory.put(address, (byte) value);
+    }
+
+    @Override
+    public void read(int address, byte[] buffer, int offset, int length) {
+        memory.get(address, buffer, offset, length);
+    }
+
+    @Override
+    public void write(int address, byte[] buffer, int offset, int length) {
+        memory.put(address, buffer, offset, length);
+    }
+
+    @Override
+    public void clear() {
+        for (int address = 0; address < memory.capacity(); ++address) {
+            memory.put(address, (byte) 0);
+        }
+    }
+}
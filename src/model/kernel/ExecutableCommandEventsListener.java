@@ -70,8 +70,18 @@ public class ExecutableCommandEventsListener implements IExecutableCommandEvents
     }
 
     @Override
-    public void requestOnCheckByteForSetFlags(int value) {
-        microprocessor.checkValueForSetFlags(value);
+    public void requestOnCheckByteForSetFlags(int value, int auxiliaryCarry) {
+        microprocessor.checkValueForSetFlags(value, auxiliaryCarry);
+    }
+
+    @Override
+    public void requestOnCheckByteForSetFlagsWithoutCarry(int value, int auxiliaryCarry) {
+        microprocessor.checkValueForSetFlagsWithoutCarry(value, auxiliaryCarry);
+    }
+
+    @Override
+    public void requestOnSetInterruptsEnabled(boolean enabled) {
+        microprocessor.setInterruptsEnabled(enabled);
     }
 
     @Override
@@ -0,0 +1,63 @@
+package model.kernel;
+
+/**
+ * Стек уровней приоритета исполняемой программы фиксированной глубины.
+ * При входе в прерывание вместе с уровнем запоминается значение указателя стека до
+ * помещения в стек адреса возврата. Команда возврата завершает обработку прерывания,
+ * только если после извлечения адреса указатель стека снова равен сохранённому значению,
+ * поэтому возвраты из подпрограмм (в том числе вызванных обработчиком) уровень не изменяют.
+ * Вложенное прерывание принимается только с более высоким приоритетом, поэтому глубина
+ * стека не превышает количества уровней.
+ */
+class ExecutionLevelStack {
+
+    /**
+     * Уровень приоритета основной программы.
+     */
+    static final int MAIN_PROGRAM_LEVEL = 8;
+
+    private final int[] levels = new int[MAIN_PROGRAM_LEVEL];
+    private final int[] stackPointers = new int[MAIN_PROGRAM_LEVEL];
+
+    /**
+     * Количество незавершённых прерываний. Команды возврата проверяют его перед вызовом
+     * {@link #leave(int)}, чтобы вне обработчиков прерываний не тратить время на вызов.
+     */
+    int depth;
+
+    /**
+     * Метод для входа в прерывание. Если стек заполнен, заменяется верхний уровень.
+     * @param level уровень приоритета обработчика прерывания.
+     * @param stackPointer указатель стека до помещения в стек адреса возврата.
+     */
+    void push(int level, int stackPointer) {
+        if (depth == levels.length) {
+            --depth;
+        }
+        levels[depth] = level;
+        stackPointers[depth] = stackPointer;
+        ++depth;
+    }
+
+    /**
+     * @return текущий уровень приоритета ({@link #MAIN_PROGRAM_LEVEL} для основной программы).
+     */
+    int peek() {
+        return depth == 0 ? MAIN_PROGRAM_LEVEL : levels[depth - 1];
+    }
+
+    /**
+     * Метод, вызываемый после выполнения команды возврата. Понижает уровень, если команда
+     * вернула управление из обработчика прерывания.
+     * @param stackPointer указатель стека после извлечения адреса возврата.
+     */
+    void leave(int stackPointer) {
+        if (depth != 0 && stackPointers[depth - 1] == stackPointer) {
+            --depth;
+        }
+    }
+
+    void clear() {
+        depth = 0;
+    }
+}
\ No newline at end of file
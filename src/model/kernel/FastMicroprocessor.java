@@ -0,0 +1,2026 @@
+package model.kernel;
+
+import model.emulator.IIntraProgramIOEventsListener;
+import model.kernel.cmd.ICommand;
+import model.translator.CommandsTable;
+import model.translator.Intel8080CommandsCodes;
+
+import java.util.Arrays;
+
+/**
+ * Высокопроизводительная реализация микропроцессора Intel 8080.
+ * Регистры хранятся в отдельных полях, память - в одном массиве байтов, а выборка, декодирование и
+ * выполнение команд происходит в одном методе {@link #execute(int)} без обращения к
+ * классам-командам. Часто выполняемые линейные участки программы транслируются
+ * в байт-код JVM ({@link BytecodeCompiler}). Поведение полностью совпадает с {@link Microprocessor}.
+ */
+public class FastMicroprocessor implements IMicroprocessor {
+
+    private static final int FLAG_S = FlagsTable.FLAG_S;
+    private static final int FLAG_Z = FlagsTable.FLAG_Z;
+    private static final int FLAG_AC = FlagsTable.FLAG_AC;
+    private static final int FLAG_P = FlagsTable.FLAG_P;
+    private static final int FLAG_C = FlagsTable.FLAG_C;
+
+    private static final int MAX_BLOCK_LENGTH = 64;
+
+    /**
+     * Количество выполнений линейного участка, после которого он транслируется в байт-код JVM.
+     */
+    private static final int COMPILATION_THRESHOLD = 1000;
+
+    /**
+     * Количество удалений оттранслированного участка из-за записи в его код, после которого
+     * участок по этому адресу больше не транслируется (программа изменяет собственный код
+     * в цикле, и повторная трансляция обходится дороже интерпретации).
+     */
+    private static final int MAX_INVALIDATIONS = 4;
+
+    /**
+     * Трансляция выполняется только для памяти в 64 Кбайт, в которой адреса
+     * приводятся к размеру памяти маской 0xFFFF.
+     */
+    private static final int COMPILED_MEMORY_SIZE = 65536;
+
+    /**
+     * Таблицы трансляции разбиты на страницы по 256 адресов, которые создаются при первом
+     * обращении к адресам страницы, поэтому память расходуется только на участки,
+     * где есть выполняемый код.
+     */
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    final byte[] memory;
+    private final int memorySize;
+
+    int a;
+    int b;
+    int c;
+    int d;
+    int e;
+    int h;
+    int l;
+    int pc;
+    int sp;
+    int flags;
+    long cycles;
+    private long instructions;
+
+    private final boolean lazyFlags;
+    private int lazyResult;
+    private int lazyAuxiliaryCarry;
+    private int lazyMask;
+
+    private boolean[] blockBoundaries;
+
+    private final Watchpoints watchpoints;
+
+    private BytecodeCompiler compiler;
+    private CompiledBlock[][] compiledBlocks;
+    private char[][] compiledCoverage;
+    private char[][] executionCounters;
+    private byte[][] invalidationCounters;
+
+    final ExecutionLevelStack executionLevels = new ExecutionLevelStack();
+    private boolean interruptsEnabled;
+
+    private IIntraProgramIOEventsListener ioSystem;
+
+    private boolean batchEnd;
+
+    private IExecutableCommandEventsListener commandsExecuteListener;
+
+    public FastMicroprocessor(int memorySize) {
+        this(memorySize, false);
+    }
+
+    /**
+     * Конструктор микропроцессора с возможностью отложенного вычисления флагов.
+     * В этом режиме арифметические и логические команды только запоминают результат,
+     * а флаги S, Z, P, C и AC вычисляются при первом обращении к ним (условные переходы,
+     * вызовы и возвраты, PUSH PSW, методы getValueFromFlag и getAllFlags).
+     * Результат выполнения программы от режима не зависит.
+     * @param memorySize размер памяти.
+     * @param lazyFlags true для отложенного вычисления флагов.
+     */
+    public FastMicroprocessor(int memorySize, boolean lazyFlags) {
+        this.commandsExecuteListener = new ExecutableCommandEventsListener(this);
+        this.memory = new byte[memorySize];
+        this.memorySize = memorySize;
+        this.lazyFlags = lazyFlags;
+        this.interruptsEnabled = true;
+        this.watchpoints = new Watchpoints(memorySize);
+        setCompilationEnabled(memorySize == COMPILED_MEMORY_SIZE);
+    }
+
+    /**
+     * Метод для включения и отключения трансляции часто выполняемых линейных участков
+     * программы в байт-код JVM. Трансляция возможна только для памяти размером 64 Кбайт.
+     * Выполнение по шагам, участки, содержащие команды IN, OUT, EI, DI и HLT, а также
+     * любые участки при установленных точках наблюдения всегда выполняются интерпретатором.
+     * @param enabled true для включения трансляции.
+     */
+    public void setCompilationEnabled(boolean enabled) {
+        if (enabled && memorySize == COMPILED_MEMORY_SIZE) {
+            if (compiler == null) {
+                compiler = new BytecodeCompiler(this);
+                int pages = memorySize >> PAGE_BITS;
+                compiledBlocks = new CompiledBlock[pages][];
+                compiledCoverage = new char[pages][];
+                executionCounters = new char[pages][];
+                invalidationCounters = new byte[pages][];
+            }
+        } else {
+            compiler = null;
+            compiledBlocks = null;
+            compiledCoverage = null;
+            executionCounters = null;
+            invalidationCounters = null;
+        }
+    }
+
+    @Override
+    public boolean step() {
+        return execute(1) == 0;
+    }
+
+    @Override
+    public int executeBlock() {
+        CompiledBlock block = getCompiledBlock(pc);
+        if (block != null) {
+            int executed = block.execute(this, 0);
+            instructions += executed;
+            return executed;
+        }
+        int executed = 0;
+        while (executed < MAX_BLOCK_LENGTH) {
+            int code = read(pc);
+            if (code == Intel8080CommandsCodes.HLT) {
+                break;
+            }
+            execute(1);
+            ++executed;
+            if (CommandsTable.isBlockEnd(code) || (blockBoundaries != null && blockBoundaries[pc])
+                    || watchpoints.isHit()) {
+                break;
+            }
+        }
+        return executed;
+    }
+
+    @Override
+    public void setBlockBoundary(int address, boolean boundary) {
+        if (blockBoundaries == null) {
+            blockBoundaries = new boolean[memorySize];
+        }
+        blockBoundaries[address] = boundary;
+        if (boundary) {
+            invalidateCompiledBlocks(address, 1, false);
+        }
+    }
+
+    /**
+     * Метод для получения оттранслированного участка, начинающегося по адресу.
+     * Подсчитывает выполнения участков и транслирует участок при достижении порога.
+     * @return оттранслированный участок или null, если участок выполняется интерпретатором.
+     */
+    private CompiledBlock getCompiledBlock(int address) {
+        if (compiledBlocks == null || watchpoints.isArmed()) {
+            return null;
+        }
+        int page = address >> PAGE_BITS;
+        int index = address & (PAGE_SIZE - 1);
+        CompiledBlock[] blocks = compiledBlocks[page];
+        if (blocks != null && blocks[index] != null) {
+            return blocks[index];
+        }
+        char[] counters = executionCounters[page];
+        if (counters == null) {
+            counters = new char[PAGE_SIZE];
+            executionCounters[page] = counters;
+        }
+        if (counters[index] >= COMPILATION_THRESHOLD || ++counters[index] != COMPILATION_THRESHOLD) {
+            return null;
+        }
+        CompiledBlock block = compiler.compile(address, blockBoundaries);
+        if (block != null) {
+            if (blocks == null) {
+                blocks = new CompiledBlock[PAGE_SIZE];
+                compiledBlocks[page] = blocks;
+            }
+            blocks[index] = block;
+            for (int i = address; i < address + block.length; ++i) {
+                char[] coverage = compiledCoverage[i >> PAGE_BITS];
+                if (coverage == null) {
+                    coverage = new char[PAGE_SIZE];
+                    compiledCoverage[i >> PAGE_BITS] = coverage;
+                }
+                ++coverage[i & (PAGE_SIZE - 1)];
+            }
+        }
+        return block;
+    }
+
+    /**
+     * Метод для удаления оттранслированных участков, занимающих указанную область памяти.
+     * Участки будут выполняться интерпретатором, пока снова не станут часто выполняемыми,
+     * а после {@link #MAX_INVALIDATIONS} удалений из-за записи в память - всегда.
+     */
+    private void invalidateCompiledBlocks(int address, int length) {
+        invalidateCompiledBlocks(address, length, true);
+    }
+
+    private void invalidateCompiledBlocks(int address, int length, boolean counted) {
+        if (compiledBlocks == null) {
+            return;
+        }
+        int end = Math.min(address + length, memorySize);
+        int start = Math.max(address - BytecodeCompiler.MAX_BLOCK_LENGTH * 3 + 1, 0);
+        for (int blockAddress = start; blockAddress < end; ++blockAddress) {
+            int page = blockAddress >> PAGE_BITS;
+            int index = blockAddress & (PAGE_SIZE - 1);
+            CompiledBlock[] blocks = compiledBlocks[page];
+            if (blocks == null) {
+                // На странице нет участков: переход к следующей странице.
+                blockAddress |= PAGE_SIZE - 1;
+                continue;
+            }
+            CompiledBlock block = blocks[index];
+            if (block != null && blockAddress + block.length > address) {
+                blocks[index] = null;
+                byte[] invalidations = invalidationCounters[page];
+                if (counted) {
+                    if (invalidations == null) {
+                        invalidations = new byte[PAGE_SIZE];
+                        invalidationCounters[page] = invalidations;
+                    }
+                    if (invalidations[index] < MAX_INVALIDATIONS) {
+                        ++invalidations[index];
+                    }
+                }
+                // Счётчик выполнений, равный порогу, запрещает повторную трансляцию.
+                executionCounters[page][index] = invalidations == null || invalidations[index] < MAX_INVALIDATIONS
+                        ? 0 : (char) COMPILATION_THRESHOLD;
+                for (int i = blockAddress; i < blockAddress + block.length; ++i) {
+                    --compiledCoverage[i >> PAGE_BITS][i & (PAGE_SIZE - 1)];
+                }
+            }
+        }
+    }
+
+    @Override
+    public int execute(int count) {
+        return execute(count, null);
+    }
+
+    @Override
+    public int executeToBoundary(int count) {
+        return execute(count, blockBoundaries);
+    }
+
+    /**
+     * Выполнение пакета команд.
+     * @param boundaries границы участков, на которых выполнение прекращается, или null.
+     */
+    private int execute(int count, boolean[] boundaries) {
+        // Программный счётчик и счётчик тактов хранятся в локальных переменных на время
+        // выполнения пакета команд и записываются в поля перед обращением к устройствам
+        // ввода-вывода.
+        int pc = this.pc;
+        long cycles = this.cycles;
+        long instructions = this.instructions;
+        int executed = 0;
+        boolean watching = watchpoints.isArmed();
+        batchEnd = false;
+        execution:
+        while (executed < count) {
+            int commandAddress = pc;
+            int code = read(pc);
+            if (code == Intel8080CommandsCodes.HLT) {
+                break;
+            }
+            pc = next(pc);
+            cycles += CyclesTable.getCycles(code);
+            switch (code) {
+                case Intel8080CommandsCodes.NOP: {
+                    break;
+                }
+
+                case Intel8080CommandsCodes.MVI_B: {
+                    b = read(pc);
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.MVI_C: {
+                    c = read(pc);
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.MVI_D: {
+                    d = read(pc);
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.MVI_E: {
+                    e = read(pc);
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.MVI_H: {
+                    h = read(pc);
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.MVI_L: {
+                    l = read(pc);
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.MVI_M: {
+                    write(getHL(), read(pc));
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.MVI_A: {
+                    a = read(pc);
+                    pc = next(pc);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.MOV_B_B: {
+                    b = b;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_B_C: {
+                    b = c;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_B_D: {
+                    b = d;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_B_E: {
+                    b = e;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_B_H: {
+                    b = h;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_B_L: {
+                    b = l;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_B_M: {
+                    b = load(getHL());
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_B_A: {
+                    b = a;
+                    break;
+                }
+
+                case Intel8080CommandsCodes.MOV_C_B: {
+                    c = b;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_C_C: {
+                    c = c;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_C_D: {
+                    c = d;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_C_E: {
+                    c = e;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_C_H: {
+                    c = h;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_C_L: {
+                    c = l;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_C_M: {
+                    c = load(getHL());
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_C_A: {
+                    c = a;
+                    break;
+                }
+
+                case Intel8080CommandsCodes.MOV_D_B: {
+                    d = b;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_D_C: {
+                    d = c;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_D_D: {
+                    d = d;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_D_E: {
+                    d = e;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_D_H: {
+                    d = h;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_D_L: {
+                    d = l;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_D_M: {
+                    d = load(getHL());
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_D_A: {
+                    d = a;
+                    break;
+                }
+
+                case Intel8080CommandsCodes.MOV_E_B: {
+                    e = b;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_E_C: {
+                    e = c;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_E_D: {
+                    e = d;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_E_E: {
+                    e = e;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_E_H: {
+                    e = h;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_E_L: {
+                    e = l;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_E_M: {
+                    e = load(getHL());
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_E_A: {
+                    e = a;
+                    break;
+                }
+
+                case Intel8080CommandsCodes.MOV_H_B: {
+                    h = b;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_H_C: {
+                    h = c;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_H_D: {
+                    h = d;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_H_E: {
+                    h = e;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_H_H: {
+                    h = h;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_H_L: {
+                    h = l;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_H_M: {
+                    h = load(getHL());
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_H_A: {
+                    h = a;
+                    break;
+                }
+
+                case Intel8080CommandsCodes.MOV_L_B: {
+                    l = b;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_L_C: {
+                    l = c;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_L_D: {
+                    l = d;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_L_E: {
+                    l = e;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_L_H: {
+                    l = h;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_L_L: {
+                    l = l;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_L_M: {
+                    l = load(getHL());
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_L_A: {
+                    l = a;
+                    break;
+                }
+
+                case Intel8080CommandsCodes.MOV_M_B: {
+                    write(getHL(), b);
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_M_C: {
+                    write(getHL(), c);
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_M_D: {
+                    write(getHL(), d);
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_M_E: {
+                    write(getHL(), e);
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_M_H: {
+                    write(getHL(), h);
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_M_L: {
+                    write(getHL(), l);
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_M_A: {
+                    write(getHL(), a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.MOV_A_B: {
+                    a = b;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_A_C: {
+                    a = c;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_A_D: {
+                    a = d;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_A_E: {
+                    a = e;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_A_H: {
+                    a = h;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_A_L: {
+                    a = l;
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_A_M: {
+                    a = load(getHL());
+                    break;
+                }
+                case Intel8080CommandsCodes.MOV_A_A: {
+                    a = a;
+                    break;
+                }
+
+                case Intel8080CommandsCodes.LXI_B_data: {
+                    setBC(readWord(pc));
+                    pc = next(next(pc));
+                    break;
+                }
+                case Intel8080CommandsCodes.LXI_D_data: {
+                    setDE(readWord(pc));
+                    pc = next(next(pc));
+                    break;
+                }
+                case Intel8080CommandsCodes.LXI_H_data: {
+                    setHL(readWord(pc));
+                    pc = next(next(pc));
+                    break;
+                }
+                case Intel8080CommandsCodes.LXI_SP_data: {
+                    sp = readWord(pc);
+                    pc = next(next(pc));
+                    break;
+                }
+
+                case Intel8080CommandsCodes.LDA: {
+                    a = load(readWord(pc));
+                    pc = next(next(pc));
+                    break;
+                }
+                case Intel8080CommandsCodes.STA: {
+                    write(readWord(pc), a);
+                    pc = next(next(pc));
+                    break;
+                }
+                case Intel8080CommandsCodes.LHLD: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    l = load(address);
+                    h = load((address + 1) & 0xFFFF);
+                    break;
+                }
+                case Intel8080CommandsCodes.SHLD: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    write(address, l);
+                    write((address + 1) & 0xFFFF, h);
+                    break;
+                }
+                case Intel8080CommandsCodes.LDAX_B: {
+                    a = load(getBC());
+                    break;
+                }
+                case Intel8080CommandsCodes.LDAX_D: {
+                    a = load(getDE());
+                    break;
+                }
+                case Intel8080CommandsCodes.STAX_B: {
+                    write(getBC(), a);
+                    break;
+                }
+                case Intel8080CommandsCodes.STAX_D: {
+                    write(getDE(), a);
+                    break;
+                }
+                case Intel8080CommandsCodes.XCHG: {
+                    int value = getHL();
+                    setHL(getDE());
+                    setDE(value);
+                    break;
+                }
+                case Intel8080CommandsCodes.EI: {
+                    interruptsEnabled = true;
+                    break;
+                }
+                case Intel8080CommandsCodes.DI: {
+                    interruptsEnabled = false;
+                    break;
+                }
+
+                case Intel8080CommandsCodes.ADD_B: {
+                    add(b);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADD_C: {
+                    add(c);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADD_D: {
+                    add(d);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADD_E: {
+                    add(e);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADD_H: {
+                    add(h);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADD_L: {
+                    add(l);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADD_M: {
+                    add(load(getHL()));
+                    break;
+                }
+                case Intel8080CommandsCodes.ADD_A: {
+                    add(a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.ADC_B: {
+                    adc(b);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADC_C: {
+                    adc(c);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADC_D: {
+                    adc(d);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADC_E: {
+                    adc(e);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADC_H: {
+                    adc(h);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADC_L: {
+                    adc(l);
+                    break;
+                }
+                case Intel8080CommandsCodes.ADC_M: {
+                    adc(load(getHL()));
+                    break;
+                }
+                case Intel8080CommandsCodes.ADC_A: {
+                    adc(a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.SUB_B: {
+                    sub(b);
+                    break;
+                }
+                case Intel8080CommandsCodes.SUB_C: {
+                    sub(c);
+                    break;
+                }
+                case Intel8080CommandsCodes.SUB_D: {
+                    sub(d);
+                    break;
+                }
+                case Intel8080CommandsCodes.SUB_E: {
+                    sub(e);
+                    break;
+                }
+                case Intel8080CommandsCodes.SUB_H: {
+                    sub(h);
+                    break;
+                }
+                case Intel8080CommandsCodes.SUB_L: {
+                    sub(l);
+                    break;
+                }
+                case Intel8080CommandsCodes.SUB_M: {
+                    sub(load(getHL()));
+                    break;
+                }
+                case Intel8080CommandsCodes.SUB_A: {
+                    sub(a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.SBB_B: {
+                    sbb(b);
+                    break;
+                }
+                case Intel8080CommandsCodes.SBB_C: {
+                    sbb(c);
+                    break;
+                }
+                case Intel8080CommandsCodes.SBB_D: {
+                    sbb(d);
+                    break;
+                }
+                case Intel8080CommandsCodes.SBB_E: {
+                    sbb(e);
+                    break;
+                }
+                case Intel8080CommandsCodes.SBB_H: {
+                    sbb(h);
+                    break;
+                }
+                case Intel8080CommandsCodes.SBB_L: {
+                    sbb(l);
+                    break;
+                }
+                case Intel8080CommandsCodes.SBB_M: {
+                    sbb(load(getHL()));
+                    break;
+                }
+                case Intel8080CommandsCodes.SBB_A: {
+                    sbb(a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.ANA_B: {
+                    ana(b);
+                    break;
+                }
+                case Intel8080CommandsCodes.ANA_C: {
+                    ana(c);
+                    break;
+                }
+                case Intel8080CommandsCodes.ANA_D: {
+                    ana(d);
+                    break;
+                }
+                case Intel8080CommandsCodes.ANA_E: {
+                    ana(e);
+                    break;
+                }
+                case Intel8080CommandsCodes.ANA_H: {
+                    ana(h);
+                    break;
+                }
+                case Intel8080CommandsCodes.ANA_L: {
+                    ana(l);
+                    break;
+                }
+                case Intel8080CommandsCodes.ANA_M: {
+                    ana(load(getHL()));
+                    break;
+                }
+                case Intel8080CommandsCodes.ANA_A: {
+                    ana(a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.XRA_B: {
+                    xra(b);
+                    break;
+                }
+                case Intel8080CommandsCodes.XRA_C: {
+                    xra(c);
+                    break;
+                }
+                case Intel8080CommandsCodes.XRA_D: {
+                    xra(d);
+                    break;
+                }
+                case Intel8080CommandsCodes.XRA_E: {
+                    xra(e);
+                    break;
+                }
+                case Intel8080CommandsCodes.XRA_H: {
+                    xra(h);
+                    break;
+                }
+                case Intel8080CommandsCodes.XRA_L: {
+                    xra(l);
+                    break;
+                }
+                case Intel8080CommandsCodes.XRA_M: {
+                    xra(load(getHL()));
+                    break;
+                }
+                case Intel8080CommandsCodes.XRA_A: {
+                    xra(a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.ORA_B: {
+                    ora(b);
+                    break;
+                }
+                case Intel8080CommandsCodes.ORA_C: {
+                    ora(c);
+                    break;
+                }
+                case Intel8080CommandsCodes.ORA_D: {
+                    ora(d);
+                    break;
+                }
+                case Intel8080CommandsCodes.ORA_E: {
+                    ora(e);
+                    break;
+                }
+                case Intel8080CommandsCodes.ORA_H: {
+                    ora(h);
+                    break;
+                }
+                case Intel8080CommandsCodes.ORA_L: {
+                    ora(l);
+                    break;
+                }
+                case Intel8080CommandsCodes.ORA_M: {
+                    ora(load(getHL()));
+                    break;
+                }
+                case Intel8080CommandsCodes.ORA_A: {
+                    ora(a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.CMP_B: {
+                    cmp(b);
+                    break;
+                }
+                case Intel8080CommandsCodes.CMP_C: {
+                    cmp(c);
+                    break;
+                }
+                case Intel8080CommandsCodes.CMP_D: {
+                    cmp(d);
+                    break;
+                }
+                case Intel8080CommandsCodes.CMP_E: {
+                    cmp(e);
+                    break;
+                }
+                case Intel8080CommandsCodes.CMP_H: {
+                    cmp(h);
+                    break;
+                }
+                case Intel8080CommandsCodes.CMP_L: {
+                    cmp(l);
+                    break;
+                }
+                case Intel8080CommandsCodes.CMP_M: {
+                    cmp(load(getHL()));
+                    break;
+                }
+                case Intel8080CommandsCodes.CMP_A: {
+                    cmp(a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.ADI: {
+                    add(read(pc));
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.ACI: {
+                    adc(read(pc));
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.SUI: {
+                    sub(read(pc));
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.SBI: {
+                    sbb(read(pc));
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.ANI: {
+                    ana(read(pc));
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.XRI: {
+                    xra(read(pc));
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.ORI: {
+                    ora(read(pc));
+                    pc = next(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.CPI: {
+                    cmp(read(pc));
+                    pc = next(pc);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.INR_B: {
+                    b = inr(b);
+                    break;
+                }
+                case Intel8080CommandsCodes.INR_C: {
+                    c = inr(c);
+                    break;
+                }
+                case Intel8080CommandsCodes.INR_D: {
+                    d = inr(d);
+                    break;
+                }
+                case Intel8080CommandsCodes.INR_E: {
+                    e = inr(e);
+                    break;
+                }
+                case Intel8080CommandsCodes.INR_H: {
+                    h = inr(h);
+                    break;
+                }
+                case Intel8080CommandsCodes.INR_L: {
+                    l = inr(l);
+                    break;
+                }
+                case Intel8080CommandsCodes.INR_M: {
+                    int address = getHL();
+                    write(address, inr(load(address)));
+                    break;
+                }
+                case Intel8080CommandsCodes.INR_A: {
+                    a = inr(a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.DCR_B: {
+                    b = dcr(b);
+                    break;
+                }
+                case Intel8080CommandsCodes.DCR_C: {
+                    c = dcr(c);
+                    break;
+                }
+                case Intel8080CommandsCodes.DCR_D: {
+                    d = dcr(d);
+                    break;
+                }
+                case Intel8080CommandsCodes.DCR_E: {
+                    e = dcr(e);
+                    break;
+                }
+                case Intel8080CommandsCodes.DCR_H: {
+                    h = dcr(h);
+                    break;
+                }
+                case Intel8080CommandsCodes.DCR_L: {
+                    l = dcr(l);
+                    break;
+                }
+                case Intel8080CommandsCodes.DCR_M: {
+                    int address = getHL();
+                    write(address, dcr(load(address)));
+                    break;
+                }
+                case Intel8080CommandsCodes.DCR_A: {
+                    a = dcr(a);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.INX_B: {
+                    setBC(inx(getBC()));
+                    break;
+                }
+                case Intel8080CommandsCodes.INX_D: {
+                    setDE(inx(getDE()));
+                    break;
+                }
+                case Intel8080CommandsCodes.INX_H: {
+                    setHL(inx(getHL()));
+                    break;
+                }
+                case Intel8080CommandsCodes.INX_SP: {
+                    sp = inx(sp);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.DCX_B: {
+                    setBC(dcx(getBC()));
+                    break;
+                }
+                case Intel8080CommandsCodes.DCX_D: {
+                    setDE(dcx(getDE()));
+                    break;
+                }
+                case Intel8080CommandsCodes.DCX_H: {
+                    setHL(dcx(getHL()));
+                    break;
+                }
+                case Intel8080CommandsCodes.DCX_SP: {
+                    sp = dcx(sp);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.DAD_B: {
+                    dad(getBC());
+                    break;
+                }
+                case Intel8080CommandsCodes.DAD_D: {
+                    dad(getDE());
+                    break;
+                }
+                case Intel8080CommandsCodes.DAD_H: {
+                    dad(getHL());
+                    break;
+                }
+                case Intel8080CommandsCodes.DAD_SP: {
+                    dad(sp);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.CMA: {
+                    a = 255 - a;
+                    break;
+                }
+                case Intel8080CommandsCodes.STC: {
+                    flags = readFlags() | FLAG_C;
+                    break;
+                }
+                case Intel8080CommandsCodes.CMC: {
+                    flags = readFlags() ^ FLAG_C;
+                    break;
+                }
+                case Intel8080CommandsCodes.RLC: {
+                    a = a << 1;
+                    if (a > 255) {
+                        a = (a + 1) & 0xFF;
+                        flags = readFlags() | FLAG_C;
+                    } else {
+                        flags = readFlags() & ~FLAG_C;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RRC: {
+                    if ((a & 1) == 1) {
+                        a = (a + 256) >> 1;
+                        flags = readFlags() | FLAG_C;
+                    } else {
+                        a = a >> 1;
+                        flags = readFlags() & ~FLAG_C;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RAL: {
+                    a = (a << 1) + (readFlags() & FLAG_C);
+                    if (a > 255) {
+                        a = a & 0xFF;
+                        flags = readFlags() | FLAG_C;
+                    } else {
+                        flags = readFlags() & ~FLAG_C;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RAR: {
+                    int value = a + ((readFlags() & FLAG_C) << 8);
+                    if ((value & 1) == 1) {
+                        flags = readFlags() | FLAG_C;
+                    } else {
+                        flags = readFlags() & ~FLAG_C;
+                    }
+                    a = value >> 1;
+                    break;
+                }
+
+                case Intel8080CommandsCodes.JMP: {
+                    pc = readWord(pc);
+                    break;
+                }
+                case Intel8080CommandsCodes.JNZ: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_Z) == 0) {
+                        pc = address;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.JZ: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_Z) != 0) {
+                        pc = address;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.JNC: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_C) == 0) {
+                        pc = address;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.JC: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_C) != 0) {
+                        pc = address;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.JPO: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_P) == 0) {
+                        pc = address;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.JPE: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_P) != 0) {
+                        pc = address;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.JP: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_S) == 0) {
+                        pc = address;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.JM: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_S) != 0) {
+                        pc = address;
+                    }
+                    break;
+                }
+
+                case Intel8080CommandsCodes.CALL: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    push(pc);
+                    pc = address;
+                    break;
+                }
+                case Intel8080CommandsCodes.CNZ: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_Z) == 0) {
+                        push(pc);
+                        pc = address;
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.CZ: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_Z) != 0) {
+                        push(pc);
+                        pc = address;
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.CNC: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_C) == 0) {
+                        push(pc);
+                        pc = address;
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.CC: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_C) != 0) {
+                        push(pc);
+                        pc = address;
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.CPO: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_P) == 0) {
+                        push(pc);
+                        pc = address;
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.CPE: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_P) != 0) {
+                        push(pc);
+                        pc = address;
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.CP: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_S) == 0) {
+                        push(pc);
+                        pc = address;
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.CM: {
+                    int address = readWord(pc);
+                    pc = next(next(pc));
+                    if ((readFlags() & FLAG_S) != 0) {
+                        push(pc);
+                        pc = address;
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+
+                case Intel8080CommandsCodes.RET: {
+                    pc = pop();
+                    if (executionLevels.depth != 0) {
+                        executionLevels.leave(sp);
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RNZ: {
+                    if ((readFlags() & FLAG_Z) == 0) {
+                        pc = pop();
+                        if (executionLevels.depth != 0) {
+                            executionLevels.leave(sp);
+                        }
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RZ: {
+                    if ((readFlags() & FLAG_Z) != 0) {
+                        pc = pop();
+                        if (executionLevels.depth != 0) {
+                            executionLevels.leave(sp);
+                        }
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RNC: {
+                    if ((readFlags() & FLAG_C) == 0) {
+                        pc = pop();
+                        if (executionLevels.depth != 0) {
+                            executionLevels.leave(sp);
+                        }
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RC: {
+                    if ((readFlags() & FLAG_C) != 0) {
+                        pc = pop();
+                        if (executionLevels.depth != 0) {
+                            executionLevels.leave(sp);
+                        }
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RPO: {
+                    if ((readFlags() & FLAG_P) == 0) {
+                        pc = pop();
+                        if (executionLevels.depth != 0) {
+                            executionLevels.leave(sp);
+                        }
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RPE: {
+                    if ((readFlags() & FLAG_P) != 0) {
+                        pc = pop();
+                        if (executionLevels.depth != 0) {
+                            executionLevels.leave(sp);
+                        }
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RP: {
+                    if ((readFlags() & FLAG_S) == 0) {
+                        pc = pop();
+                        if (executionLevels.depth != 0) {
+                            executionLevels.leave(sp);
+                        }
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.RM: {
+                    if ((readFlags() & FLAG_S) != 0) {
+                        pc = pop();
+                        if (executionLevels.depth != 0) {
+                            executionLevels.leave(sp);
+                        }
+                        cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                    }
+                    break;
+                }
+
+                case Intel8080CommandsCodes.PCHL: {
+                    pc = getHL();
+                    break;
+                }
+                case Intel8080CommandsCodes.SPHL: {
+                    sp = getHL();
+                    break;
+                }
+
+                case Intel8080CommandsCodes.PUSH_B: {
+                    push(getBC());
+                    break;
+                }
+                case Intel8080CommandsCodes.PUSH_D: {
+                    push(getDE());
+                    break;
+                }
+                case Intel8080CommandsCodes.PUSH_H: {
+                    push(getHL());
+                    break;
+                }
+                case Intel8080CommandsCodes.PUSH_PSW: {
+                    push(a * 256 + readFlags());
+                    break;
+                }
+                case Intel8080CommandsCodes.POP_B: {
+                    setBC(pop());
+                    break;
+                }
+                case Intel8080CommandsCodes.POP_D: {
+                    setDE(pop());
+                    break;
+                }
+                case Intel8080CommandsCodes.POP_H: {
+                    setHL(pop());
+                    break;
+                }
+                case Intel8080CommandsCodes.POP_PSW: {
+                    int value = pop();
+                    a = value >> 8;
+                    setAllFlags(value & 0xFF);
+                    break;
+                }
+                case Intel8080CommandsCodes.XTHL: {
+                    int value = getHL();
+                    setHL(pop());
+                    push(value);
+                    break;
+                }
+
+                case Intel8080CommandsCodes.IN: {
+                    int port = read(pc);
+                    pc = next(pc);
+                    if (ioSystem != null) {
+                        this.pc = pc;
+                        this.cycles = cycles;
+                        this.instructions = instructions + executed + 1;
+                        a = ioSystem.in(port);
+                        // Устройство может перевести счётчик тактов вперёд (addCycles).
+                        cycles = this.cycles;
+                        if (batchEnd) {
+                            ++executed;
+                            break execution;
+                        }
+                    }
+                    break;
+                }
+                case Intel8080CommandsCodes.OUT: {
+                    int port = read(pc);
+                    pc = next(pc);
+                    if (ioSystem != null) {
+                        this.pc = pc;
+                        this.cycles = cycles;
+                        this.instructions = instructions + executed + 1;
+                        ioSystem.out(port, a);
+                        cycles = this.cycles;
+                        if (batchEnd) {
+                            ++executed;
+                            break execution;
+                        }
+                    }
+                    break;
+                }
+            }
+            ++executed;
+            if (watching && watchpoints.isHit()) {
+                watchpoints.setCommandAddress(commandAddress);
+                break;
+            }
+            if (boundaries != null && boundaries[pc]) {
+                break;
+            }
+            if (compiledBlocks != null && CommandsTable.isBlockEnd(code)) {
+                // Начало линейного участка: часто выполняемые участки выполняются
+                // оттранслированным кодом, пока остаток пакета вмещает целый участок.
+                // Участок не содержит границ, поэтому может повторяться внутри вызова.
+                while (count - executed >= MAX_BLOCK_LENGTH) {
+                    CompiledBlock block = getCompiledBlock(pc);
+                    if (block == null) {
+                        break;
+                    }
+                    this.pc = pc;
+                    this.cycles = cycles;
+                    executed += block.execute(this, count - executed);
+                    pc = this.pc;
+                    cycles = this.cycles;
+                    if (boundaries != null && boundaries[pc]) {
+                        break execution;
+                    }
+                }
+            }
+        }
+        this.pc = pc;
+        this.cycles = cycles;
+        this.instructions = instructions + executed;
+        return executed;
+    }
+
+    private int next(int address) {
+        return address + 1 == memorySize ? 0 : address + 1;
+    }
+
+    /**
+     * Чтение кода команды или её аргумента. Точками наблюдения не проверяется.
+     */
+    private int read(int address) {
+        return memory[address] & 0xFF;
+    }
+
+    /**
+     * Чтение данных командой. Проверяется точками наблюдения.
+     */
+    private int load(int address) {
+        watchpoints.checkRead(address);
+        return memory[address] & 0xFF;
+    }
+
+    /**
+     * Запись байта в память. Оттранслированные участки, занимающие ячейку, удаляются.
+     * Запись проверяется точками наблюдения.
+     * @return true, если запись изменила оттранслированный код.
+     */
+    boolean write(int address, int value) {
+        watchpoints.checkWrite(address);
+        memory[address] = (byte) value;
+        if (compiledCoverage != null && isCompiledCode(address)) {
+            invalidateCompiledBlocks(address, 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Запись байта в память из оттранслированного кода. Точки наблюдения не проверяются:
+     * при установленных точках наблюдения оттранслированный код не выполняется.
+     * @return true, если запись изменила оттранслированный код.
+     */
+    boolean writeCompiled(int address, int value) {
+        memory[address] = (byte) value;
+        if (isCompiledCode(address)) {
+            invalidateCompiledBlocks(address, 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true, если ячейка входит хотя бы в один оттранслированный участок.
+     */
+    private boolean isCompiledCode(int address) {
+        char[] coverage = compiledCoverage[address >> PAGE_BITS];
+        return coverage != null && coverage[address & (PAGE_SIZE - 1)] != 0;
+    }
+
+    private int readWord(int address) {
+        return read(address) * 256 + read(next(address));
+    }
+
+    private int getBC() {
+        return b * 256 + c;
+    }
+
+    private int getDE() {
+        return d * 256 + e;
+    }
+
+    private int getHL() {
+        return h * 256 + l;
+    }
+
+    private void setBC(int value) {
+        b = value >> 8;
+        c = value & 0xFF;
+    }
+
+    private void setDE(int value) {
+        d = value >> 8;
+        e = value & 0xFF;
+    }
+
+    private void setHL(int value) {
+        h = value >> 8;
+        l = value & 0xFF;
+    }
+
+    private void push(int value) {
+        int address = (sp - 1) & 0xFFFF;
+        write(address, value >> 8);
+        address = (address - 1) & 0xFFFF;
+        write(address, value & 0xFF);
+        sp = address;
+    }
+
+    private int pop() {
+        int value = load(sp);
+        value += load((sp + 1) & 0xFFFF) * 256;
+        sp = (sp + 2) & 0xFFFF;
+        return value;
+    }
+
+    private void add(int value) {
+        int result = a + value;
+        setFlags(result, FlagsTable.getAdditionAuxiliaryCarry(a, value, result));
+        a = result & 0xFF;
+    }
+
+    private void adc(int value) {
+        int result = a + value + (readFlags() & FLAG_C);
+        setFlags(result, FlagsTable.getAdditionAuxiliaryCarry(a, value, result));
+        a = result & 0xFF;
+    }
+
+    private void sub(int value) {
+        int result = a - value;
+        setFlags(result, FlagsTable.getSubtractionAuxiliaryCarry(a, value, result));
+        a = result & 0xFF;
+    }
+
+    private void sbb(int value) {
+        int result = a - value - (readFlags() & FLAG_C);
+        setFlags(result, FlagsTable.getSubtractionAuxiliaryCarry(a, value, result));
+        a = result & 0xFF;
+    }
+
+    private void ana(int value) {
+        int auxiliaryCarry = FlagsTable.getLogicalAndAuxiliaryCarry(a, value);
+        a = a & value;
+        setFlags(a, auxiliaryCarry);
+    }
+
+    private void xra(int value) {
+        a = a ^ value;
+        setFlags(a, 0);
+    }
+
+    private void ora(int value) {
+        a = a | value;
+        setFlags(a, 0);
+    }
+
+    private void cmp(int value) {
+        int result = a - value;
+        setFlags(result, FlagsTable.getSubtractionAuxiliaryCarry(a, value, result));
+    }
+
+    private int inr(int value) {
+        value += 1;
+        setFlagsWithoutCarry(value, FlagsTable.getIncrementAuxiliaryCarry(value));
+        return value & 0xFF;
+    }
+
+    private int dcr(int value) {
+        value -= 1;
+        setFlagsWithoutCarry(value, FlagsTable.getDecrementAuxiliaryCarry(value));
+        return value & 0xFF;
+    }
+
+    private int inx(int value) {
+        value += 1;
+        if (value > 65535) {
+            flags = readFlags() | FLAG_C;
+        } else {
+            flags = readFlags() & ~FLAG_C;
+        }
+        return value & 0xFFFF;
+    }
+
+    private int dcx(int value) {
+        value -= 1;
+        if (value < 0) {
+            flags = readFlags() | FLAG_C;
+        } else {
+            flags = readFlags() & ~FLAG_C;
+        }
+        return value & 0xFFFF;
+    }
+
+    private void dad(int value) {
+        int result = getHL() + value;
+        if (result > 65535) {
+            flags = readFlags() | FLAG_C;
+        } else {
+            flags = readFlags() & ~FLAG_C;
+        }
+        setHL(result & 0xFFFF);
+    }
+
+    /**
+     * Установка флагов S, Z, AC, P и C по результату операции одной записью в регистр флагов.
+     * В режиме отложенного вычисления флагов запоминается только результат операции.
+     */
+    private void setFlags(int value, int auxiliaryCarry) {
+        if (lazyFlags) {
+            lazyResult = value;
+            lazyAuxiliaryCarry = auxiliaryCarry;
+            lazyMask = FlagsTable.ARITHMETIC_FLAGS;
+        } else {
+            flags = (flags & ~FlagsTable.ARITHMETIC_FLAGS) | FlagsTable.getFlags(value) | auxiliaryCarry;
+        }
+    }
+
+    /**
+     * Установка флагов S, Z, AC и P командами INR и DCR, которые не изменяют флаг C.
+     */
+    private void setFlagsWithoutCarry(int value, int auxiliaryCarry) {
+        if (lazyFlags) {
+            flags = readFlags();
+            lazyResult = value;
+            lazyAuxiliaryCarry = auxiliaryCarry;
+            lazyMask = FlagsTable.ARITHMETIC_FLAGS & ~FLAG_C;
+        } else {
+            flags = (flags & ~(FlagsTable.ARITHMETIC_FLAGS & ~FLAG_C))
+                    | (FlagsTable.getFlags(value) & ~FLAG_C) | auxiliaryCarry;
+        }
+    }
+
+    /**
+     * Чтение регистра флагов. Если флаги последней арифметической или логической операции
+     * ещё не вычислены, они вычисляются и записываются в регистр флагов.
+     */
+    int readFlags() {
+        if (lazyMask != 0) {
+            int lazyFlagsValue = FlagsTable.getFlags(lazyResult) | lazyAuxiliaryCarry;
+            flags = (flags & ~lazyMask) | (lazyFlagsValue & lazyMask);
+            lazyMask = 0;
+        }
+        return flags;
+    }
+
+    @Override
+    public int getValueFromRegister(Registers register) {
+        switch (register) {
+            case A: return a;
+            case B: return b;
+            case C: return c;
+            case D: return d;
+            case E: return e;
+            case H: return h;
+            case L: return l;
+            case PC: return pc;
+            case SP: return sp;
+            default: throw new IllegalArgumentException("Register " + register + " is not available");
+        }
+    }
+
+    @Override
+    public void setValueInRegister(Registers register, int value) {
+        switch (register) {
+            case A: a = value; break;
+            case B: b = value; break;
+            case C: c = value; break;
+            case D: d = value; break;
+            case E: e = value; break;
+            case H: h = value; break;
+            case L: l = value; break;
+            case PC: pc = value; break;
+            case SP: sp = value; break;
+            default: throw new IllegalArgumentException("Register " + register + " is not available");
+        }
+    }
+
+    @Override
+    public int getValueFromRegisterPair(RegisterPairs registerPair) {
+        switch (registerPair) {
+            case B: return getBC();
+            case D: return getDE();
+            case H: return getHL();
+            case PSW: return a * 256 + readFlags();
+            default: return 0;
+        }
+    }
+
+    @Override
+    public void setValueInRegisterPair(RegisterPairs registerPair, int value) {
+        switch (registerPair) {
+            case B: {
+                setBC(value);
+                break;
+            }
+            case D: {
+                setDE(value);
+                break;
+            }
+            case H: {
+                setHL(value);
+                break;
+            }
+            case PSW: {
+                a = value / 256;
+                setAllFlags(value % 256);
+                break;
+            }
+        }
+    }
+
+    @Override
+    public int getValueFromFlag(Flags flag) {
+        switch (flag) {
+            case S: return (readFlags() & FLAG_S) > 0 ? 1 : 0;
+            case Z: return (readFlags() & FLAG_Z) > 0 ? 1 : 0;
+            case P: return (readFlags() & FLAG_P) > 0 ? 1 : 0;
+            case AC: return (readFlags() & FLAG_AC) > 0 ? 1 : 0;
+            case C: return (readFlags() & FLAG_C) > 0 ? 1 : 0;
+            default: return 0;
+        }
+    }
+
+    @Override
+    public void setValueInFlag(Flags flag, int value) {
+        int mask;
+        switch (flag) {
+            case S: mask = FLAG_S; break;
+            case Z: mask = FLAG_Z; break;
+            case P: mask = FLAG_P; break;
+            case AC: mask = FLAG_AC; break;
+            default: mask = FLAG_C; break;
+        }
+        if (value > 0) {
+            flags = readFlags() | mask;
+        } else {
+            flags = readFlags() & ~mask;
+        }
+    }
+
+    @Override
+    public int getAllFlags() {
+        return readFlags();
+    }
+
+    @Override
+    public void setAllFlags(int flags) {
+        this.flags = flags;
+        lazyMask = 0;
+    }
+
+    @Override
+    public IIntraProgramIOEventsListener getIntraProgramIOEventsListener() {
+        return ioSystem;
+    }
+
+    @Override
+    public void setIntraProgramIOEventsListener(IIntraProgramIOEventsListener ioSystem) {
+        this.ioSystem = ioSystem;
+    }
+
+    @Override
+    public void executeCommand(ICommand command, int arg) {
+        pc = (pc + command.getSize()) % memorySize;
+        command.execute(commandsExecuteListener, arg);
+    }
+
+    @Override
+    public void interrupt(ICommand command, int arg) {
+        int address = pc;
+        command.execute(commandsExecuteListener, arg);
+        cycles += CyclesTable.INTERRUPT_CYCLES;
+        if (watchpoints.isHit()) {
+            watchpoints.setCommandAddress(address);
+        }
+    }
+
+    @Override
+    public long getCycles() {
+        return cycles;
+    }
+
+    @Override
+    public long getInstructions() {
+        return instructions;
+    }
+
+    @Override
+    public void endBatch() {
+        batchEnd = true;
+    }
+
+    @Override
+    public void addCycles(long cycles) {
+        this.cycles += cycles;
+    }
+
+    @Override
+    public void checkValueForSetFlags(int value, int auxiliaryCarry) {
+        setFlags(value, auxiliaryCarry);
+    }
+
+    @Override
+    public void checkValueForSetFlagsWithoutCarry(int value, int auxiliaryCarry) {
+        setFlagsWithoutCarry(value, auxiliaryCarry);
+    }
+
+    @Override
+    public void resetRegisters() {
+        a = 0;
+        b = 0;
+        c = 0;
+        d = 0;
+        e = 0;
+        h = 0;
+        l = 0;
+        pc = 0;
+        sp = 0;
+        flags = 0;
+        lazyMask = 0;
+        cycles = 0;
+        instructions = 0;
+        interruptsEnabled = true;
+        executionLevels.clear();
+    }
+
+    @Override
+    public void resetMemory() {
+        Arrays.fill(memory, (byte) 0);
+        if (compiledBlocks != null) {
+            Arrays.fill(compiledBlocks, null);
+            Arrays.fill(compiledCoverage, null);
+            Arrays.fill(executionCounters, null);
+            Arrays.fill(invalidationCounters, null);
+        }
+    }
+
+    @Override
+    public int getValueFromMemoryByAddress(int address) {
+        return load(address);
+    }
+
+    @Override
+    public void setValueInMemoryByAddress(int address, int value) {
+        write(address, value);
+    }
+
+    @Override
+    public int peekMemory(int address) {
+        return memory[address] & 0xFF;
+    }
+
+    @Override
+    public void readMemory(int address, byte[] buffer, int offset, int length) {
+        System.arraycopy(memory, address, buffer, offset, length);
+    }
+
+    @Override
+    public void writeMemory(int address, byte[] buffer, int offset, int length) {
+        System.arraycopy(buffer, offset, memory, address, length);
+        invalidateCompiledBlocks(address, length);
+    }
+
+    @Override
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+    @Override
+    public void setExecutionLevel(int level) {
+        executionLevels.push(level, sp);
+    }
+
+    @Override
+    public int getExecutionLevel() {
+        return executionLevels.peek();
+    }
+
+    @Override
+    public void setInterruptsEnabled(boolean enabled) {
+        interruptsEnabled = enabled;
+    }
+
+    @Override
+    public boolean isInterruptsEnabled() {
+        return interruptsEnabled;
+    }
+
+    @Override
+    public void returnFromInterrupt() {
+        if (executionLevels.depth != 0) {
+            executionLevels.leave(sp);
+        }
+    }
+
+    @Override
+    public void setWatchpoint(int address, int length, boolean read, boolean write) {
+        watchpoints.set(address, length, read, write);
+    }
+
+    @Override
+    public void removeAllWatchpoints() {
+        watchpoints.clear();
+    }
+
+    @Override
+    public WatchpointHit getWatchpointHit() {
+        return watchpoints.getHit();
+    }
+
+    @Override
+    public void resetWatchpointHit() {
+        watchpoints.resetHit();
+    }
+}
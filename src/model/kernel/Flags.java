@@ -23,5 +23,10 @@ public enum Flags {
     /**
      * Чётность битов в результате, установленных в 1.
      */
-    P
+    P,
+
+    /**
+     * Вспомогательный перенос (перенос из третьего бита в четвёртый).
+     */
+    AC
 }
\ No newline at end of file
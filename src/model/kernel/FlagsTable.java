@@ -0,0 +1,107 @@
+package model.kernel;
+
+/**
+ * Класс, предоставляющий заранее вычисленные значения флагов состояния микропроцессора.
+ * Флаги S, Z, P и C для любого возможного результата арифметической или логической операции
+ * (от -256 до 511) берутся из таблицы, поэтому регистр флагов формируется одной записью
+ * без подсчёта битов и без отдельной установки каждого флага.
+ * Флаг AC (вспомогательный перенос) вычисляется по операндам и результату операции.
+ */
+public class FlagsTable {
+
+    public static final int FLAG_S = 0b10000000;
+    public static final int FLAG_Z = 0b01000000;
+    public static final int FLAG_AC = 0b00010000;
+    public static final int FLAG_P = 0b00000100;
+    public static final int FLAG_C = 0b00000001;
+
+    /**
+     * Маска флагов, которые изменяются арифметическими и логическими командами.
+     */
+    public static final int ARITHMETIC_FLAGS = FLAG_S | FLAG_Z | FLAG_AC | FLAG_P | FLAG_C;
+
+    private static final int MIN_RESULT = -256;
+    private static final int MAX_RESULT = 511;
+
+    private static final int[] RESULT_FLAGS = new int[MAX_RESULT - MIN_RESULT + 1];
+
+    static {
+        for (int value = MIN_RESULT; value <= MAX_RESULT; ++value) {
+            int flags = 0;
+            if ((value & 0xFF) == 0) {
+                flags |= FLAG_Z;
+            }
+            if (value < 0) {
+                flags |= FLAG_S;
+            }
+            if (value < 0 || value > 255) {
+                flags |= FLAG_C;
+            }
+            if (Integer.bitCount(value & 0xFF) % 2 == 0) {
+                flags |= FLAG_P;
+            }
+            RESULT_FLAGS[value - MIN_RESULT] = flags;
+        }
+    }
+
+    /**
+     * Метод для получения флагов S, Z, P и C по результату операции.
+     * @param value результат операции до приведения в интервал байта (от -256 до 511).
+     * @return значение регистра флагов, в котором установлены только флаги S, Z, P и C.
+     */
+    public static int getFlags(int value) {
+        return RESULT_FLAGS[value - MIN_RESULT];
+    }
+
+    /**
+     * Метод для получения флага AC после сложения.
+     * @param firstValue первое слагаемое.
+     * @param secondValue второе слагаемое (без учёта флага переноса).
+     * @param result результат сложения.
+     * @return FLAG_AC, если был перенос из третьего бита в четвёртый, иначе 0.
+     */
+    public static int getAdditionAuxiliaryCarry(int firstValue, int secondValue, int result) {
+        return (firstValue ^ secondValue ^ result) & FLAG_AC;
+    }
+
+    /**
+     * Метод для получения флага AC после вычитания. Как и в Intel 8080, вычитание
+     * рассматривается как сложение с дополнением вычитаемого, поэтому флаг AC
+     * устанавливается при отсутствии заёма из четвёртого бита.
+     * @param firstValue уменьшаемое.
+     * @param secondValue вычитаемое (без учёта флага переноса).
+     * @param result результат вычитания.
+     * @return FLAG_AC или 0.
+     */
+    public static int getSubtractionAuxiliaryCarry(int firstValue, int secondValue, int result) {
+        return ~(firstValue ^ secondValue ^ result) & FLAG_AC;
+    }
+
+    /**
+     * Метод для получения флага AC после логического умножения (команды ANA и ANI).
+     * @param firstValue первый операнд.
+     * @param secondValue второй операнд.
+     * @return FLAG_AC, если третий бит установлен хотя бы в одном из операндов, иначе 0.
+     */
+    public static int getLogicalAndAuxiliaryCarry(int firstValue, int secondValue) {
+        return ((firstValue | secondValue) << 1) & FLAG_AC;
+    }
+
+    /**
+     * Метод для получения флага AC после команды INR.
+     * @param result результат увеличения на 1.
+     * @return FLAG_AC, если младшая тетрада результата равна 0, иначе 0.
+     */
+    public static int getIncrementAuxiliaryCarry(int result) {
+        return (result & 0x0F) == 0 ? FLAG_AC : 0;
+    }
+
+    /**
+     * Метод для получения флага AC после команды DCR.
+     * @param result результат уменьшения на 1.
+     * @return FLAG_AC, если младшая тетрада результата не равна 0xF, иначе 0.
+     */
+    public static int getDecrementAuxiliaryCarry(int result) {
+        return (result & 0x0F) == 0x0F ? 0 : FLAG_AC;
+    }
+}
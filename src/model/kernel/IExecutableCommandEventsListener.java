@@ -102,11 +102,29 @@ public interface IExecutableCommandEventsListener {
      * Вызывается, когда исполняемая команда отправляет запрос на проверку результата
      * выполнения операции и установку флагов состояния микропроцессора.
      * @param value итоговый результат операции.
+     * @param auxiliaryCarry значение флага AC ({@link FlagsTable#FLAG_AC} или 0).
      */
-    void requestOnCheckByteForSetFlags(int value);
+    void requestOnCheckByteForSetFlags(int value, int auxiliaryCarry);
 
     /**
-     * Вызывается, когда вызывается команда RET
+     * Вызывается, когда исполняемая команда отправляет запрос на проверку результата
+     * выполнения операции и установку флагов состояния микропроцессора без изменения
+     * флага переноса C (команды INR и DCR).
+     * @param value итоговый результат операции.
+     * @param auxiliaryCarry значение флага AC ({@link FlagsTable#FLAG_AC} или 0).
+     */
+    void requestOnCheckByteForSetFlagsWithoutCarry(int value, int auxiliaryCarry);
+
+    /**
+     * Вызывается, когда исполняемая команда разрешает или запрещает прерывания
+     * (команды EI и DI).
+     * @param enabled true - прерывания разрешены, false - запрещены.
+     */
+    void requestOnSetInterruptsEnabled(boolean enabled);
+
+    /**
+     * Вызывается, когда команда возврата (RET или выполненная Rcc) извлекла адрес из стека.
+     * Завершает обработку прерывания, если это возврат из обработчика.
      */
     void returnFromInterrupt();
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package model.kernel;
+
+/**
+ * Интерфейс памяти микропроцессора. Класс, хранящий содержимое адресного пространства
+ * микропроцессора, реализует этот интерфейс. Каждая ячейка памяти хранит один байт
+ * (значение от 0 до 255).
+ */
+public interface IMemory {
+
+    /**
+     * Метод для получения размера памяти.
+     * @return размер памяти в байтах.
+     */
+    int getSize();
+
+    /**
+     * Метод для чтения значения из ячейки памяти.
+     * @param address адрес ячейки памяти.
+     * @return значение ячейки памяти (0 - 255).
+     */
+    int getValue(int address);
+
+    /**
+     * Метод для записи значения в ячейку памяти.
+     * @param address адрес ячейки памяти.
+     * @param value записываемое значение. Сохраняется только младший байт значения.
+     */
+    void setValue(int address, int value);
+
+    /**
+     * Метод для чтения последовательности ячеек памяти.
+     * @param address адрес первой ячейки памяти.
+     * @param buffer массив, в который копируется содержимое памяти.
+     * @param offset индекс в массиве, начиная с которого записываются значения.
+     * @param length количество копируемых ячеек.
+     */
+    void read(int address, byte[] buffer, int offset, int length);
+
+    /**
+     * Метод для записи последовательности ячеек памяти.
+     * @param address адрес первой ячейки памяти.
+     * @param buffer массив, из которого копируются значения.
+     * @param offset индекс в массиве, начиная с которого читаются значения.
+     * @param length количество копируемых ячеек.
+     */
+    void write(int address, byte[] buffer, int offset, int length);
+
+    /**
+     * Метод для сброса памяти в нулевое состояние.
+     */
+    void clear();
+}
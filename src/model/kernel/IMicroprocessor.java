@@ -89,21 +89,112 @@ public interface IMicroprocessor {
      */
     void setIntraProgramIOEventsListener(IIntraProgramIOEventsListener ioSystem);
 
+    /**
+     * Метод для выполнения команды, адрес которой находится в программном счётчике.
+     * Команда HLT не выполняется.
+     * @return true, если по адресу из программного счётчика находится команда HLT, иначе false.
+     */
+    boolean step();
+
+    /**
+     * Метод для выполнения последовательности команд, начиная с адреса из программного
+     * счётчика. Выполнение прекращается на команде HLT (она не выполняется) или после
+     * выполнения указанного количества команд, а также после команды, на которой сработала
+     * точка наблюдения (см. {@link #setWatchpoint(int, int, boolean, boolean)}), и после
+     * команды ввода-вывода, завершившей пакет (см. {@link #endBatch()}).
+     * @param count максимальное количество выполняемых команд.
+     * @return количество выполненных команд. Значение меньше count означает остановку на HLT,
+     * срабатывание точки наблюдения или завершение пакета устройством ввода-вывода.
+     */
+    int execute(int count);
+
+    /**
+     * Метод для завершения пакета команд ({@link #execute(int)}, {@link #executeToBoundary(int)})
+     * после текущей команды. Вызывается устройством ввода-вывода при выполнении команды IN
+     * или OUT, если эмулятору нужно обработать изменения до выполнения следующих команд
+     * (например, после программирования таймера).
+     */
+    void endBatch();
+
+    /**
+     * Метод для выполнения последовательности команд до границы линейных участков.
+     * В отличие от {@link #execute(int)}, выполнение прекращается также, когда программный
+     * счётчик указывает на границу участков (см. {@link #setBlockBoundary(int, boolean)}),
+     * поэтому команды выполняются пакетами и при установленных точках остановки.
+     * @param count максимальное количество выполняемых команд.
+     * @return количество выполненных команд, 0 - если по адресу из программного счётчика
+     * находится команда HLT.
+     */
+    int executeToBoundary(int count);
+
+    /**
+     * Метод для выполнения линейного участка программы, начинающегося с адреса из
+     * программного счётчика. Участок заканчивается командой передачи управления
+     * (JMP, Jcc, CALL, Ccc, RET, Rcc, PCHL) или ввода-вывода (IN, OUT), которая
+     * выполняется последней, либо перед командой HLT или границей участков.
+     * @return количество выполненных команд, 0 - если по адресу из программного счётчика
+     * находится команда HLT.
+     */
+    int executeBlock();
+
+    /**
+     * Метод для установки или снятия границы линейных участков. Метод {@link #executeBlock()}
+     * не продолжает выполнение через границу, поэтому после него программный счётчик
+     * может указывать на границу (например, на точку остановки).
+     * @param address адрес границы.
+     * @param boundary true для установки границы, false для снятия.
+     */
+    void setBlockBoundary(int address, boolean boundary);
+
+    /**
+     * Метод для получения количества тактов (T-states), затраченных на выполнение команд
+     * и переходов в прерывания с момента сброса регистров. Длительность команд берётся
+     * из {@link CyclesTable}.
+     * @return количество тактов.
+     */
+    long getCycles();
+
+    /**
+     * Метод для получения количества команд, выполненных с момента сброса регистров.
+     * Переходы в прерывания не учитываются. Во время выполнения команд IN и OUT
+     * значение уже включает выполняемую команду.
+     * @return количество команд.
+     */
+    long getInstructions();
+
+    /**
+     * Метод для увеличения счётчика тактов без выполнения команд, например при ожидании
+     * прерывания после команды HLT.
+     * @param cycles количество тактов.
+     */
+    void addCycles(long cycles);
+
     /**
      * Метод для выполнения команды микропроцессором.
      * @param command выполняемая команда. Класс, реализующий интерфейс {@link model.kernel.cmd.ICommand}.
+     * @param arg аргумент команды (байт или двойной байт).
      */
-    void executeCommand(ICommand command);
+    void executeCommand(ICommand command, int arg);
 
     /**
      * Метод для проверки результата выполнения команды и
      * установки/сброса флагов состояния микропроцессора.
-     * @param value проверяемое значение.
+     * Флаги S, Z, P и C берутся из таблицы {@link FlagsTable}.
+     * @param value проверяемое значение (от -256 до 511).
+     * @param auxiliaryCarry значение флага AC ({@link FlagsTable#FLAG_AC} или 0).
+     */
+    void checkValueForSetFlags(int value, int auxiliaryCarry);
+
+    /**
+     * Метод для проверки результата выполнения команды и установки/сброса флагов
+     * состояния микропроцессора без изменения флага переноса C.
+     * @param value проверяемое значение (от -256 до 511).
+     * @param auxiliaryCarry значение флага AC ({@link FlagsTable#FLAG_AC} или 0).
      */
-    void checkValueForSetFlags(int value);
+    void checkValueForSetFlagsWithoutCarry(int value, int auxiliaryCarry);
 
     /**
-     * Метод для сброса регистров микропроцессора в нулевое состояние.
+     * Метод для сброса регистров микропроцессора и счётчика тактов в нулевое состояние.
      */
     void resetRegisters();
 
@@ -114,6 +205,7 @@ public interface IMicroprocessor {
 
     /**
      * Метод для чтения значения из памяти по указанному адресу.
+     * Чтение проверяется точками наблюдения за памятью.
      * @param address адрес ячейки памяти.
      * @return значение из указанной ячейки памяти.
      */
@@ -121,11 +213,40 @@ public interface IMicroprocessor {
 
     /**
      * Метод для записи значения в память по указанному адресу.
+     * Запись проверяется точками наблюдения за памятью.
      * @param address адрес ячейки памяти.
      * @param value записываемое значение.
      */
     void setValueInMemoryByAddress(int address, int value);
 
+    /**
+     * Метод для чтения значения из памяти по указанному адресу без проверки точками
+     * наблюдения за памятью (например, при проверке условий отладчиком).
+     * @param address адрес ячейки памяти.
+     * @return значение из указанной ячейки памяти.
+     */
+    int peekMemory(int address);
+
+    /**
+     * Метод для чтения последовательности ячеек памяти одним вызовом.
+     * Точками наблюдения за памятью не проверяется.
+     * @param address адрес первой ячейки памяти.
+     * @param buffer массив, в который копируется содержимое памяти.
+     * @param offset индекс в массиве, начиная с которого записываются значения.
+     * @param length количество копируемых ячеек.
+     */
+    void readMemory(int address, byte[] buffer, int offset, int length);
+
+    /**
+     * Метод для записи последовательности ячеек памяти одним вызовом.
+     * Точками наблюдения за памятью не проверяется.
+     * @param address адрес первой ячейки памяти.
+     * @param buffer массив, из которого копируются значения.
+     * @param offset индекс в массиве, начиная с которого читаются значения.
+     * @param length количество копируемых ячеек.
+     */
+    void writeMemory(int address, byte[] buffer, int offset, int length);
+
     /**
      * Метод для получения размера памяти.
      * @return размер памяти.
@@ -136,7 +257,9 @@ public interface IMicroprocessor {
      * Метод для установки уровня приоритета исполняеммой программы.
      * Основная программа выполняется с приоритетом 8.
      * Приоритет повышается при входе в режим обработки прерывания и зависит от
-     * приоритета самого прерывания (7, 6, 5, 4, 3, 2, 1, 0)
+     * приоритета самого прерывания (7, 6, 5, 4, 3, 2, 1, 0).
+     * Вызывается непосредственно перед {@link #interrupt(ICommand, int)}: вместе с уровнем
+     * запоминается указатель стека, по которому определяется возврат из обработчика.
      * @param level приоритет
      */
     void setExecutionLevel(int level);
@@ -148,13 +271,62 @@ public interface IMicroprocessor {
     int getExecutionLevel();
 
     /**
-     * Метод для возврата к предыдущему уровня приоритета исполнения программы
+     * Метод для разрешения и запрещения прерываний (команды EI и DI).
+     * После сброса регистров прерывания разрешены.
+     * @param enabled true - прерывания разрешены, false - запрещены.
+     */
+    void setInterruptsEnabled(boolean enabled);
+
+    /**
+     * Метод для проверки, разрешены ли прерывания.
+     * @return true - если прерывания разрешены, иначе - false.
+     */
+    boolean isInterruptsEnabled();
+
+    /**
+     * Метод для возврата к предыдущему уровню приоритета исполнения программы.
+     * Вызывается командами возврата после извлечения адреса из стека. Уровень понижается,
+     * только если извлечён адрес возврата, помещённый в стек при входе в прерывание,
+     * поэтому возвраты из подпрограмм уровень не изменяют.
      */
     void returnFromInterrupt();
 
     /**
      * Переход в прерывание
-     * @param command
+     * @param command команда перехода к обработчику прерывания.
+     * @param arg аргумент команды (адрес обработчика прерывания).
+     */
+    void interrupt(ICommand command, int arg);
+
+    /**
+     * Метод для установки режима наблюдения за областью памяти (точки наблюдения, watchpoints).
+     * Чтение или запись наблюдаемой ячейки командой программы запоминается, и выполнение
+     * прекращается после этой команды. Выборка кодов команд и их аргументов не проверяется.
+     * Прежний режим наблюдения за ячейками области заменяется, поэтому вызов с read и write,
+     * равными false, снимает наблюдение.
+     * @param address адрес первой ячейки области.
+     * @param length количество ячеек.
+     * @param read true для наблюдения за чтением.
+     * @param write true для наблюдения за записью.
+     * @throws IllegalArgumentException если область выходит за пределы памяти.
+     */
+    void setWatchpoint(int address, int length, boolean read, boolean write);
+
+    /**
+     * Метод для снятия всех точек наблюдения за памятью.
+     */
+    void removeAllWatchpoints();
+
+    /**
+     * Метод для получения сведений о первом срабатывании точки наблюдения с момента
+     * последнего сброса.
+     * @return сведения о срабатывании или null, если точки наблюдения не срабатывали.
+     */
+    WatchpointHit getWatchpointHit();
+
+    /**
+     * Метод для сброса срабатывания точки наблюдения. Пока срабатывание не сброшено,
+     * выполнение пакета команд прекращается после каждой команды.
      */
-    void interrupt(ICommand command);
+    void resetWatchpointHit();
 }
\ No newline at end of file
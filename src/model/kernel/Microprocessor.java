@@ -2,8 +2,8 @@ package model.kernel;
 
 import model.emulator.IIntraProgramIOEventsListener;
 import model.kernel.cmd.ICommand;
-
-import java.util.ArrayList;
+import model.translator.CommandsTable;
+import model.translator.Intel8080CommandsCodes;
 
 /**
  * Класс микропроцессора Intel 8080.
@@ -12,22 +12,45 @@ import java.util.ArrayList;
  */
 public class Microprocessor implements IMicroprocessor {
 
-    private int[] memory;
+    private static final ICommand HLT = CommandsTable.getCommand(Intel8080CommandsCodes.HLT);
+
+    private IMemory memory;
+    private final DecodedCommandsCache decodedCommands;
+    private final BasicBlocksCache basicBlocks;
     private int[] registers;
     private int flags;
+    private long cycles;
+    private long instructions;
 
-    private ArrayList<Integer> executionLevel;
+    private final ExecutionLevelStack executionLevels = new ExecutionLevelStack();
+    private boolean interruptsEnabled;
+
+    private final Watchpoints watchpoints;
 
     private IIntraProgramIOEventsListener ioSystem;
 
+    private boolean batchEnd;
+
     private IExecutableCommandEventsListener commandsExecuteListener;
 
     public Microprocessor(int memorySize) {
+        this(new ByteArrayMemory(memorySize));
+    }
+
+    /**
+     * Конструктор микропроцессора с указанной реализацией памяти.
+     * @param memory память микропроцессора, например {@link ByteArrayMemory}
+     *               или {@link DirectMemory}.
+     */
+    public Microprocessor(IMemory memory) {
         this.commandsExecuteListener = new ExecutableCommandEventsListener(this);
         this.flags = 0;
         this.registers = new int[Registers.SIZE.ordinal()];
-        this.memory = new int[memorySize];
-        this.executionLevel = new ArrayList<>();
+        this.memory = memory;
+        this.decodedCommands = new DecodedCommandsCache(memory.getSize());
+        this.basicBlocks = new BasicBlocksCache(this, memory, commandsExecuteListener);
+        this.interruptsEnabled = true;
+        this.watchpoints = new Watchpoints(memory.getSize());
     }
 
     @Override
@@ -42,62 +65,34 @@ public class Microprocessor implements IMicroprocessor {
 
     @Override
     public int getValueFromFlag(Flags flag) {
-        int value = 0;
-        switch (flag) {
-            case S: {
-                value = (flags & 0b10000000) > 0 ? 1 : 0;
-                break;
-            }
-            case Z: {
-                value = (flags & 0b01000000) > 0 ? 1 : 0;
-                break;
-            }
-            case P: {
-                value = (flags & 0b00000100) > 0 ? 1 : 0;
-                break;
-            }
-            case C: {
-                value = (flags & 0b00000001) > 0 ? 1 : 0;
-                break;
-            }
-        }
-        return value;
+        return (flags & getFlagMask(flag)) > 0 ? 1 : 0;
     }
 
     @Override
     public void setValueInFlag(Flags flag, int value) {
+        if (value > 0) {
+            flags = flags | getFlagMask(flag);
+        } else {
+            flags = flags & ~getFlagMask(flag);
+        }
+    }
+
+    private static int getFlagMask(Flags flag) {
         switch (flag) {
             case S: {
-                if (value > 0) {
-                    flags = flags | (1 << 7);
-                } else {
-                    flags = flags & 0b01111111;
-                }
-                break;
+                return FlagsTable.FLAG_S;
             }
             case Z: {
-                if (value > 0) {
-                    flags = flags | (1 << 6);
-                } else {
-                    flags = flags & 0b10111111;
-                }
-                break;
+                return FlagsTable.FLAG_Z;
+            }
+            case AC: {
+                return FlagsTable.FLAG_AC;
             }
             case P: {
-                if (value > 0) {
-                    flags = flags | (1 << 2);
-                } else {
-                    flags = flags & 0b11111011;
-                }
-                break;
+                return FlagsTable.FLAG_P;
             }
-            case C: {
-                if (value > 0) {
-                    flags = flags | 1;
-                } else {
-                    flags = flags & 0b11111110;
-                }
-                break;
+            default: {
+                return FlagsTable.FLAG_C;
             }
         }
     }
@@ -114,47 +109,187 @@ public class Microprocessor implements IMicroprocessor {
 
 
     @Override
-    public void executeCommand(ICommand command) {
+    public boolean step() {
+        int address = getValueFromRegister(Registers.PC);
+        int entry = decodedCommands.get(address);
+        if (entry < 0) {
+            int code = memory.getValue(address);
+            int size = CommandsTable.getCommand(code).getSize();
+            entry = decodedCommands.put(address, code, CommandsTable.getArgument(memory, address, size));
+        }
+        int code = DecodedCommandsCache.getCode(entry);
+        ICommand command = CommandsTable.getCommand(code);
+        if (command == HLT) {
+            return true;
+        }
+        int SP = getValueFromRegister(Registers.SP);
+        // Такты команды учитываются до её выполнения, чтобы устройства ввода-вывода видели
+        // то же значение счётчика тактов, что и при пакетном выполнении.
+        cycles += CyclesTable.getCycles(code);
+        ++instructions;
+        executeCommand(command, DecodedCommandsCache.getArgument(entry));
+        if (CyclesTable.isConditionalCallOrReturn(code) && getValueFromRegister(Registers.SP) != SP) {
+            cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+        }
+        if (watchpoints.isHit()) {
+            watchpoints.setCommandAddress(address);
+        }
+        return false;
+    }
+
+    @Override
+    public int executeBlock() {
         int PC = getValueFromRegister(Registers.PC);
-        PC = (PC + command.getSize()) % memory.length;
-        setValueInRegister(Registers.PC, PC);
-        command.execute(commandsExecuteListener);
+        if (!basicBlocks.isCacheable(PC)) {
+            // Код по адресу часто изменяется: участок заменяется одной командой.
+            return step() ? 0 : 1;
+        }
+        BasicBlock block = basicBlocks.get(PC);
+        if (block == null) {
+            return 0;
+        }
+        Runnable[] body = block.body;
+        for (int i = 0; i < body.length; ++i) {
+            body[i].run();
+            if (watchpoints.isHit()) {
+                // Команда обратилась к наблюдаемой ячейке памяти.
+                watchpoints.setCommandAddress(i == 0 ? block.start : block.nextAddresses[i - 1]);
+                setValueInRegister(Registers.PC, block.nextAddresses[i]);
+                cycles += block.executedCycles[i];
+                instructions += block.executedCommands[i];
+                return block.executedCommands[i];
+            }
+            if (!block.valid) {
+                // Команда изменила код самого участка: оставшиеся команды будут
+                // прочитаны из памяти заново.
+                setValueInRegister(Registers.PC, block.nextAddresses[i]);
+                cycles += block.executedCycles[i];
+                instructions += block.executedCommands[i];
+                return block.executedCommands[i];
+            }
+        }
+        setValueInRegister(Registers.PC, block.exitAddress);
+        cycles += block.cycles;
+        instructions += block.commandsCount;
+        if (block.exit != null) {
+            if (block.conditionalExit) {
+                // Условный вызов или возврат выполнен, если изменился указатель стека.
+                int SP = getValueFromRegister(Registers.SP);
+                block.exit.run();
+                if (getValueFromRegister(Registers.SP) != SP) {
+                    cycles += CyclesTable.BRANCH_TAKEN_CYCLES;
+                }
+            } else {
+                block.exit.run();
+            }
+            if (watchpoints.isHit()) {
+                watchpoints.setCommandAddress(body.length == 0
+                        ? block.start : block.nextAddresses[body.length - 1]);
+            }
+        }
+        return block.commandsCount;
     }
 
     @Override
-    public void interrupt(ICommand command) {
-        command.execute(commandsExecuteListener);
+    public void setBlockBoundary(int address, boolean boundary) {
+        basicBlocks.setBoundary(address, boundary);
     }
 
     @Override
-    public void checkValueForSetFlags(int value) {
-        if (value % 256 == 0) {
-            setValueInFlag(Flags.Z, 1);
-        } else {
-            setValueInFlag(Flags.Z, 0);
+    public int execute(int count) {
+        int executed = 0;
+        batchEnd = false;
+        while (count - executed >= BasicBlocksCache.MAX_BLOCK_LENGTH) {
+            int blockLength = executeBlock();
+            if (blockLength == 0) {
+                return executed;
+            }
+            executed += blockLength;
+            if (watchpoints.isHit() || batchEnd) {
+                return executed;
+            }
         }
-
-        if (value < 0) {
-            setValueInFlag(Flags.S, 1);
-        } else {
-            setValueInFlag(Flags.S, 0);
+        while (executed < count && !step()) {
+            ++executed;
+            if (watchpoints.isHit() || batchEnd) {
+                break;
+            }
         }
+        return executed;
+    }
 
-        if (value > 255 || value < 0) {
-            setValueInFlag(Flags.C, 1);
-        } else {
-            setValueInFlag(Flags.C, 0);
+    @Override
+    public int executeToBoundary(int count) {
+        int executed = 0;
+        batchEnd = false;
+        while (count - executed >= BasicBlocksCache.MAX_BLOCK_LENGTH) {
+            int blockLength = executeBlock();
+            if (blockLength == 0) {
+                return executed;
+            }
+            executed += blockLength;
+            if (watchpoints.isHit() || batchEnd
+                    || basicBlocks.isBoundary(getValueFromRegister(Registers.PC))) {
+                return executed;
+            }
+        }
+        while (executed < count && !step()) {
+            ++executed;
+            if (watchpoints.isHit() || batchEnd
+                    || basicBlocks.isBoundary(getValueFromRegister(Registers.PC))) {
+                break;
+            }
         }
+        return executed;
+    }
 
-        if (value < 0) value += 256;
+    @Override
+    public void executeCommand(ICommand command, int arg) {
+        int PC = getValueFromRegister(Registers.PC);
+        PC = (PC + command.getSize()) % memory.getSize();
+        setValueInRegister(Registers.PC, PC);
+        command.execute(commandsExecuteListener, arg);
+    }
 
-        int counter = 0;
-        for (int i = 0; i < 8; ++i) {
-            counter += value % 2;
-            value = value >> 1;
+    @Override
+    public void interrupt(ICommand command, int arg) {
+        int address = getValueFromRegister(Registers.PC);
+        command.execute(commandsExecuteListener, arg);
+        cycles += CyclesTable.INTERRUPT_CYCLES;
+        if (watchpoints.isHit()) {
+            watchpoints.setCommandAddress(address);
         }
+    }
+
+    @Override
+    public long getCycles() {
+        return cycles;
+    }
+
+    @Override
+    public long getInstructions() {
+        return instructions;
+    }
 
-        setValueInFlag(Flags.P, (counter + 1) % 2);
+    @Override
+    public void endBatch() {
+        batchEnd = true;
+    }
+
+    @Override
+    public void addCycles(long cycles) {
+        this.cycles += cycles;
+    }
+
+    @Override
+    public void checkValueForSetFlags(int value, int auxiliaryCarry) {
+        flags = (flags & ~FlagsTable.ARITHMETIC_FLAGS) | FlagsTable.getFlags(value) | auxiliaryCarry;
+    }
+
+    @Override
+    public void checkValueForSetFlagsWithoutCarry(int value, int auxiliaryCarry) {
+        int mask = FlagsTable.ARITHMETIC_FLAGS & ~FlagsTable.FLAG_C;
+        flags = (flags & ~mask) | (FlagsTable.getFlags(value) & mask) | auxiliaryCarry;
     }
 
     @Override
@@ -164,13 +299,17 @@ public class Microprocessor implements IMicroprocessor {
         }
 
         flags = 0;
+        cycles = 0;
+        instructions = 0;
+        interruptsEnabled = true;
+        executionLevels.clear();
     }
 
     @Override
     public void resetMemory() {
-        for (int i = 0; i < memory.length; ++i) {
-            memory[i] = 0;
-        }
+        memory.clear();
+        decodedCommands.clear();
+        basicBlocks.reset();
     }
 
     @Override
@@ -238,37 +377,86 @@ public class Microprocessor implements IMicroprocessor {
 
     @Override
     public int getValueFromMemoryByAddress(int address) {
-        return memory[address];
+        watchpoints.checkRead(address);
+        return memory.getValue(address);
     }
 
     @Override
     public void setValueInMemoryByAddress(int address, int value) {
-        memory[address] = value;
+        watchpoints.checkWrite(address);
+        memory.setValue(address, value);
+        decodedCommands.invalidate(address, 1);
+        basicBlocks.invalidate(address, 1);
+    }
+
+    @Override
+    public int peekMemory(int address) {
+        return memory.getValue(address);
+    }
+
+    @Override
+    public void readMemory(int address, byte[] buffer, int offset, int length) {
+        memory.read(address, buffer, offset, length);
+    }
+
+    @Override
+    public void writeMemory(int address, byte[] buffer, int offset, int length) {
+        memory.write(address, buffer, offset, length);
+        decodedCommands.invalidate(address, length);
+        basicBlocks.invalidate(address, length);
     }
 
     @Override
     public int getMemorySize() {
-        return memory.length;
+        return memory.getSize();
     }
 
     @Override
     public void setExecutionLevel(int level) {
-        executionLevel.add(level);
+        executionLevels.push(level, getValueFromRegister(Registers.SP));
     }
 
     @Override
     public int getExecutionLevel() {
-        if (executionLevel.size() > 0) {
-            return executionLevel.get(executionLevel.size() - 1);
-        } else {
-            return 8;
-        }
+        return executionLevels.peek();
+    }
+
+    @Override
+    public void setInterruptsEnabled(boolean enabled) {
+        interruptsEnabled = enabled;
+    }
+
+    @Override
+    public boolean isInterruptsEnabled() {
+        return interruptsEnabled;
     }
 
     @Override
     public void returnFromInterrupt() {
-        if (executionLevel.size() != 0) {
-            executionLevel.remove(executionLevel.size() - 1);
+        if (executionLevels.depth != 0) {
+            executionLevels.leave(getValueFromRegister(Registers.SP));
         }
     }
+
+    @Override
+    public void setWatchpoint(int address, int length, boolean read, boolean write) {
+        watchpoints.set(address, length, read, write);
+        basicBlocks.setFusionEnabled(!watchpoints.isArmed());
+    }
+
+    @Override
+    public void removeAllWatchpoints() {
+        watchpoints.clear();
+        basicBlocks.setFusionEnabled(true);
+    }
+
+    @Override
+    public WatchpointHit getWatchpointHit() {
+        return watchpoints.getHit();
+    }
+
+    @Override
+    public void resetWatchpointHit() {
+        watchpoints.resetHit();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package model.kernel;
+
+import model.translator.Intel8080CommandsCodes;
+
+/**
+ * Слитые команды (superinstructions) для пар команд, часто встречающихся в программах:
+ * DCR r + JNZ (счётчик цикла), INX H + MOV A,M и MOV A,M + CPI (просмотр массива),
+ * LDAX + STAX (копирование блока памяти).
+ * Пара выполняется одним обработчиком, который обращается к регистрам и памяти
+ * микропроцессора напрямую, минуя классы-команды. Результат выполнения совпадает
+ * с последовательным выполнением обеих команд.
+ * Слитые команды используются только при выполнении линейных участков: при выполнении
+ * по шагам каждая команда выполняется отдельно.
+ */
+class Superinstructions {
+
+    private static final Registers[] REGISTERS = {
+            Registers.B, Registers.C, Registers.D, Registers.E, Registers.H, Registers.L, Registers.M, Registers.A
+    };
+
+    /**
+     * Метод для получения слитой команды.
+     * Первая команда пары никогда не изменяет память, поэтому если вторая команда записывает
+     * в память код участка, пара целиком считается выполненной.
+     * @param mp микропроцессор, выполняющий команды.
+     * @param firstCode код первой команды.
+     * @param firstArg аргумент первой команды.
+     * @param secondCode код второй команды.
+     * @param secondArg аргумент второй команды.
+     * @return обработчик, выполняющий обе команды, или null, если пара не сливается.
+     */
+    static Runnable fuse(IMicroprocessor mp, int firstCode, int firstArg, int secondCode, int secondArg) {
+        if (isDecrementOfRegister(firstCode) && secondCode == Intel8080CommandsCodes.JNZ) {
+            Registers register = REGISTERS[(firstCode >> 3) & 7];
+            return () -> {
+                int value = mp.getValueFromRegister(register) - 1;
+                mp.checkValueForSetFlagsWithoutCarry(value, FlagsTable.getDecrementAuxiliaryCarry(value));
+                value = _Byte.getRoundedValue(value);
+                mp.setValueInRegister(register, value);
+                if (value != 0) {
+                    mp.setValueInRegister(Registers.PC, secondArg);
+                }
+            };
+        }
+        if (firstCode == Intel8080CommandsCodes.INX_H && secondCode == Intel8080CommandsCodes.MOV_A_M) {
+            return () -> {
+                int address = mp.getValueFromRegisterPair(RegisterPairs.H) + 1;
+                mp.setValueInFlag(Flags.C, address > 65535 ? 1 : 0);
+                address = _DByte.getRoundedValue(address);
+                mp.setValueInRegisterPair(RegisterPairs.H, address);
+                mp.setValueInRegister(Registers.A, mp.getValueFromMemoryByAddress(address));
+            };
+        }
+        if (firstCode == Intel8080CommandsCodes.MOV_A_M && secondCode == Intel8080CommandsCodes.CPI) {
+            return () -> {
+                int value = mp.getValueFromMemoryByAddress(mp.getValueFromRegisterPair(RegisterPairs.H));
+                mp.setValueInRegister(Registers.A, value);
+                int result = value - secondArg;
+                mp.checkValueForSetFlags(result,
+                        FlagsTable.getSubtractionAuxiliaryCarry(value, secondArg, result));
+            };
+        }
+        if ((firstCode == Intel8080CommandsCodes.LDAX_B || firstCode == Intel8080CommandsCodes.LDAX_D)
+                && (secondCode == Intel8080CommandsCodes.STAX_B || secondCode == Intel8080CommandsCodes.STAX_D)) {
+            RegisterPairs source = firstCode == Intel8080CommandsCodes.LDAX_B ? RegisterPairs.B : RegisterPairs.D;
+            RegisterPairs destination = secondCode == Intel8080CommandsCodes.STAX_B ? RegisterPairs.B : RegisterPairs.D;
+            return () -> {
+                int value = mp.getValueFromMemoryByAddress(mp.getValueFromRegisterPair(source));
+                mp.setValueInRegister(Registers.A, value);
+                mp.setValueInMemoryByAddress(mp.getValueFromRegisterPair(destination), value);
+            };
+        }
+        return null;
+    }
+
+    private static boolean isDecrementOfRegister(int code) {
+        return (code & 0b11000111) == 0b00000101 && code != Intel8080CommandsCodes.DCR_M;
+    }
+}
@@ -0,0 +1,46 @@
+package model.kernel;
+
+/**
+ * Сведения о срабатывании точки наблюдения за памятью.
+ */
+public class WatchpointHit {
+
+    private final int address;
+    private final boolean write;
+    private final int commandAddress;
+
+    WatchpointHit(int address, boolean write, int commandAddress) {
+        this.address = address;
+        this.write = write;
+        this.commandAddress = commandAddress;
+    }
+
+    /**
+     * @return адрес ячейки памяти, к которой обратилась команда.
+     */
+    public int getAddress() {
+        return address;
+    }
+
+    /**
+     * @return true для записи в ячейку памяти, false для чтения.
+     */
+    public boolean isWrite() {
+        return write;
+    }
+
+    /**
+     * @return адрес команды, обратившейся к памяти (при входе в прерывание - адрес команды,
+     * перед которой произошло прерывание), или -1, если обращение произошло вне выполнения
+     * команд.
+     */
+    public int getCommandAddress() {
+        return commandAddress;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %04X by command at %04X",
+                write ? "Write to" : "Read from", address, commandAddress);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package model.kernel;
+
+import java.util.Arrays;
+
+/**
+ * Точки наблюдения за памятью (watchpoints) микропроцессора.
+ * Наблюдаемые адреса хранятся в двух битовых масках - для чтения и для записи, поэтому
+ * проверка обращения к памяти сводится к одному чтению элемента маски.
+ * Запоминается только первое срабатывание. Пока оно не сброшено методом {@link #resetHit()},
+ * микропроцессор прекращает выполнение пакета команд после каждой команды.
+ * Выборка кодов команд и их аргументов точками наблюдения не проверяется.
+ */
+class Watchpoints {
+
+    private final int size;
+    private final long[] reads;
+    private final long[] writes;
+    private int watchedCount;
+
+    private boolean hit;
+    private int hitAddress;
+    private boolean hitWrite;
+    private int hitCommandAddress;
+
+    Watchpoints(int memorySize) {
+        this.size = memorySize;
+        this.reads = new long[(memorySize + 63) / 64];
+        this.writes = new long[(memorySize + 63) / 64];
+    }
+
+    /**
+     * @return true, если наблюдается хотя бы одна ячейка памяти.
+     */
+    boolean isArmed() {
+        return watchedCount != 0;
+    }
+
+    /**
+     * Метод для установки режима наблюдения за областью памяти. Прежний режим наблюдения
+     * за ячейками области заменяется.
+     * @param address адрес первой ячейки области.
+     * @param length количество ячеек.
+     * @param read true для наблюдения за чтением.
+     * @param write true для наблюдения за записью.
+     * @throws IllegalArgumentException если область выходит за пределы памяти.
+     */
+    void set(int address, int length, boolean read, boolean write) {
+        if (address < 0 || length < 0 || address + length > size) {
+            throw new IllegalArgumentException("Watchpoint " + address + "+" + length
+                    + " is out of memory");
+        }
+        for (int i = address; i < address + length; ++i) {
+            watchedCount += update(reads, i, read) + update(writes, i, write);
+        }
+    }
+
+    /**
+     * Метод для снятия всех точек наблюдения и сброса срабатывания.
+     */
+    void clear() {
+        Arrays.fill(reads, 0);
+        Arrays.fill(writes, 0);
+        watchedCount = 0;
+        hit = false;
+    }
+
+    /**
+     * Проверка чтения ячейки памяти командой.
+     */
+    void checkRead(int address) {
+        if ((reads[address >>> 6] & (1L << address)) != 0) {
+            record(address, false);
+        }
+    }
+
+    /**
+     * Проверка записи в ячейку памяти командой.
+     */
+    void checkWrite(int address) {
+        if ((writes[address >>> 6] & (1L << address)) != 0) {
+            record(address, true);
+        }
+    }
+
+    /**
+     * @return true, если точка наблюдения сработала и срабатывание не сброшено.
+     */
+    boolean isHit() {
+        return hit;
+    }
+
+    /**
+     * Метод для указания адреса команды, обратившейся к памяти. Вызывается микропроцессором
+     * после выполнения команды, если точка наблюдения сработала. Запоминается только
+     * адрес первой такой команды.
+     */
+    void setCommandAddress(int address) {
+        if (hitCommandAddress < 0) {
+            hitCommandAddress = address;
+        }
+    }
+
+    /**
+     * @return сведения о первом срабатывании или null, если точки наблюдения не срабатывали.
+     */
+    WatchpointHit getHit() {
+        return hit ? new WatchpointHit(hitAddress, hitWrite, hitCommandAddress) : null;
+    }
+
+    /**
+     * Метод для сброса срабатывания.
+     */
+    void resetHit() {
+        hit = false;
+    }
+
+    private void record(int address, boolean write) {
+        if (!hit) {
+            hit = true;
+            hitAddress = address;
+            hitWrite = write;
+            hitCommandAddress = -1;
+        }
+    }
+
+    private static int update(long[] mask, int address, boolean watched) {
+        long bit = 1L << address;
+        int wasWatched = (mask[address >>> 6] & bit) != 0 ? 1 : 0;
+        if (watched) {
+            mask[address >>> 6] |= bit;
+        } else {
+            mask[address >>> 6] &= ~bit;
+        }
+        return (watched ? 1 : 0) - wasWatched;
+    }
+}
\ No newline at end of file
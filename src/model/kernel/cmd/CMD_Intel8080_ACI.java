@@ -1,5 +1,6 @@
 package model.kernel.cmd;
 
+import model.kernel.FlagsTable;
 import model.kernel.IExecutableCommandEventsListener;
 import model.kernel.Flags;
 import model.kernel.Registers;
@@ -7,22 +8,16 @@ import model.kernel._Byte;
 
 public class CMD_Intel8080_ACI implements ICommand {
 
-    private String arg;
-
     public CMD_Intel8080_ACI() {}
 
     @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
-        int firstValue = Integer.valueOf(arg, 16);
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
+        int firstValue = arg;
         int secondValue = executeListener.requestOnGetValueFromRegister(Registers.A);
-        firstValue += secondValue + executeListener.requestOnGetValueFromFlag(Flags.C);
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
-        firstValue = _Byte.getRoundedValue(firstValue);
+        int result = firstValue + secondValue + executeListener.requestOnGetValueFromFlag(Flags.C);
+        int auxiliaryCarry = FlagsTable.getAdditionAuxiliaryCarry(firstValue, secondValue, result);
+        executeListener.requestOnCheckByteForSetFlags(result, auxiliaryCarry);
+        firstValue = _Byte.getRoundedValue(result);
         executeListener.requestOnSetValueInRegister(Registers.A, firstValue);
     }
 
@@ -32,7 +27,7 @@ public class CMD_Intel8080_ACI implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "ACI " + arg;
+    public String getName(int arg) {
+        return "ACI " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
@@ -4,17 +4,14 @@ import model.kernel.*;
 
 public class CMD_Intel8080_ADC implements ICommand {
 
-    private Registers register;
+    private final Registers register;
 
     public CMD_Intel8080_ADC(Registers register) {
         this.register = register;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegister(Registers.A);
         int secondValue;
         if (register == Registers.M) {
@@ -23,9 +20,10 @@ public class CMD_Intel8080_ADC implements ICommand {
         } else {
             secondValue = executeListener.requestOnGetValueFromRegister(register);
         }
-        firstValue = firstValue + secondValue + executeListener.requestOnGetValueFromFlag(Flags.C);
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
-        firstValue = _Byte.getRoundedValue(firstValue);
+        int result = firstValue + secondValue + executeListener.requestOnGetValueFromFlag(Flags.C);
+        int auxiliaryCarry = FlagsTable.getAdditionAuxiliaryCarry(firstValue, secondValue, result);
+        executeListener.requestOnCheckByteForSetFlags(result, auxiliaryCarry);
+        firstValue = _Byte.getRoundedValue(result);
         executeListener.requestOnSetValueInRegister(Registers.A, firstValue);
     }
 
@@ -35,7 +33,7 @@ public class CMD_Intel8080_ADC implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "ADC " + register;
     }
 }
\ No newline at end of file
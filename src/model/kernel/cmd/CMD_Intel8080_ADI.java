@@ -1,29 +1,20 @@
 package model.kernel.cmd;
 
+import model.kernel.FlagsTable;
 import model.kernel.IExecutableCommandEventsListener;
 import model.kernel.Registers;
 import model.kernel._Byte;
 
 public class CMD_Intel8080_ADI implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_ADI() {
-        this.arg = "0x00";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
-        int firstValue = Integer.valueOf(arg, 16);
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
+        int firstValue = arg;
         int secondValue = executeListener.requestOnGetValueFromRegister(Registers.A);
-        firstValue += secondValue;
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
-        firstValue = _Byte.getRoundedValue(firstValue);
+        int result = firstValue + secondValue;
+        int auxiliaryCarry = FlagsTable.getAdditionAuxiliaryCarry(firstValue, secondValue, result);
+        executeListener.requestOnCheckByteForSetFlags(result, auxiliaryCarry);
+        firstValue = _Byte.getRoundedValue(result);
         executeListener.requestOnSetValueInRegister(Registers.A, firstValue);
     }
 
@@ -33,7 +24,7 @@ public class CMD_Intel8080_ADI implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "ADI " + arg;
+    public String getName(int arg) {
+        return "ADI " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
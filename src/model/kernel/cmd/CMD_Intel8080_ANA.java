@@ -1,22 +1,20 @@
 package model.kernel.cmd;
 
+import model.kernel.FlagsTable;
 import model.kernel.IExecutableCommandEventsListener;
 import model.kernel.RegisterPairs;
 import model.kernel.Registers;
 
 public class CMD_Intel8080_ANA implements ICommand {
 
-    private Registers register;
+    private final Registers register;
 
     public CMD_Intel8080_ANA(Registers register) {
         this.register = register;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegister(Registers.A);
         int secondValue;
         if (register == Registers.M) {
@@ -26,8 +24,9 @@ public class CMD_Intel8080_ANA implements ICommand {
             secondValue = executeListener.requestOnGetValueFromRegister(register);
         }
 
+        int auxiliaryCarry = FlagsTable.getLogicalAndAuxiliaryCarry(firstValue, secondValue);
         firstValue = firstValue & secondValue;
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
+        executeListener.requestOnCheckByteForSetFlags(firstValue, auxiliaryCarry);
 
         executeListener.requestOnSetValueInRegister(Registers.A, firstValue);
     }
@@ -38,7 +37,7 @@ public class CMD_Intel8080_ANA implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "ANA " + register;
     }
 }
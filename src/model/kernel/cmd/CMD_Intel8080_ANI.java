@@ -1,27 +1,18 @@
 package model.kernel.cmd;
 
+import model.kernel.FlagsTable;
 import model.kernel.IExecutableCommandEventsListener;
 import model.kernel.Registers;
 
 public class CMD_Intel8080_ANI implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_ANI() {
-        this.arg = "0x00";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegister(Registers.A);
-        int secondValue = Integer.valueOf(arg, 16);
+        int secondValue = arg;
+        int auxiliaryCarry = FlagsTable.getLogicalAndAuxiliaryCarry(firstValue, secondValue);
         firstValue = firstValue & secondValue;
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
+        executeListener.requestOnCheckByteForSetFlags(firstValue, auxiliaryCarry);
         executeListener.requestOnSetValueInRegister(Registers.A, firstValue);
     }
 
@@ -31,7 +22,7 @@ public class CMD_Intel8080_ANI implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "ANI " + arg;
+    public String getName(int arg) {
+        return "ANI " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
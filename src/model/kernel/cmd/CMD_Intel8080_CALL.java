@@ -5,20 +5,9 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_CALL implements ICommand {
 
-    protected String arg;
-
-    public CMD_Intel8080_CALL() {
-        this.arg = "0x0000";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
-        int callAddress = Integer.valueOf(arg, 16);
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
+        int callAddress = arg;
         int pushAddress = executeListener.requestOnGetValueFromRegister(Registers.PC);
         CMD_Intel8080_PUSH.push(executeListener, pushAddress);
         executeListener.requestOnSetValueInRegister(Registers.PC, callAddress);
@@ -30,7 +19,7 @@ public class CMD_Intel8080_CALL implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "CALL " + arg;
+    public String getName(int arg) {
+        return "CALL " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
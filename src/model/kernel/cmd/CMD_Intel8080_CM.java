@@ -10,14 +10,14 @@ public class CMD_Intel8080_CM extends CMD_Intel8080_CALL {
     }
 
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         if (executeListener.requestOnGetValueFromFlag(Flags.S) == 1) {
-            super.execute(executeListener);
+            super.execute(executeListener, arg);
         }
     }
 
     @Override
-    public String getName() {
-        return "CP " + arg;
+    public String getName(int arg) {
+        return "CP " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
@@ -6,10 +6,7 @@ import model.kernel.Registers;
 public class CMD_Intel8080_CMA implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value = executeListener.requestOnGetValueFromRegister(Registers.A);
         value = 255 - value;
         executeListener.requestOnSetValueInRegister(Registers.A, value);
@@ -21,7 +18,7 @@ public class CMD_Intel8080_CMA implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "CMA";
     }
 }
\ No newline at end of file
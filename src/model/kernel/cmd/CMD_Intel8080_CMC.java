@@ -6,10 +6,7 @@ import model.kernel.Flags;
 public class CMD_Intel8080_CMC implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value = executeListener.requestOnGetValueFromFlag(Flags.C);
         value = (value + 1) % 2;
         executeListener.requestOnSetValueInFlag(Flags.C, value);
@@ -21,7 +18,7 @@ public class CMD_Intel8080_CMC implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "CMC";
     }
 }
\ No newline at end of file
@@ -1,22 +1,20 @@
 package model.kernel.cmd;
 
+import model.kernel.FlagsTable;
 import model.kernel.IExecutableCommandEventsListener;
 import model.kernel.RegisterPairs;
 import model.kernel.Registers;
 
 public class CMD_Intel8080_CMP implements ICommand {
 
-    private Registers register;
+    private final Registers register;
 
     public CMD_Intel8080_CMP(Registers register) {
         this.register = register;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegister(Registers.A);
         int secondValue;
         if (register == Registers.M) {
@@ -25,8 +23,9 @@ public class CMD_Intel8080_CMP implements ICommand {
         } else {
             secondValue = executeListener.requestOnGetValueFromRegister(register);
         }
-        firstValue = firstValue - secondValue;
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
+        int result = firstValue - secondValue;
+        int auxiliaryCarry = FlagsTable.getSubtractionAuxiliaryCarry(firstValue, secondValue, result);
+        executeListener.requestOnCheckByteForSetFlags(result, auxiliaryCarry);
     }
 
     @Override
@@ -35,7 +34,7 @@ public class CMD_Intel8080_CMP implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "CMP " + register;
     }
 }
\ No newline at end of file
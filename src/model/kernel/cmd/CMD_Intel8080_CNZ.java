@@ -10,14 +10,14 @@ public class CMD_Intel8080_CNZ  extends CMD_Intel8080_CALL {
     }
 
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         if (executeListener.requestOnGetValueFromFlag(Flags.Z) == 0) {
-            super.execute(executeListener);
+            super.execute(executeListener, arg);
         }
     }
 
     @Override
-    public String getName() {
-        return "CNZ " + arg;
+    public String getName(int arg) {
+        return "CNZ " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
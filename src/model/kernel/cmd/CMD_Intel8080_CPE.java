@@ -10,14 +10,14 @@ public class CMD_Intel8080_CPE  extends CMD_Intel8080_CALL {
     }
 
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         if (executeListener.requestOnGetValueFromFlag(Flags.P) == 1) {
-            super.execute(executeListener);
+            super.execute(executeListener, arg);
         }
     }
 
     @Override
-    public String getName() {
-        return "CPE " + arg;
+    public String getName(int arg) {
+        return "CPE " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
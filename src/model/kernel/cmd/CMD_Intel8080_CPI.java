@@ -1,27 +1,18 @@
 package model.kernel.cmd;
 
+import model.kernel.FlagsTable;
 import model.kernel.IExecutableCommandEventsListener;
 import model.kernel.Registers;
 
 public class CMD_Intel8080_CPI implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_CPI() {
-        this.arg = "0x00";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegister(Registers.A);
-        int secondValue = Integer.valueOf(arg, 16);
-        firstValue -= secondValue;
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
+        int secondValue = arg;
+        int result = firstValue - secondValue;
+        int auxiliaryCarry = FlagsTable.getSubtractionAuxiliaryCarry(firstValue, secondValue, result);
+        executeListener.requestOnCheckByteForSetFlags(result, auxiliaryCarry);
     }
 
     @Override
@@ -30,7 +21,7 @@ public class CMD_Intel8080_CPI implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "CPI " + arg;
+    public String getName(int arg) {
+        return "CPI " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
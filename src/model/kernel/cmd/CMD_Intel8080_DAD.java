@@ -4,17 +4,14 @@ import model.kernel.*;
 
 public class CMD_Intel8080_DAD implements ICommand {
 
-    private RegisterPairs registerPair;
+    private final RegisterPairs registerPair;
 
     public CMD_Intel8080_DAD(RegisterPairs registerPair) {
         this.registerPair = registerPair;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
 
         int firstValue;
         if (registerPair != null) {
@@ -42,7 +39,7 @@ public class CMD_Intel8080_DAD implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         if (registerPair != null) {
             return "DAD " + registerPair;
         } else {
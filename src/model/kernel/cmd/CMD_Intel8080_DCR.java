@@ -4,17 +4,14 @@ import model.kernel.*;
 
 public class CMD_Intel8080_DCR implements ICommand {
 
-    private Registers register;
+    private final Registers register;
 
     public CMD_Intel8080_DCR(Registers register) {
         this.register = register;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value;
         if (register == Registers.M) {
             int address = executeListener.requestOnGetValueFromRegisterPair(RegisterPairs.H);
@@ -24,28 +21,8 @@ public class CMD_Intel8080_DCR implements ICommand {
         }
 
         value -= 1;
-        if (value % 256 == 0) {
-            executeListener.requestOnSetValueInFlag(Flags.Z, 1);
-        } else {
-            executeListener.requestOnSetValueInFlag(Flags.Z, 0);
-        }
-
-        if (value < 0) {
-            executeListener.requestOnSetValueInFlag(Flags.S, 1);
-        } else {
-            executeListener.requestOnSetValueInFlag(Flags.S, 0);
-        }
-
-        int tmpValue = value;
-        if (tmpValue < 0) tmpValue += 256;
-
-        int counter = 0;
-        for (int i = 0; i < 8; ++i) {
-            counter += tmpValue % 2;
-            tmpValue = tmpValue >> 1;
-        }
-
-        executeListener.requestOnSetValueInFlag(Flags.P, (counter + 1) % 2);
+        int auxiliaryCarry = FlagsTable.getDecrementAuxiliaryCarry(value);
+        executeListener.requestOnCheckByteForSetFlagsWithoutCarry(value, auxiliaryCarry);
         value = _Byte.getRoundedValue(value);
 
         if (register == Registers.M) {
@@ -62,7 +39,7 @@ public class CMD_Intel8080_DCR implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "DCR " + register;
     }
 }
\ No newline at end of file
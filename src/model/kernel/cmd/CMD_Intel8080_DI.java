@@ -0,0 +1,21 @@
+package model.kernel.cmd;
+
+import model.kernel.IExecutableCommandEventsListener;
+
+public class CMD_Intel8080_DI implements ICommand {
+
+    @Override
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
+        executeListener.requestOnSetInterruptsEnabled(false);
+    }
+
+    @Override
+    public int getSize() {
+        return 1;
+    }
+
+    @Override
+    public String getName(int arg) {
+        return "DI";
+    }
+}
\ No newline at end of file
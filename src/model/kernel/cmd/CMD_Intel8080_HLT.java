@@ -5,10 +5,7 @@ import model.kernel.IExecutableCommandEventsListener;
 public class CMD_Intel8080_HLT implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {}
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {}
 
     @Override
     public int getSize() {
@@ -16,7 +13,7 @@ public class CMD_Intel8080_HLT implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "HLT";
     }
 }
\ No newline at end of file
@@ -6,23 +6,12 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_IN implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_IN() {
-        this.arg = "0x00";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         IIntraProgramIOEventsListener ioSystem = executeListener.requestOnGetInputOutputActionListener();
         if (ioSystem != null) {
             int inputValue = 0;
-            int portNumber = Integer.valueOf(arg, 16);
+            int portNumber = arg;
             inputValue = ioSystem.in(portNumber);
             executeListener.requestOnSetValueInRegister(Registers.A, inputValue);
         }
@@ -34,7 +23,7 @@ public class CMD_Intel8080_IN implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "IN " + arg;
+    public String getName(int arg) {
+        return "IN " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
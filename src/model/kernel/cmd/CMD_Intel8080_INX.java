@@ -4,17 +4,14 @@ import model.kernel.*;
 
 public class CMD_Intel8080_INX implements ICommand {
 
-    private RegisterPairs registerPair;
+    private final RegisterPairs registerPair;
 
     public CMD_Intel8080_INX(RegisterPairs registerPair) {
         this.registerPair = registerPair;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value;
         if (registerPair != null) {
             value = executeListener.requestOnGetValueFromRegisterPair(registerPair);
@@ -45,7 +42,7 @@ public class CMD_Intel8080_INX implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         if (registerPair != null) {
             return "INX " + registerPair;
         } else {
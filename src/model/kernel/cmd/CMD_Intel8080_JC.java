@@ -10,14 +10,14 @@ public class CMD_Intel8080_JC extends CMD_Intel8080_JMP {
     }
 
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         if (executeListener.requestOnGetValueFromFlag(Flags.C) == 1) {
-            super.execute(executeListener);
+            super.execute(executeListener, arg);
         }
     }
 
     @Override
-    public String getName() {
-        return "JC " + arg;
+    public String getName(int arg) {
+        return "JC " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
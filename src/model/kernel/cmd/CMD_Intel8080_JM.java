@@ -10,14 +10,14 @@ public class CMD_Intel8080_JM extends CMD_Intel8080_JMP {
     }
 
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         if (executeListener.requestOnGetValueFromFlag(Flags.S) == 1) {
-            super.execute(executeListener);
+            super.execute(executeListener, arg);
         }
     }
 
     @Override
-    public String getName() {
-        return "JM " + arg;
+    public String getName(int arg) {
+        return "JM " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
@@ -5,20 +5,9 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_JMP implements ICommand {
 
-    protected String arg;
-
-    public CMD_Intel8080_JMP() {
-        this.arg = "0x0000";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
-        int address = Integer.valueOf(arg, 16);
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
+        int address = arg;
         executeListener.requestOnSetValueInRegister(Registers.PC, address);
     }
 
@@ -28,7 +17,7 @@ public class CMD_Intel8080_JMP implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "JMP " + arg;
+    public String getName(int arg) {
+        return "JMP " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
@@ -10,14 +10,14 @@ public class CMD_Intel8080_JNC extends CMD_Intel8080_JMP {
     }
 
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         if (executeListener.requestOnGetValueFromFlag(Flags.C) == 0) {
-            super.execute(executeListener);
+            super.execute(executeListener, arg);
         }
     }
 
     @Override
-    public String getName() {
-        return "JNC " + arg;
+    public String getName(int arg) {
+        return "JNC " + Integer.toHexString(arg).toUpperCase();
     }
 }
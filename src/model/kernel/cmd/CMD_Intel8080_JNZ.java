@@ -10,14 +10,14 @@ public class CMD_Intel8080_JNZ extends CMD_Intel8080_JMP {
     }
 
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         if (executeListener.requestOnGetValueFromFlag(Flags.Z) == 0) {
-            super.execute(executeListener);
+            super.execute(executeListener, arg);
         }
     }
 
     @Override
-    public String getName() {
-        return "JNZ " + arg;
+    public String getName(int arg) {
+        return "JNZ " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
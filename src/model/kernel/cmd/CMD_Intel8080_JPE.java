@@ -10,14 +10,14 @@ public class CMD_Intel8080_JPE extends CMD_Intel8080_JMP {
     }
 
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         if (executeListener.requestOnGetValueFromFlag(Flags.P) == 1) {
-            super.execute(executeListener);
+            super.execute(executeListener, arg);
         }
     }
 
     @Override
-    public String getName() {
-        return "JPE " + arg;
+    public String getName(int arg) {
+        return "JPE " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
@@ -5,20 +5,9 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_LDA implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_LDA() {
-        this.arg = "0x0000";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
-        int address = Integer.valueOf(arg, 16);
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
+        int address = arg;
         int value = executeListener.requestOnGetValueFromMemoryByAddress(address);
         executeListener.requestOnSetValueInRegister(Registers.A, value);
     }
@@ -29,7 +18,7 @@ public class CMD_Intel8080_LDA implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "LDA " + arg;
+    public String getName(int arg) {
+        return "LDA " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
@@ -6,17 +6,14 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_LDAX implements ICommand {
 
-    private RegisterPairs registerPair;
+    private final RegisterPairs registerPair;
 
     public CMD_Intel8080_LDAX(RegisterPairs registerPair) {
         this.registerPair = registerPair;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int address = executeListener.requestOnGetValueFromRegisterPair(registerPair);
         int value = executeListener.requestOnGetValueFromMemoryByAddress(address);
         executeListener.requestOnSetValueInRegister(Registers.A, value);
@@ -28,7 +25,7 @@ public class CMD_Intel8080_LDAX implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "LDAX " + registerPair;
     }
 }
\ No newline at end of file
@@ -6,20 +6,9 @@ import model.kernel._DByte;
 
 public class CMD_Intel8080_LHLD implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_LHLD() {
-        this.arg = "0x0000";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
-        int address = Integer.valueOf(arg, 16);
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
+        int address = arg;
         int value = executeListener.requestOnGetValueFromMemoryByAddress(address);
         executeListener.requestOnSetValueInRegister(Registers.L, value);
         address = _DByte.getRoundedValue(address + 1);
@@ -33,7 +22,7 @@ public class CMD_Intel8080_LHLD implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "LHLD " + arg;
+    public String getName(int arg) {
+        return "LHLD " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
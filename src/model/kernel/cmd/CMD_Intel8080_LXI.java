@@ -5,22 +5,15 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_LXI implements ICommand {
 
-    private Registers register;
-    private String secondArg;
+    private final Registers register;
 
     public CMD_Intel8080_LXI(Registers register) {
         this.register = register;
-        this.secondArg = "0x0000";
     }
 
     @Override
-    public void setArgument(String arg) {
-        this.secondArg = arg.toUpperCase();
-    }
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
-        int value = Integer.valueOf(secondArg, 16);
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
+        int value = arg;
         if (register != Registers.SP) {
             executeListener.requestOnSetValueInRegister(register, value / 256);
         }
@@ -49,7 +42,7 @@ public class CMD_Intel8080_LXI implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "LXI " + register + "," + secondArg;
+    public String getName(int arg) {
+        return "LXI " + register + "," + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
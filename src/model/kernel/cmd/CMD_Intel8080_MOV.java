@@ -6,8 +6,8 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_MOV implements ICommand {
 
-    private Registers firstRegister;
-    private Registers secondRegister;
+    private final Registers firstRegister;
+    private final Registers secondRegister;
 
     public CMD_Intel8080_MOV(Registers firstRegister, Registers secondRegister) {
         this.firstRegister = firstRegister;
@@ -15,10 +15,7 @@ public class CMD_Intel8080_MOV implements ICommand {
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value;
 
         if (secondRegister == Registers.M) {
@@ -42,7 +39,7 @@ public class CMD_Intel8080_MOV implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "MOV " + firstRegister + "," + secondRegister;
     }
 }
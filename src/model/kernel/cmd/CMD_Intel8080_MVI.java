@@ -6,22 +6,15 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_MVI implements ICommand {
 
-    private Registers register;
-    private String arg;
+    private final Registers register;
 
     public CMD_Intel8080_MVI(Registers register) {
         this.register = register;
-        this.arg = "0xFF";
     }
 
     @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
-        int value = Integer.valueOf(arg, 16);
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
+        int value = arg;
         if (register == Registers.M) {
             int address = executeListener.requestOnGetValueFromRegisterPair(RegisterPairs.H);
             executeListener.requestOnSetValueInMemoryByAddress(address, value);
@@ -36,7 +29,7 @@ public class CMD_Intel8080_MVI implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "MVI " + register + "," + arg;
+    public String getName(int arg) {
+        return "MVI " + register + "," + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
@@ -5,23 +5,12 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_ORI implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_ORI() {
-        this.arg = "0x00";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegister(Registers.A);
-        int secondValue = Integer.valueOf(arg, 16);
+        int secondValue = arg;
         firstValue = firstValue | secondValue;
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
+        executeListener.requestOnCheckByteForSetFlags(firstValue, 0);
         executeListener.requestOnSetValueInRegister(Registers.A, firstValue);
     }
 
@@ -31,7 +20,7 @@ public class CMD_Intel8080_ORI implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "ORI " + arg;
+    public String getName(int arg) {
+        return "ORI " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
@@ -6,23 +6,12 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_OUT implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_OUT() {
-        this.arg = "0x00";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         IIntraProgramIOEventsListener ioSystem = executeListener.requestOnGetInputOutputActionListener();
         if (ioSystem != null) {
             int outputValue = executeListener.requestOnGetValueFromRegister(Registers.A);
-            int portNumber = Integer.valueOf(arg, 16);
+            int portNumber = arg;
             ioSystem.out(portNumber, outputValue);
         }
     }
@@ -33,7 +22,7 @@ public class CMD_Intel8080_OUT implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "OUT " + arg;
+    public String getName(int arg) {
+        return "OUT " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
@@ -7,10 +7,7 @@ import model.kernel.Registers;
 public class CMD_Intel8080_PCHL implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int address = executeListener.requestOnGetValueFromRegisterPair(RegisterPairs.H);
         executeListener.requestOnSetValueInRegister(Registers.PC, address);
     }
@@ -21,7 +18,7 @@ public class CMD_Intel8080_PCHL implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "PCHL";
     }
 }
\ No newline at end of file
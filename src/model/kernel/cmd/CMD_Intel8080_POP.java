@@ -16,17 +16,14 @@ public class CMD_Intel8080_POP implements ICommand {
         return value;
     }
 
-    private Registers register;
+    private final Registers register;
 
     public CMD_Intel8080_POP(Registers register) {
         this.register = register;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value = pop(executeListener);
 
         if (register != null) {
@@ -61,7 +58,7 @@ public class CMD_Intel8080_POP implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         if (register != null) {
             return "POP " + register;
         } else {
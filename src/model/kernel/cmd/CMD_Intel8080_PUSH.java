@@ -15,17 +15,14 @@ public class CMD_Intel8080_PUSH implements ICommand {
         executeListener.requestOnSetValueInRegister(Registers.SP, address);
     }
 
-    private Registers register;
+    private final Registers register;
 
     public CMD_Intel8080_PUSH(Registers register) {
         this.register = register;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
 
         int value;
         if (register != null) {
@@ -61,7 +58,7 @@ public class CMD_Intel8080_PUSH implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         if (register != null) {
             return "PUSH " + register;
         } else {
@@ -8,10 +8,7 @@ import model.kernel._Byte;
 public class CMD_Intel8080_RAL implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value = executeListener.requestOnGetValueFromRegister(Registers.A);
         value = value << 1;
         if (executeListener.requestOnGetValueFromFlag(Flags.C) == 1) {
@@ -32,7 +29,7 @@ public class CMD_Intel8080_RAL implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "RAL";
     }
 }
\ No newline at end of file
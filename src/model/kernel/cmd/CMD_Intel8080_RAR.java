@@ -7,10 +7,7 @@ import model.kernel.Registers;
 public class CMD_Intel8080_RAR implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value = executeListener.requestOnGetValueFromRegister(Registers.A);
         if (executeListener.requestOnGetValueFromFlag(Flags.C) == 1) {
             value += 256;
@@ -30,7 +27,7 @@ public class CMD_Intel8080_RAR implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "RAR";
     }
 }
\ No newline at end of file
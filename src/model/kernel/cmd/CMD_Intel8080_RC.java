@@ -5,14 +5,14 @@ import model.kernel.Flags;
 
 public class CMD_Intel8080_RC extends CMD_Intel8080_RET {
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         if (executeListener.requestOnGetValueFromFlag(Flags.C) == 1) {
-            super.execute(executeListener);
+            super.execute(executeListener, arg);
         }
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "RC";
     }
 }
\ No newline at end of file
@@ -6,10 +6,7 @@ import model.kernel.Registers;
 public class CMD_Intel8080_RET implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int address = CMD_Intel8080_POP.pop(executeListener);
         executeListener.requestOnSetValueInRegister(Registers.PC, address);
         executeListener.returnFromInterrupt();
@@ -21,7 +18,7 @@ public class CMD_Intel8080_RET implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "RET";
     }
 }
\ No newline at end of file
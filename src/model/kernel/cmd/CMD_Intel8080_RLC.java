@@ -8,10 +8,7 @@ import model.kernel._Byte;
 public class CMD_Intel8080_RLC implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value = executeListener.requestOnGetValueFromRegister(Registers.A);
         value = value << 1;
         if (value > 255) {
@@ -30,7 +27,7 @@ public class CMD_Intel8080_RLC implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "RLC";
     }
 }
\ No newline at end of file
@@ -5,14 +5,14 @@ import model.kernel.Flags;
 
 public class CMD_Intel8080_RNC extends CMD_Intel8080_RET {
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         if (executeListener.requestOnGetValueFromFlag(Flags.C) == 0) {
-            super.execute(executeListener);
+            super.execute(executeListener, arg);
         }
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "RNC";
     }
 }
\ No newline at end of file
@@ -7,10 +7,7 @@ import model.kernel.Registers;
 public class CMD_Intel8080_RRC implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value = executeListener.requestOnGetValueFromRegister(Registers.A);
         if (value % 2 == 1) {
             value += 256;
@@ -28,7 +25,7 @@ public class CMD_Intel8080_RRC implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "RRC";
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package model.kernel.cmd;
 
+import model.kernel.FlagsTable;
 import model.kernel.IExecutableCommandEventsListener;
 import model.kernel.Flags;
 import model.kernel.Registers;
@@ -7,24 +8,14 @@ import model.kernel._Byte;
 
 public class CMD_Intel8080_SBI implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_SBI() {
-        this.arg = "0x00";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegister(Registers.A);
-        int secondValue = Integer.valueOf(arg, 16);
-        firstValue = firstValue - secondValue - executeListener.requestOnGetValueFromFlag(Flags.C);
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
-        firstValue = _Byte.getRoundedValue(firstValue);
+        int secondValue = arg;
+        int result = firstValue - secondValue - executeListener.requestOnGetValueFromFlag(Flags.C);
+        int auxiliaryCarry = FlagsTable.getSubtractionAuxiliaryCarry(firstValue, secondValue, result);
+        executeListener.requestOnCheckByteForSetFlags(result, auxiliaryCarry);
+        firstValue = _Byte.getRoundedValue(result);
         executeListener.requestOnSetValueInRegister(Registers.A, firstValue);
     }
 
@@ -34,7 +25,7 @@ public class CMD_Intel8080_SBI implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "SBI " + arg;
+    public String getName(int arg) {
+        return "SBI " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
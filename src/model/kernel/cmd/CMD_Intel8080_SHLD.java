@@ -6,20 +6,9 @@ import model.kernel._DByte;
 
 public class CMD_Intel8080_SHLD implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_SHLD() {
-        this.arg = "0x0000";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
-        int address = Integer.valueOf(arg, 16);
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
+        int address = arg;
         int value = executeListener.requestOnGetValueFromRegister(Registers.L);
         executeListener.requestOnSetValueInMemoryByAddress(address, value);
         value = executeListener.requestOnGetValueFromRegister(Registers.H);
@@ -33,7 +22,7 @@ public class CMD_Intel8080_SHLD implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "SHLD " + arg;
+    public String getName(int arg) {
+        return "SHLD " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
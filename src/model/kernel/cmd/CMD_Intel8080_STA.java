@@ -5,21 +5,10 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_STA implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_STA() {
-        this.arg = "0x0000";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int value = executeListener.requestOnGetValueFromRegister(Registers.A);
-        int address = Integer.valueOf(arg, 16);
+        int address = arg;
         executeListener.requestOnSetValueInMemoryByAddress(address, value);
     }
 
@@ -29,7 +18,7 @@ public class CMD_Intel8080_STA implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "STA " + arg;
+    public String getName(int arg) {
+        return "STA " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
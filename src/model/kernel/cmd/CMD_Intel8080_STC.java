@@ -6,10 +6,7 @@ import model.kernel.Flags;
 public class CMD_Intel8080_STC implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         executeListener.requestOnSetValueInFlag(Flags.C, 1);
     }
 
@@ -19,7 +16,7 @@ public class CMD_Intel8080_STC implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "STC";
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package model.kernel.cmd;
 
+import model.kernel.FlagsTable;
 import model.kernel.IExecutableCommandEventsListener;
 import model.kernel.RegisterPairs;
 import model.kernel.Registers;
@@ -7,17 +8,14 @@ import model.kernel._Byte;
 
 public class CMD_Intel8080_SUB implements ICommand {
 
-    private Registers register;
+    private final Registers register;
 
     public CMD_Intel8080_SUB(Registers register) {
         this.register = register;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegister(Registers.A);
         int secondValue;
         if (register == Registers.M) {
@@ -26,9 +24,10 @@ public class CMD_Intel8080_SUB implements ICommand {
         } else {
             secondValue = executeListener.requestOnGetValueFromRegister(register);
         }
-        firstValue = firstValue - secondValue;
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
-        firstValue = _Byte.getRoundedValue(firstValue);
+        int result = firstValue - secondValue;
+        int auxiliaryCarry = FlagsTable.getSubtractionAuxiliaryCarry(firstValue, secondValue, result);
+        executeListener.requestOnCheckByteForSetFlags(result, auxiliaryCarry);
+        firstValue = _Byte.getRoundedValue(result);
         executeListener.requestOnSetValueInRegister(Registers.A, firstValue);
     }
 
@@ -38,7 +37,7 @@ public class CMD_Intel8080_SUB implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "SUB " + register;
     }
 }
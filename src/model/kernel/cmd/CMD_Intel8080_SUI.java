@@ -1,29 +1,20 @@
 package model.kernel.cmd;
 
+import model.kernel.FlagsTable;
 import model.kernel.IExecutableCommandEventsListener;
 import model.kernel.Registers;
 import model.kernel._Byte;
 
 public class CMD_Intel8080_SUI implements ICommand {
 
-    private String arg;
-
-    public CMD_Intel8080_SUI() {
-        this.arg = "0x00";
-    }
-
-    @Override
-    public void setArgument(String arg) {
-        this.arg = arg.toUpperCase();
-    }
-
     @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegister(Registers.A);
-        int secondValue = Integer.valueOf(arg, 16);
-        firstValue -= secondValue;
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
-        firstValue = _Byte.getRoundedValue(firstValue);
+        int secondValue = arg;
+        int result = firstValue - secondValue;
+        int auxiliaryCarry = FlagsTable.getSubtractionAuxiliaryCarry(firstValue, secondValue, result);
+        executeListener.requestOnCheckByteForSetFlags(result, auxiliaryCarry);
+        firstValue = _Byte.getRoundedValue(result);
         executeListener.requestOnSetValueInRegister(Registers.A, firstValue);
     }
 
@@ -33,7 +24,7 @@ public class CMD_Intel8080_SUI implements ICommand {
     }
 
     @Override
-    public String getName() {
-        return "SUI " + arg;
+    public String getName(int arg) {
+        return "SUI " + Integer.toHexString(arg).toUpperCase();
     }
 }
\ No newline at end of file
@@ -6,10 +6,7 @@ import model.kernel.RegisterPairs;
 public class CMD_Intel8080_XCHG implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int fValue = executeListener.requestOnGetValueFromRegisterPair(RegisterPairs.H);
         int sValue = executeListener.requestOnGetValueFromRegisterPair(RegisterPairs.D);
         executeListener.requestOnSetValueInRegisterPair(RegisterPairs.H, sValue);
@@ -22,7 +19,7 @@ public class CMD_Intel8080_XCHG implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "XCHG";
     }
 }
\ No newline at end of file
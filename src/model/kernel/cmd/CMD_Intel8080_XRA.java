@@ -6,17 +6,14 @@ import model.kernel.Registers;
 
 public class CMD_Intel8080_XRA implements ICommand {
 
-    private Registers register;
+    private final Registers register;
 
     public CMD_Intel8080_XRA(Registers register) {
         this.register = register;
     }
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegister(Registers.A);
         int secondValue;
         if (register == Registers.M) {
@@ -27,7 +24,7 @@ public class CMD_Intel8080_XRA implements ICommand {
         }
 
         firstValue = firstValue ^ secondValue;
-        executeListener.requestOnCheckByteForSetFlags(firstValue);
+        executeListener.requestOnCheckByteForSetFlags(firstValue, 0);
 
         executeListener.requestOnSetValueInRegister(Registers.A, firstValue);
     }
@@ -38,7 +35,7 @@ public class CMD_Intel8080_XRA implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "XRA " + register;
     }
 }
\ No newline at end of file
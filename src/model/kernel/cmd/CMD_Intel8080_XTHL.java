@@ -6,10 +6,7 @@ import model.kernel.RegisterPairs;
 public class CMD_Intel8080_XTHL implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
         int firstValue = executeListener.requestOnGetValueFromRegisterPair(RegisterPairs.H);
         int secondValue = CMD_Intel8080_POP.pop(executeListener);
         executeListener.requestOnSetValueInRegisterPair(RegisterPairs.H, secondValue);
@@ -22,7 +19,7 @@ public class CMD_Intel8080_XTHL implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "XTHL";
     }
 }
\ No newline at end of file
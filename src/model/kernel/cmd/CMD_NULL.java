@@ -5,10 +5,7 @@ import model.kernel.IExecutableCommandEventsListener;
 public class CMD_NULL implements ICommand {
 
     @Override
-    public void setArgument(String arg) {}
-
-    @Override
-    public void execute(IExecutableCommandEventsListener executeListener) {
+    public void execute(IExecutableCommandEventsListener executeListener, int arg) {
 
     }
 
@@ -18,7 +15,7 @@ public class CMD_NULL implements ICommand {
     }
 
     @Override
-    public String getName() {
+    public String getName(int arg) {
         return "(no command)";
     }
 }
\ No newline at end of file
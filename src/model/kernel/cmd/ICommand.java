@@ -5,24 +5,22 @@ import model.kernel.IExecutableCommandEventsListener;
 /**
  * Интерфейс команды микропроцессора. Класс, описывающий команду микропроцессора,
  * реализует этот интерфейс.
+ * Команда не хранит изменяемого состояния: аргумент (байт или двойной байт) передаётся
+ * при каждом вызове, поэтому один экземпляр команды может одновременно использоваться
+ * несколькими микропроцессорами в разных потоках.
  * @author Maxim Rozhkov
  */
 public interface ICommand {
 
-    /**
-     * Метод для установки аргумента (байта или двойного байта)
-     * ИСпользуется в командах, содержащих в себе непосредственно данные, или адрес.
-     * @param arg
-     */
-    void setArgument(String arg);
-
     /**
      * Метод, в котором описывает логика выполнения команды. Вызов данного метода приводит к
      * выполнению команды.
      * @param executeListener экземпляр класса {@link IExecutableCommandEventsListener},
      * слушающий действия исполняемой команды.
+     * @param arg аргумент команды (байт или двойной байт). Команды без аргумента
+     * игнорируют это значение.
      */
-    void execute(IExecutableCommandEventsListener executeListener);
+    void execute(IExecutableCommandEventsListener executeListener, int arg);
 
     /**
      * Метод для получения размера команды в байтах.
@@ -32,7 +30,8 @@ public interface ICommand {
 
     /**
      * Метод для получения полного имени команды (MVI A, 0xFF).
+     * @param arg аргумент команды (байт или двойной байт).
      * @return строка с полным именем команды.
      */
-    String getName();
+    String getName(int arg);
 }
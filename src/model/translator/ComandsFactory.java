@@ -1,10 +1,14 @@
 package model.translator;
 
-import model.kernel.IMicroprocessor;
 import model.kernel.RegisterPairs;
 import model.kernel.Registers;
 import model.kernel.cmd.*;
 
+/**
+ * Класс, содержащий единственные экземпляры всех команд микропроцессора Intel 8080.
+ * Команды не хранят изменяемого состояния, поэтому экземпляры разделяются всеми
+ * микропроцессорами, в том числе выполняющимися в разных потоках.
+ */
 public class ComandsFactory {
 
     private static final ICommand MOV_A_A = new CMD_Intel8080_MOV(Registers.A, Registers.A);
@@ -108,6 +112,9 @@ public class ComandsFactory {
 
     private static final ICommand XCHG = new CMD_Intel8080_XCHG();
 
+    private static final ICommand EI = new CMD_Intel8080_EI();
+    private static final ICommand DI = new CMD_Intel8080_DI();
+
     private static final ICommand ADD_A = new CMD_Intel8080_ADD(Registers.A);
     private static final ICommand ADD_B = new CMD_Intel8080_ADD(Registers.B);
     private static final ICommand ADD_C = new CMD_Intel8080_ADD(Registers.C);
@@ -293,13 +300,11 @@ public class ComandsFactory {
     private static final ICommand NULL = new CMD_NULL();
 
     /**
-     * Метод для постоения команды по её коду и аргументам.
-     * @param mp микропроцессор, в памяти которого хранятся команды.
-     * @param address адрес извлекаемой команды.
-     * @return инициализированный и готовый к выполнению класс-команда.
+     * Метод для получения команды по её коду.
+     * @param code код команды.
+     * @return класс-команда, соответствующий коду, или пустая команда для неизвестного кода.
      */
-    public static ICommand createCommand(IMicroprocessor mp, int address) {
-        int code = mp.getValueFromMemoryByAddress(address);
+    static ICommand getCommandByCode(int code) {
         switch (code) {
             //================================================================================
             //================================================================================
@@ -504,43 +509,27 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.MVI_A: {
-                String arg = getValueFromNextByte(mp, address);
-                MVI_A.setArgument(arg);
                 return MVI_A;
             }
             case Intel8080CommandsCodes.MVI_B: {
-                String arg = getValueFromNextByte(mp, address);
-                MVI_B.setArgument(arg);
                 return MVI_B;
             }
             case Intel8080CommandsCodes.MVI_C: {
-                String arg = getValueFromNextByte(mp, address);
-                MVI_C.setArgument(arg);
                 return MVI_C;
             }
             case Intel8080CommandsCodes.MVI_D: {
-                String arg = getValueFromNextByte(mp, address);
-                MVI_D.setArgument(arg);
                 return MVI_D;
             }
             case Intel8080CommandsCodes.MVI_E: {
-                String arg = getValueFromNextByte(mp, address);
-                MVI_E.setArgument(arg);
                 return MVI_E;
             }
             case Intel8080CommandsCodes.MVI_H: {
-                String arg = getValueFromNextByte(mp, address);
-                MVI_H.setArgument(arg);
                 return MVI_H;
             }
             case Intel8080CommandsCodes.MVI_L: {
-                String arg = getValueFromNextByte(mp, address);
-                MVI_L.setArgument(arg);
                 return MVI_L;
             }
             case Intel8080CommandsCodes.MVI_M: {
-                String arg = getValueFromNextByte(mp, address);
-                MVI_M.setArgument(arg);
                 return MVI_M;
             }
 
@@ -548,23 +537,15 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.LXI_B_data: {
-                String arg = getValueFromNextWord(mp, address);
-                LXI_B.setArgument(arg);
                 return LXI_B;
             }
             case Intel8080CommandsCodes.LXI_D_data: {
-                String arg = getValueFromNextWord(mp, address);
-                LXI_D.setArgument(arg);
                 return LXI_D;
             }
             case Intel8080CommandsCodes.LXI_H_data: {
-                String arg = getValueFromNextWord(mp, address);
-                LXI_H.setArgument(arg);
                 return LXI_H;
             }
             case Intel8080CommandsCodes.LXI_SP_data: {
-                String arg = getValueFromNextWord(mp, address);
-                LXI_SP.setArgument(arg);
                 return LXI_SP;
             }
 
@@ -572,8 +553,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.LDA: {
-                String arg = getValueFromNextWord(mp, address);
-                LDA.setArgument(arg);
                 return LDA;
             }
 
@@ -581,8 +560,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.LHLD: {
-                String arg = getValueFromNextWord(mp, address);
-                LHLD.setArgument(arg);
                 return LHLD;
             }
 
@@ -590,8 +567,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.STA: {
-                String arg = getValueFromNextWord(mp, address);
-                STA.setArgument(arg);
                 return STA;
             }
 
@@ -599,8 +574,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.SHLD: {
-                String arg = getValueFromNextWord(mp, address);
-                SHLD.setArgument(arg);
                 return SHLD;
             }
 
@@ -634,6 +607,16 @@ public class ComandsFactory {
             //================================================================================
             //================================================================================
 
+            case Intel8080CommandsCodes.EI: {
+                return EI;
+            }
+            case Intel8080CommandsCodes.DI: {
+                return DI;
+            }
+
+            //================================================================================
+            //================================================================================
+
             case Intel8080CommandsCodes.ADD_A: {
                 return ADD_A;
             }
@@ -663,8 +646,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.ADI: {
-                String arg = getValueFromNextByte(mp, address);
-                ADI.setArgument(arg);
                 return ADI;
             }
 
@@ -700,8 +681,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.ACI: {
-                String arg = getValueFromNextByte(mp, address);
-                ACI.setArgument(arg);
                 return ACI;
             }
 
@@ -737,8 +716,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.SUI: {
-                String arg = getValueFromNextByte(mp, address);
-                SUI.setArgument(arg);
                 return SUI;
             }
 
@@ -774,8 +751,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.SBI: {
-                String arg = getValueFromNextByte(mp, address);
-                SBI.setArgument(arg);
                 return SBI;
             }
 
@@ -915,8 +890,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.ANI: {
-                String arg = getValueFromNextByte(mp, address);
-                ANI.setArgument(arg);
                 return ANI;
             }
 
@@ -952,8 +925,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.ORI: {
-                String arg = getValueFromNextByte(mp, address);
-                ORI.setArgument(arg);
                 return ORI;
             }
 
@@ -989,8 +960,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.XRI: {
-                String arg = getValueFromNextByte(mp, address);
-                XRI.setArgument(arg);
                 return XRI;
             }
 
@@ -1026,8 +995,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.CPI: {
-                String arg = getValueFromNextByte(mp, address);
-                CPI.setArgument(arg);
                 return CPI;
             }
 
@@ -1098,8 +1065,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.CALL: {
-                String arg = getValueFromNextWord(mp, address);
-                CALL.setArgument(arg);
                 return CALL;
             }
 
@@ -1107,8 +1072,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.CNZ: {
-                String arg = getValueFromNextWord(mp, address);
-                CNZ.setArgument(arg);
                 return CNZ;
             }
 
@@ -1116,8 +1079,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.CZ: {
-                String arg = getValueFromNextWord(mp, address);
-                CZ.setArgument(arg);
                 return CZ;
             }
 
@@ -1125,8 +1086,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.CNC: {
-                String arg = getValueFromNextWord(mp, address);
-                CNC.setArgument(arg);
                 return CNC;
             }
 
@@ -1134,8 +1093,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.CC: {
-                String arg = getValueFromNextWord(mp, address);
-                CC.setArgument(arg);
                 return CC;
             }
 
@@ -1143,8 +1100,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.CPO: {
-                String arg = getValueFromNextWord(mp, address);
-                CPO.setArgument(arg);
                 return CPO;
             }
 
@@ -1152,8 +1107,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.CPE: {
-                String arg = getValueFromNextWord(mp, address);
-                CPE.setArgument(arg);
                 return CPE;
             }
 
@@ -1161,8 +1114,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.CP: {
-                String arg = getValueFromNextWord(mp, address);
-                CP.setArgument(arg);
                 return CP;
             }
 
@@ -1170,8 +1121,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.CM: {
-                String arg = getValueFromNextWord(mp, address);
-                CM.setArgument(arg);
                 return CM;
             }
 
@@ -1242,8 +1191,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.JMP: {
-                String arg = getValueFromNextWord(mp, address);
-                JMP.setArgument(arg);
                 return JMP;
             }
 
@@ -1251,8 +1198,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.JZ: {
-                String arg = getValueFromNextWord(mp, address);
-                JZ.setArgument(arg);
                 return JZ;
             }
 
@@ -1260,8 +1205,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.JNZ: {
-                String arg = getValueFromNextWord(mp, address);
-                JNZ.setArgument(arg);
                 return JNZ;
             }
 
@@ -1269,8 +1212,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.JC: {
-                String arg = getValueFromNextWord(mp, address);
-                JC.setArgument(arg);
                 return JC;
             }
 
@@ -1278,8 +1219,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.JNC: {
-                String arg = getValueFromNextWord(mp, address);
-                JNC.setArgument(arg);
                 return JNC;
             }
 
@@ -1287,8 +1226,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.JP: {
-                String arg = getValueFromNextWord(mp, address);
-                JP.setArgument(arg);
                 return JP;
             }
 
@@ -1296,8 +1233,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.JM: {
-                String arg = getValueFromNextWord(mp, address);
-                JM.setArgument(arg);
                 return JM;
             }
 
@@ -1305,8 +1240,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.JPO: {
-                String arg = getValueFromNextWord(mp, address);
-                JPO.setArgument(arg);
                 return JPO;
             }
 
@@ -1314,8 +1247,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.JPE: {
-                String arg = getValueFromNextWord(mp, address);
-                JPE.setArgument(arg);
                 return JPE;
             }
 
@@ -1362,8 +1293,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.IN: {
-                String arg = getValueFromNextByte(mp, address);
-                IN.setArgument(arg);
                 return IN;
             }
 
@@ -1371,8 +1300,6 @@ public class ComandsFactory {
             //================================================================================
 
             case Intel8080CommandsCodes.OUT: {
-                String arg = getValueFromNextByte(mp, address);
-                OUT.setArgument(arg);
                 return OUT;
             }
 
@@ -1397,30 +1324,4 @@ public class ComandsFactory {
 
         return NULL;
     }
-
-    /**
-     * Метод для формирования аргумента трёхбайтовой команды.
-     * @param mp микропроцессор, содержащий в памяти коды команд и аргументов.
-     * @param address адрес извлекаемой команды.
-     * @return аргумент в формате строки (0x0000).
-     */
-    private static String getValueFromNextWord(IMicroprocessor mp, int address) {
-        address = (address + 1) % mp.getMemorySize();
-        int value = mp.getValueFromMemoryByAddress(address) * 256;
-        address = (address + 1) % mp.getMemorySize();
-        value += mp.getValueFromMemoryByAddress(address);
-        return Integer.toString(value, 16);
-    }
-
-
-    /**
-     * Метод для формирования аргумента двухбайтовой команды.
-     * @param mp микропроцессор, содержащий в памяти коды команд и аргументов.
-     * @param address адрес извлекаемой команды.
-     * @return аргумент в формате строки (0x00).
-     */
-    private static String getValueFromNextByte(IMicroprocessor mp, int address) {
-        address = (address + 1) % mp.getMemorySize();
-        return Integer.toString(mp.getValueFromMemoryByAddress(address), 16);
-    }
-}
\ No newline at end of file
+}
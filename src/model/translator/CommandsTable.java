@@ -0,0 +1,105 @@
+package model.translator;
+
+import model.kernel.IMemory;
+import model.kernel.IMicroprocessor;
+import model.kernel.cmd.*;
+
+/**
+ * Таблица декодирования команд микропроцессора Intel 8080.
+ * Каждому из 256 кодов команд заранее сопоставлен класс-команда, а аргумент команды
+ * извлекается из памяти в виде числа. Поэтому шаг выполнения программы не создаёт объектов
+ * и не формирует строк.
+ */
+public class CommandsTable {
+
+    private static final int COMMANDS_COUNT = 256;
+
+    private static final ICommand[] COMMANDS = new ICommand[COMMANDS_COUNT];
+
+    private static final boolean[] BLOCK_ENDS = new boolean[COMMANDS_COUNT];
+
+    static {
+        for (int code = 0; code < COMMANDS_COUNT; ++code) {
+            COMMANDS[code] = ComandsFactory.getCommandByCode(code);
+            BLOCK_ENDS[code] = COMMANDS[code] instanceof CMD_Intel8080_JMP
+                    || COMMANDS[code] instanceof CMD_Intel8080_CALL
+                    || COMMANDS[code] instanceof CMD_Intel8080_RET
+                    || COMMANDS[code] instanceof CMD_Intel8080_PCHL
+                    || COMMANDS[code] instanceof CMD_Intel8080_IN
+                    || COMMANDS[code] instanceof CMD_Intel8080_OUT
+                    || COMMANDS[code] instanceof CMD_Intel8080_EI
+                    || COMMANDS[code] instanceof CMD_Intel8080_DI;
+        }
+    }
+
+    /**
+     * Метод для получения команды по её коду.
+     * @param code код команды (0 - 255).
+     * @return класс-команда, соответствующий коду.
+     */
+    public static ICommand getCommand(int code) {
+        return COMMANDS[code];
+    }
+
+    /**
+     * Метод для проверки, завершает ли команда линейный участок программы (basic block).
+     * Линейный участок завершается командами передачи управления (JMP, Jcc, CALL, Ccc,
+     * RET, Rcc, PCHL), командами ввода-вывода (IN, OUT) и командами EI и DI, чтобы
+     * ожидающие прерывания проверялись сразу после изменения разрешения прерываний.
+     * @param code код команды (0 - 255).
+     * @return true, если после команды начинается новый линейный участок.
+     */
+    public static boolean isBlockEnd(int code) {
+        return BLOCK_ENDS[code];
+    }
+
+    /**
+     * Метод для чтения аргумента команды из памяти.
+     * @param mp микропроцессор, содержащий в памяти коды команд и аргументов.
+     * @param address адрес команды.
+     * @param size размер команды в байтах.
+     * @return байт для двухбайтовой команды, двойной байт для трёхбайтовой команды,
+     * 0 для однобайтовой команды.
+     */
+    public static int getArgument(IMicroprocessor mp, int address, int size) {
+        int memorySize = mp.getMemorySize();
+        switch (size) {
+            case 2: {
+                return mp.getValueFromMemoryByAddress((address + 1) % memorySize);
+            }
+            case 3: {
+                int value = mp.getValueFromMemoryByAddress((address + 1) % memorySize) * 256;
+                value += mp.getValueFromMemoryByAddress((address + 2) % memorySize);
+                return value;
+            }
+            default: {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Метод для чтения аргумента команды непосредственно из памяти микропроцессора.
+     * @param memory память, содержащая коды команд и аргументов.
+     * @param address адрес команды.
+     * @param size размер команды в байтах.
+     * @return байт для двухбайтовой команды, двойной байт для трёхбайтовой команды,
+     * 0 для однобайтовой команды.
+     */
+    public static int getArgument(IMemory memory, int address, int size) {
+        int memorySize = memory.getSize();
+        switch (size) {
+            case 2: {
+                return memory.getValue((address + 1) % memorySize);
+            }
+            case 3: {
+                int value = memory.getValue((address + 1) % memorySize) * 256;
+                value += memory.getValue((address + 2) % memorySize);
+                return value;
+            }
+            default: {
+                return 0;
+            }
+        }
+    }
+}
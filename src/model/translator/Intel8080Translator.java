@@ -324,7 +324,8 @@ public class Intel8080Translator implements ITranslator {
                 cmd.equals("rz") || cmd.equals("rnc") || cmd.equals("rc") ||
                 cmd.equals("rpo") || cmd.equals("rpe") || cmd.equals("rp") ||
                 cmd.equals("rm") || cmd.equals("xthl") || cmd.equals("nop") ||
-                cmd.equals("hlt") || cmd.equals("xchg")) {
+                cmd.equals("hlt") || cmd.equals("xchg") ||
+                cmd.equals("ei") || cmd.equals("di")) {
             return 0;
         } else if (cmd.equals("ldax") || cmd.equals("stax") || cmd.equals("add") ||
                 cmd.equals("adc") || cmd.equals("sub") || cmd.equals("sbb") ||
@@ -847,6 +848,9 @@ public class Intel8080Translator implements ITranslator {
 
         hashMap.put("XCHG", Intel8080CommandsCodes.XCHG);
 
+        hashMap.put("EI", Intel8080CommandsCodes.EI);
+        hashMap.put("DI", Intel8080CommandsCodes.DI);
+
         hashMap.put("RLC", Intel8080CommandsCodes.RLC);
         hashMap.put("RRC", Intel8080CommandsCodes.RRC);
 
@@ -48,10 +48,64 @@ public interface IMainPresenter {
     void setBreakpoint(int address);
 
     /**
-     * Метод для удаления всех точек остановки в программе.
+     * Метод для установки условной точки остановки в программе.
+     * @param address адресс точки остановки.
+     * @param condition условие остановки, например A == 0x10 && [HL] != 0.
+     * @throws IllegalArgumentException если условие содержит ошибку.
+     */
+    void setBreakpoint(int address, String condition);
+
+    /**
+     * Метод для запуска выполнения программы до указанного адреса (до курсора).
+     * Выполнение также останавливается на точках остановки и команде HLT.
+     * @param address адрес, до которого выполняется программа.
+     */
+    void runToAddress(int address);
+
+    /**
+     * Метод для установки режима наблюдения за областью памяти. Выполнение программы
+     * останавливается после команды, прочитавшей или записавшей наблюдаемую ячейку.
+     * Вызов с read и write, равными false, снимает наблюдение за областью.
+     * @param address адрес первой ячейки области.
+     * @param length количество ячеек.
+     * @param read true для наблюдения за чтением.
+     * @param write true для наблюдения за записью.
+     */
+    void setWatchpoint(int address, int length, boolean read, boolean write);
+
+    /**
+     * Метод для удаления всех точек остановки и точек наблюдения за памятью в программе.
      */
     void removeAllBreakpoints();
 
+    /**
+     * Метод для установки тактовой частоты, с которой эмулятор выполняет программу.
+     * @param frequency частота в герцах или {@link model.emulator.IEmulator#UNTHROTTLED}
+     * для выполнения без ограничения скорости.
+     */
+    void setClockFrequency(long frequency);
+
+    /**
+     * Метод для включения режима, в котором команда HLT при разрешённых прерываниях
+     * ожидает прерывания от внешнего устройства, а не завершает выполнение программы.
+     * @param enabled true для включения режима.
+     */
+    void setWaitForInterruptOnHalt(boolean enabled);
+
+    /**
+     * Метод для включения режима, в котором циклы ожидания таймера (порт 0x16)
+     * не выполняются, а таймер сразу переводится к значению, завершающему цикл.
+     * @param enabled true для включения режима.
+     */
+    void setTimerWaitFastForward(boolean enabled);
+
+    /**
+     * Метод для включения обновления регистров и позиции программного счётчика
+     * во время выполнения программы (с частотой кадров отображения).
+     * @param enabled true для включения режима.
+     */
+    void setLiveView(boolean enabled);
+
     /**
      * Метод для установки программаного счётчика (PC) эмулятора.
      * @param address устанавливаемый адрес программного счётчика.
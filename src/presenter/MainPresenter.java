@@ -3,6 +3,7 @@ package presenter;
 import model.emulator.*;
 import model.kernel.Flags;
 import model.kernel.Registers;
+import model.kernel.WatchpointHit;
 import view.IMainView;
 import view.MainWindow;
 
@@ -22,27 +23,30 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
 
     private String openedFilePath;
 
-    private String dataSourceForConsoleOutputPanel;
+    private final StringBuilder dataSourceForConsoleOutputPanel = new StringBuilder();
 
-    private String[][] dataSourceForMemoryTable;
+    private MemoryTableDataSource dataSourceForMemoryTable;
     private String[][] dataSourceForRegistersTable;
 
     private Thread commandRunThread;
     private Thread programRunThread;
 
+    private final RefreshScheduler refreshScheduler = new RefreshScheduler(this::refreshViews);
+
     public MainPresenter() {
 
         // Экземпляр эмулятора.
         emulator = new EmulatorIntel8080();
         emulator.setIntraProgramIOUpdateEventsListener(this);
+        // Программы в окне эмулятора выполняются с частотой Intel 8080,
+        // чтобы скорость их работы не зависела от компьютера.
+        emulator.setClockFrequency(IEmulator.CLOCK_FREQUENCY_2_MHZ);
 
         // Источники данных для View
-        dataSourceForMemoryTable = new String[65536][3];
-        dataSourceForRegistersTable = new String[13][4];
-        dataSourceForConsoleOutputPanel = "";
+        dataSourceForMemoryTable = new MemoryTableDataSource(emulator);
+        dataSourceForRegistersTable = new String[14][4];
 
         // Получение данных для View с эмулятора
-        getDataSourceForMemoryTable(emulator, dataSourceForMemoryTable);
         getDataSourceForRegistersTable(dataSourceForRegistersTable);
         int[][] dataSourceForPixelScreen = emulator.getPixelScreenMemory();
         int[][] dataSourceForCharacterScreen_Color = emulator.getCharacterScreenColorMemory();
@@ -50,8 +54,10 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
 
         // Создание View
         mainView = new MainWindow(this, dataSourceForMemoryTable, dataSourceForRegistersTable,
-                dataSourceForPixelScreen, dataSourceForCharacterScreen_Color,
-                dataSourceForCharacterScreen_Character, emulator.getLabel2AddressList(),
+                dataSourceForPixelScreen, emulator.getPixelScreenDirtyRows(),
+                dataSourceForCharacterScreen_Color,
+                dataSourceForCharacterScreen_Character, emulator.getCharacterScreenDirtyCells(),
+                emulator.getLabel2AddressList(),
                 emulator.getExternalPeripheral());
 
         // Установка режима работы эмулятора по умолчанию
@@ -68,12 +74,11 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
         emulator.resetMemory();
         emulator.translation(program);
 
-        getDataSourceForMemoryTable(emulator, dataSourceForMemoryTable);
         getDataSourceForRegistersTable(dataSourceForRegistersTable);
         String dataSourceForTranslateResultPanel = emulator.getErrors();
         boolean hasErrors = emulator.hasTranslationErrors();
 
-        mainView.memoryTableUpdate();
+        dataSourceForMemoryTable.update(mainView);
         mainView.registersTableUpdate();
         mainView.label2AddressTableUpdate();
         mainView.setTranslationResult(dataSourceForTranslateResultPanel, hasErrors);
@@ -84,36 +89,48 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
     public void run() {
         if (programRunThread == null || !programRunThread.isAlive()) {
             programRunThread = new Thread(() -> {
-                emulator.run();
+                RunResult result = emulator.run(IEmulator.NO_LIMIT, IEmulator.NO_LIMIT, null);
+                refreshScheduler.stop();
 
                 getDataSourceForRegistersTable(dataSourceForRegistersTable);
-                getDataSourceForMemoryTable(emulator, dataSourceForMemoryTable);
                 int PC = emulator.getValueFromRegister(Registers.PC);
 
-                mainView.memoryTableUpdate();
+                dataSourceForMemoryTable.update(mainView);
                 mainView.registersTableUpdate();
                 mainView.setProgramCounterPosition(PC, true);
+                if (result.getStopReason() == StopReason.WATCHPOINT) {
+                    WatchpointHit hit = emulator.getWatchpointHit();
+                    mainView.showWatchpointHit(hit.getAddress(), hit.isWrite(), hit.getCommandAddress());
+                }
 
                 mainView.setPermissionForActions(MainPresenter.DEFAULT_ACTION_MODE);
                 currentActionMode = DEFAULT_ACTION_MODE;
             });
             currentActionMode = RUN_ACTION_MODE;
             mainView.setPermissionForActions(MainPresenter.RUN_ACTION_MODE);
+            refreshScheduler.start();
             programRunThread.start();
         }
     }
 
+    @Override
+    public void runToAddress(int address) {
+        if (programRunThread == null || !programRunThread.isAlive()) {
+            emulator.setTemporaryBreakpoint(address);
+            run();
+        }
+    }
+
     @Override
     public void step() {
         if (commandRunThread == null || !commandRunThread.isAlive()) {
             commandRunThread = new Thread(() -> {
                 emulator.step();
 
-                getDataSourceForMemoryTable(emulator, dataSourceForMemoryTable);
                 getDataSourceForRegistersTable(dataSourceForRegistersTable);
                 int PC = emulator.getValueFromRegister(Registers.PC);
 
-                mainView.memoryTableUpdate();
+                dataSourceForMemoryTable.update(mainView);
                 mainView.registersTableUpdate();
                 mainView.setProgramCounterPosition(PC, true);
             });
@@ -123,19 +140,13 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
 
     @Override
     public void stop() {
-        if (programRunThread != null && programRunThread.isAlive()) {
-            programRunThread.stop();
-        }
-
-        if (commandRunThread != null && commandRunThread.isAlive()) {
-            commandRunThread.stop();
-        }
+        stopThread(programRunThread);
+        stopThread(commandRunThread);
 
         getDataSourceForRegistersTable(dataSourceForRegistersTable);
-        getDataSourceForMemoryTable(emulator, dataSourceForMemoryTable);
         int PC = emulator.getValueFromRegister(Registers.PC);
 
-        mainView.memoryTableUpdate();
+        dataSourceForMemoryTable.update(mainView);
         mainView.registersTableUpdate();
         mainView.setProgramCounterPosition(PC, true);
         mainView.clearInputConsole();
@@ -151,20 +162,21 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
         emulator.clearScreen();
 
         getDataSourceForRegistersTable(dataSourceForRegistersTable);
-        dataSourceForConsoleOutputPanel = "";
+        synchronized (dataSourceForConsoleOutputPanel) {
+            dataSourceForConsoleOutputPanel.setLength(0);
+        }
 
         mainView.registersTableUpdate();
         mainView.pixelScreenUpdate();
         mainView.characterScreenUpdate();
-        mainView.setConsoleOutputData(dataSourceForConsoleOutputPanel);
+        mainView.setConsoleOutputData("");
         mainView.setProgramCounterPosition(0, true);
     }
 
     @Override
     public void resetMemory() {
         emulator.resetMemory();
-        getDataSourceForMemoryTable(emulator, dataSourceForMemoryTable);
-        mainView.memoryTableUpdate();
+        dataSourceForMemoryTable.update(mainView);
         mainView.setProgramCounterPosition(0, true);
     }
 
@@ -174,14 +186,46 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
         mainView.setBreakpoints(emulator.getBreakpoints());
     }
 
+    @Override
+    public void setBreakpoint(int address, String condition) {
+        emulator.setBreakpoint(address, condition);
+        mainView.setBreakpoints(emulator.getBreakpoints());
+    }
+
+    @Override
+    public void setWatchpoint(int address, int length, boolean read, boolean write) {
+        emulator.setWatchpoint(address, length, read, write);
+    }
+
     @Override
     public void removeAllBreakpoints() {
         emulator.removeAllBreakpoints();
+        emulator.removeAllWatchpoints();
         int breakpoints[] = emulator.getBreakpoints();
         int PC = emulator.getValueFromRegister(Registers.PC);
         mainView.setBreakpoints(breakpoints);
     }
 
+    @Override
+    public void setClockFrequency(long frequency) {
+        emulator.setClockFrequency(frequency);
+    }
+
+    @Override
+    public void setWaitForInterruptOnHalt(boolean enabled) {
+        emulator.setWaitForInterruptOnHalt(enabled);
+    }
+
+    @Override
+    public void setTimerWaitFastForward(boolean enabled) {
+        emulator.setTimerWaitFastForward(enabled);
+    }
+
+    @Override
+    public void setLiveView(boolean enabled) {
+        refreshScheduler.setLive(enabled);
+    }
+
     @Override
     public void setProgramCounter(int address) {
         emulator.setProgramCounter(address);
@@ -228,9 +272,10 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
     // IIntraProgramIOUpdateEventsListener
     @Override
     public void consoleOut(int value) {
-        dataSourceForConsoleOutputPanel
-                = dataSourceForConsoleOutputPanel + " " + String.valueOf(value);
-        mainView.setConsoleOutputData(dataSourceForConsoleOutputPanel);
+        synchronized (dataSourceForConsoleOutputPanel) {
+            dataSourceForConsoleOutputPanel.append(' ').append(value);
+        }
+        refreshScheduler.markDirty(RefreshScheduler.CONSOLE);
     }
 
     @Override
@@ -245,12 +290,12 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
 
     @Override
     public void pixelScreenUpdate() {
-        mainView.pixelScreenUpdate();
+        refreshScheduler.markDirty(RefreshScheduler.PIXEL_SCREEN);
     }
 
     @Override
     public void characterScreenUpdate() {
-        mainView.characterScreenUpdate();
+        refreshScheduler.markDirty(RefreshScheduler.CHARACTER_SCREEN);
     }
 
     @Override
@@ -259,22 +304,43 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
     }
 
     // Helps Methods
-    private void getDataSourceForMemoryTable(IEmulator emulator, String[][] dataSourceForMemoryTable) {
-        String[] commandsInMemory = emulator.getCommandsList();
-        int length = emulator.getMemorySize();
-        for (int i = 0; i < length; ++i) {
-            StringBuilder address = new StringBuilder(Integer.toString(i, 16));
-            while (address.length() != 4) {
-                address.insert(0, "0");
+    private void refreshViews(int views) {
+        if ((views & RefreshScheduler.PIXEL_SCREEN) != 0) {
+            mainView.pixelScreenUpdate();
+        }
+        if ((views & RefreshScheduler.CHARACTER_SCREEN) != 0) {
+            mainView.characterScreenUpdate();
+        }
+        if ((views & RefreshScheduler.CONSOLE) != 0) {
+            String consoleOutData;
+            synchronized (dataSourceForConsoleOutputPanel) {
+                consoleOutData = dataSourceForConsoleOutputPanel.toString();
             }
-            dataSourceForMemoryTable[i][0] = address.toString();
-            dataSourceForMemoryTable[i][1] = commandsInMemory[i];
-            StringBuilder code = new StringBuilder(Integer.toString(emulator
-                    .getValueFromMemoryByAddress(i), 16));
-            if (code.length() < 2) {
-                code.insert(0, '0');
+            mainView.setConsoleOutputData(consoleOutData);
+        }
+        if ((views & RefreshScheduler.REGISTERS) != 0) {
+            // Значения читаются во время выполнения программы и могут отставать
+            // от состояния микропроцессора на пакет команд.
+            getDataSourceForRegistersTable(dataSourceForRegistersTable);
+            mainView.registersTableUpdate();
+            mainView.setProgramCounterPosition(emulator.getValueFromRegister(Registers.PC), true);
+        }
+    }
+
+    private void stopThread(Thread thread) {
+        // Эмулятор останавливается между командами после проверки запроса остановки,
+        // а прерывание потока завершает ожидание тактовой частоты и ввода с консоли.
+        // Запрос повторяется, пока поток не завершится, так как выполнение могло
+        // начаться уже после первого запроса.
+        while (thread != null && thread.isAlive()) {
+            emulator.cancel();
+            thread.interrupt();
+            try {
+                thread.join(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
             }
-            dataSourceForMemoryTable[i][2] = code.toString();
         }
     }
 
@@ -358,6 +424,10 @@ public class MainPresenter implements IMainPresenter, IIntraProgramIOUpdateEvent
         dataSourceForRegistersTable[12][0] = "Flag P";
         dataSourceForRegistersTable[12][1]
                 = String.valueOf(emulator.getValueFromFlag(Flags.P));
+
+        dataSourceForRegistersTable[13][0] = "Flag AC";
+        dataSourceForRegistersTable[13][1]
+                = String.valueOf(emulator.getValueFromFlag(Flags.AC));
     }
 
     private String createString(int value, int radix) {
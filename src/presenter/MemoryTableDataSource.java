@@ -0,0 +1,111 @@
+package presenter;
+
+import model.emulator.IEmulator;
+import view.IMainView;
+import view.IMemoryTableDataSource;
+
+import java.util.List;
+
+/**
+ * Источник данных таблицы памяти. Хранит снимок памяти и дизассемблированных команд
+ * эмулятора и при обновлении сравнивает новый снимок с прежним, чтобы уведомить
+ * view-компонент только об изменившихся строках. Снимок команд обновляется на месте
+ * по списку команд эмулятора, который не копируется при каждом обновлении.
+ */
+class MemoryTableDataSource implements IMemoryTableDataSource {
+
+    /**
+     * Изменённые ячейки, между которыми меньше этого количества неизменённых, объединяются
+     * в одно уведомление.
+     */
+    private static final int MERGE_GAP = 16;
+
+    /**
+     * Максимальное количество уведомлений за одно обновление. При большем количестве
+     * изменённых областей отправляется одно уведомление, охватывающее их все.
+     */
+    private static final int MAX_UPDATES = 32;
+
+    private final IEmulator emulator;
+
+    private volatile byte[] memory;
+    private byte[] buffer;
+    private final String[] commands;
+
+    MemoryTableDataSource(IEmulator emulator) {
+        this.emulator = emulator;
+        this.memory = new byte[emulator.getMemorySize()];
+        this.buffer = new byte[emulator.getMemorySize()];
+        emulator.readMemory(0, memory, 0, memory.length);
+        this.commands = emulator.getCommandsList().toArray(new String[0]);
+    }
+
+    @Override
+    public int getMemorySize() {
+        return memory.length;
+    }
+
+    @Override
+    public int getValue(int address) {
+        return memory[address] & 0xFF;
+    }
+
+    @Override
+    public String getCommand(int address) {
+        return commands[address];
+    }
+
+    /**
+     * Метод для обновления снимка состояния эмулятора. View-компонент уведомляется
+     * об областях памяти, в которых изменились значения ячеек или команды.
+     */
+    void update(IMainView mainView) {
+        byte[] newMemory = buffer;
+        emulator.readMemory(0, newMemory, 0, newMemory.length);
+        List<String> newCommands = emulator.getCommandsList();
+        byte[] oldMemory = memory;
+        buffer = oldMemory;
+        memory = newMemory;
+
+        int[] ranges = new int[2 * MAX_UPDATES];
+        int count = 0;
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < newMemory.length; ++i) {
+            String command = newCommands.get(i);
+            boolean commandChanged = !command.equals(commands[i]);
+            if (commandChanged) {
+                commands[i] = command;
+            }
+            if (newMemory[i] == oldMemory[i] && !commandChanged) {
+                continue;
+            }
+            if (first >= 0 && i - last <= MERGE_GAP) {
+                last = i;
+                continue;
+            }
+            if (first >= 0) {
+                count = addRange(ranges, count, first, last);
+            }
+            first = i;
+            last = i;
+        }
+        if (first >= 0) {
+            count = addRange(ranges, count, first, last);
+        }
+        for (int i = 0; i < count; ++i) {
+            mainView.memoryTableUpdate(ranges[2 * i], ranges[2 * i + 1]);
+        }
+    }
+
+    private static int addRange(int[] ranges, int count, int first, int last) {
+        if (count == MAX_UPDATES) {
+            // Слишком много областей: последнее уведомление расширяется до новой области.
+            ranges[2 * count - 1] = last;
+            return count;
+        }
+        ranges[2 * count] = first;
+        ranges[2 * count + 1] = last;
+        return count + 1;
+    }
+}
\ No newline at end of file
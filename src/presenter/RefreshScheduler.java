@@ -0,0 +1,101 @@
+package presenter;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Планировщик обновления view-компонентов. Поток выполнения программы только отмечает
+ * изменившиеся view-компоненты в общей маске, а обновление выполняется в потоке обработки
+ * событий: во время непрерывного выполнения программы - не чаще {@link #FRAME_RATE} раз
+ * в секунду, в остальное время - сразу. Повторные изменения до обновления объединяются,
+ * поэтому частый вывод на экраны не создаёт очередь перерисовок и не замедляет программу.
+ * Во время выполнения программы в каждом кадре могут обновляться регистры и позиция
+ * программного счётчика (см. {@link #setLive(boolean)}).
+ */
+class RefreshScheduler {
+
+    static final int PIXEL_SCREEN = 1;
+    static final int CHARACTER_SCREEN = 1 << 1;
+    static final int CONSOLE = 1 << 2;
+    static final int REGISTERS = 1 << 3;
+
+    /**
+     * Максимальная частота обновления view-компонентов во время выполнения программы.
+     */
+    static final int FRAME_RATE = 60;
+
+    private final AtomicInteger dirty = new AtomicInteger();
+    private final IntConsumer publisher;
+    private final Timer timer;
+
+    private volatile boolean running;
+    private volatile boolean live;
+
+    /**
+     * @param publisher обновление view-компонентов по маске изменений, вызывается в потоке
+     *                  обработки событий.
+     */
+    RefreshScheduler(IntConsumer publisher) {
+        this.publisher = publisher;
+        this.timer = new Timer(1000 / FRAME_RATE, e -> publish());
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Метод для отметки изменившихся view-компонентов. Может вызываться из любого потока.
+     * Если компоненты уже отмечены, метод сводится к одному чтению маски.
+     * @param views маска view-компонентов.
+     */
+    void markDirty(int views) {
+        while (true) {
+            int mask = dirty.get();
+            if ((mask & views) == views) {
+                return;
+            }
+            if (dirty.compareAndSet(mask, mask | views)) {
+                if (mask == 0 && !running) {
+                    SwingUtilities.invokeLater(this::publish);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Метод для включения обновления регистров и программного счётчика в каждом кадре
+     * во время выполнения программы.
+     */
+    void setLive(boolean live) {
+        this.live = live;
+    }
+
+    /**
+     * Метод для перехода к обновлению кадрами при запуске программы.
+     */
+    void start() {
+        running = true;
+        timer.start();
+    }
+
+    /**
+     * Метод для завершения обновления кадрами после остановки программы. Накопленные
+     * изменения публикуются сразу.
+     */
+    void stop() {
+        running = false;
+        timer.stop();
+        SwingUtilities.invokeLater(this::publish);
+    }
+
+    private void publish() {
+        int views = dirty.getAndSet(0);
+        if (running && live) {
+            views |= REGISTERS;
+        }
+        if (views != 0) {
+            publisher.accept(views);
+        }
+    }
+}
\ No newline at end of file
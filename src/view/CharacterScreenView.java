@@ -1,14 +1,57 @@
 package view;
 
+import model.emulator.DirtyMask;
+
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Map;
 
+/**
+ * Символьный экран. Ячейки экрана рисуются в буферное изображение, которое выводится
+ * на панель целиком. Изображение ячейки (глиф) для каждого сочетания символа и цвета
+ * строится один раз при первом использовании и хранится в атласе глифов, поэтому
+ * перерисовка ячейки сводится к копированию готового изображения. Перерисовываются только
+ * ячейки, отмеченные моделью экрана как изменённые.
+ */
 class CharacterScreenView extends JPanel implements IScreenView {
 
+    /**
+     * Символы Unicode для кодов символов экрана (кодировка CP1251).
+     */
+    private static final char[] CHARACTERS = new char[256];
+
+    /**
+     * Цвета по трёхбитным кодам цвета фона и символа.
+     */
+    private static final Color[] COLORS = new Color[8];
+
+    static {
+        for (int numberAsc = 0; numberAsc < CHARACTERS.length; ++numberAsc) {
+            CHARACTERS[numberAsc] = (char) chooseCharacter(numberAsc);
+        }
+        for (int colorCode = 0; colorCode < COLORS.length; ++colorCode) {
+            int red = (colorCode   & 0b100) >> 2;
+            int green = (colorCode & 0b010) >> 1;
+            int blue = colorCode   & 0b001;
+            COLORS[colorCode] = new Color(255 * red, 255 * green, 255 * blue);
+        }
+    }
+
     private int pixelSize;
     private int[][] colorMemory;
     private int[][] charMemory;
 
+    /**
+     * Атлас глифов: индекс - код символа * 64 + код цвета фона и символа.
+     */
+    private final BufferedImage[] glyphs = new BufferedImage[256 * 64];
+    private BufferedImage buffer;
+
+    private DirtyMask dirtyCells;
+    private long[] cells;
+    private boolean fullUpdate = true;
+
     CharacterScreenView(int weight, int height, int pixelSize) {
         this.pixelSize = pixelSize;
         colorMemory = new int[20][20];
@@ -20,11 +63,20 @@ class CharacterScreenView extends JPanel implements IScreenView {
     @Override
     public void setColorData(int[][] data) {
         colorMemory = data;
+        fullUpdate = true;
     }
 
     @Override
     public void setCharData(int[][] data) {
         charMemory = data;
+        fullUpdate = true;
+    }
+
+    @Override
+    public void setDirtyMask(DirtyMask dirtyMask) {
+        dirtyCells = dirtyMask;
+        cells = dirtyMask == null ? null : new long[(dirtyMask.getSize() + 63) / 64];
+        fullUpdate = true;
     }
 
     @Override
@@ -35,33 +87,69 @@ class CharacterScreenView extends JPanel implements IScreenView {
     @Override
     public void paint(Graphics g) {
         super.paint(g);
-        Graphics2D graphics2D = (Graphics2D) g;
-        for (int i = 0; i < colorMemory.length; ++i) {
-            for (int j = 0; j < colorMemory[i].length; ++j) {
-                graphics2D.setColor(getBackgroundColorByColorCode(colorMemory[i][j]));
-                graphics2D.fillRect(j * pixelSize, i * pixelSize, pixelSize, pixelSize);
-                graphics2D.setColor(getCharColorByColorCode(colorMemory[i][j]));
-                graphics2D.drawString(String.valueOf((char)chooseCharacter(charMemory[i][j])),
-                        j * pixelSize, i *pixelSize + 12);
+        updateBuffer();
+        g.drawImage(buffer, 0, 0, null);
+    }
+
+    private void updateBuffer() {
+        int rowCount = colorMemory.length;
+        int columnCount = rowCount == 0 ? 0 : colorMemory[0].length;
+        if (buffer == null || buffer.getWidth() != Math.max(1, columnCount * pixelSize)
+                || buffer.getHeight() != Math.max(1, rowCount * pixelSize)) {
+            buffer = new BufferedImage(Math.max(1, columnCount * pixelSize),
+                    Math.max(1, rowCount * pixelSize), BufferedImage.TYPE_INT_RGB);
+            fullUpdate = true;
+        }
+        Graphics bufferGraphics = buffer.getGraphics();
+        if (fullUpdate || dirtyCells == null || dirtyCells.getSize() != rowCount * columnCount) {
+            fullUpdate = false;
+            if (dirtyCells != null) {
+                dirtyCells.take(cells);
+            }
+            for (int i = 0; i < rowCount; ++i) {
+                for (int j = 0; j < columnCount; ++j) {
+                    drawCell(bufferGraphics, i, j);
+                }
+            }
+        } else if (dirtyCells.take(cells)) {
+            for (int word = 0; word < cells.length; ++word) {
+                long bits = cells[word];
+                while (bits != 0) {
+                    int cell = 64 * word + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    drawCell(bufferGraphics, cell / columnCount, cell % columnCount);
+                }
             }
         }
+        bufferGraphics.dispose();
     }
 
-    private Color getBackgroundColorByColorCode(int colorCode) {
-        int red = (colorCode   & 0b00100000) >> 5;
-        int green = (colorCode & 0b00010000) >> 4;
-        int blue = (colorCode  & 0b00001000) >> 3;
-        return new Color(255 * red, 255 * green, 255 * blue);
+    private void drawCell(Graphics g, int i, int j) {
+        int glyph = (charMemory[i][j] & 0xFF) * 64 + (colorMemory[i][j] & 0b00111111);
+        if (glyphs[glyph] == null) {
+            glyphs[glyph] = createGlyph(glyph >> 6, glyph & 0b00111111);
+        }
+        g.drawImage(glyphs[glyph], j * pixelSize, i * pixelSize, null);
     }
 
-    private Color getCharColorByColorCode(int colorCode) {
-        int red = (colorCode   & 0b00000100) >> 2;
-        int green = (colorCode & 0b00000010) >> 1;
-        int blue = colorCode  & 0b00000001;
-        return new Color(255 * red, 255 * green, 255 * blue);
+    private BufferedImage createGlyph(int numberAsc, int colorCode) {
+        BufferedImage glyph = new BufferedImage(pixelSize, pixelSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics2D = glyph.createGraphics();
+        // Сглаживание текста как при выводе на панель
+        Object hints = Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+        if (hints instanceof Map) {
+            graphics2D.addRenderingHints((Map<?, ?>) hints);
+        }
+        graphics2D.setFont(getFont());
+        graphics2D.setColor(COLORS[(colorCode & 0b00111000) >> 3]);
+        graphics2D.fillRect(0, 0, pixelSize, pixelSize);
+        graphics2D.setColor(COLORS[colorCode & 0b00000111]);
+        graphics2D.drawString(String.valueOf(CHARACTERS[numberAsc]), 0, 12);
+        graphics2D.dispose();
+        return glyph;
     }
 
-    private int chooseCharacter(int numberAsc) {
+    private static int chooseCharacter(int numberAsc) {
         if (numberAsc < 128) {
             return numberAsc;
         } else {
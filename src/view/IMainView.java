@@ -45,9 +45,12 @@ public interface IMainView {
     void registersTableUpdate();
 
     /**
-     * Метод для уведомления view-компонента об изменении состояния памяти эмулятора.
+     * Метод для уведомления view-компонента об изменении ячеек памяти эмулятора или
+     * дизассемблированных команд в них. Может вызываться не из потока обработки событий.
+     * @param firstAddress адрес первой изменённой ячейки.
+     * @param lastAddress адрес последней изменённой ячейки.
      */
-    void memoryTableUpdate();
+    void memoryTableUpdate(int firstAddress, int lastAddress);
 
     /**
      * Метод для уведомления view-компонента об изменении таблицы соотношения меток и адресов.
@@ -86,7 +89,17 @@ public interface IMainView {
 
     /**
      * Метод для запроса у view-компонента ввода значения в консоль ввода.
-     * @return введёное в консоль ввода значение.
+     * Ожидание завершается при прерывании вызвавшего потока (остановке программы).
+     * @return введёное в консоль ввода значение или 0, если ожидание прервано.
      */
     int requestOfInput();
+
+    /**
+     * Метод для уведомления об остановке программы на точке наблюдения за памятью.
+     * Может вызываться не из потока обработки событий.
+     * @param address адрес наблюдаемой ячейки памяти.
+     * @param write true для записи в ячейку, false для чтения.
+     * @param commandAddress адрес команды, обратившейся к ячейке.
+     */
+    void showWatchpointHit(int address, boolean write, int commandAddress);
 }
\ No newline at end of file
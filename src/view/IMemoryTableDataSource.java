@@ -0,0 +1,23 @@
+package view;
+
+/**
+ * Интерфейс источника данных таблицы памяти. Таблица запрашивает данные только для
+ * отображаемых строк, поэтому источник не хранит отформатированную таблицу целиком.
+ */
+public interface IMemoryTableDataSource {
+
+    /**
+     * @return количество ячеек памяти (строк таблицы).
+     */
+    int getMemorySize();
+
+    /**
+     * @return значение ячейки памяти (0 - 255).
+     */
+    int getValue(int address);
+
+    /**
+     * @return мнемоника команды, начинающейся в ячейке, или "***" для аргумента команды.
+     */
+    String getCommand(int address);
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package view;
 
+import model.emulator.DirtyMask;
+
 /**
  * Интерфейс для отображения модели экрана.
  * @author Maxim Rozhkov
@@ -18,6 +20,13 @@ interface IScreenView {
      */
     void setCharData(int[][] data);
 
+    /**
+     * Метод для установки во View-компонент отметок изменённых элементов видеопамяти.
+     * При перерисовке обновляются только отмеченные элементы.
+     * @param dirtyMask отметки изменённых элементов или null для обновления всего экрана.
+     */
+    void setDirtyMask(DirtyMask dirtyMask);
+
     /**
      * Метод для уведомления View-компонента об изменении данных модели.
      */
@@ -1,5 +1,7 @@
 package view;
 
+import model.emulator.DirtyMask;
+import model.emulator.IEmulator;
 import model.emulator.IExternalPeripheral;
 import presenter.IMainPresenter;
 import presenter.MainPresenter;
@@ -65,6 +67,13 @@ public class MainWindow extends JFrame implements IMainView {
     private JMenuItem showHideScreens;
     private JMenuItem switchTabItem;
     private JMenuItem deleteAllBreakpointsItem;
+    private JMenu clockMenu;
+    private JRadioButtonMenuItem clock2MHzItem;
+    private JRadioButtonMenuItem clock8MHzItem;
+    private JRadioButtonMenuItem clockUnthrottledItem;
+    private JCheckBoxMenuItem waitForInterruptOnHaltItem;
+    private JCheckBoxMenuItem timerWaitFastForwardItem;
+    private JCheckBoxMenuItem liveViewItem;
 
     private JMenu helpMenu;
     private JMenuItem helpItem;
@@ -92,10 +101,12 @@ public class MainWindow extends JFrame implements IMainView {
 
     private ArrayList<IExternalPeripheral> externalPeripherals;
 
-    public MainWindow(IMainPresenter presenter, String[][] dataSourceForMemoryTable,
+    public MainWindow(IMainPresenter presenter, IMemoryTableDataSource dataSourceForMemoryTable,
                       String[][] dataSourceForRegisterTable, int[][] dataSourceForPixelScreen,
+                      DirtyMask dataSourceForPixelScreen_DirtyRows,
                       int[][] dataSourceForCharacterScreen_Color,
                       int[][] dataSourceForCharacterScreen_Character,
+                      DirtyMask dataSourceForCharacterScreen_DirtyCells,
                       ArrayList<String> dataSourceForLabel2AddressTable,
                       ArrayList<IExternalPeripheral> externalPeripherals) {
         this.presenter = presenter;
@@ -104,7 +115,8 @@ public class MainWindow extends JFrame implements IMainView {
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
 
         createUI(dataSourceForMemoryTable, dataSourceForRegisterTable, dataSourceForPixelScreen,
-                dataSourceForCharacterScreen_Color, dataSourceForCharacterScreen_Character,
+                dataSourceForPixelScreen_DirtyRows, dataSourceForCharacterScreen_Color,
+                dataSourceForCharacterScreen_Character, dataSourceForCharacterScreen_DirtyCells,
                 dataSourceForLabel2AddressTable, externalPeripherals);
 
         this.externalPeripherals = externalPeripherals;
@@ -120,10 +132,12 @@ public class MainWindow extends JFrame implements IMainView {
     }
 
     // Create&Setting GUI
-    private void createUI(String[][] dataSourceForMemoryTable,
+    private void createUI(IMemoryTableDataSource dataSourceForMemoryTable,
                           String[][] dataSourceForRegisterTable, int[][] dataSourceForPixelScreen,
+                          DirtyMask dataSourceForPixelScreen_DirtyRows,
                           int[][] dataSourceForCharacterScreen_Color,
                           int[][] dataSourceForCharacterScreen_Character,
+                          DirtyMask dataSourceForCharacterScreen_DirtyCells,
                           ArrayList<String> dataSourceForLabel2AddressTable,
                           ArrayList<IExternalPeripheral> externalPeripherals) {
 
@@ -134,9 +148,9 @@ public class MainWindow extends JFrame implements IMainView {
 
         createLabel2AddressTable(dataSourceForLabel2AddressTable);
 
-        createScreens(dataSourceForPixelScreen,
+        createScreens(dataSourceForPixelScreen, dataSourceForPixelScreen_DirtyRows,
                 dataSourceForCharacterScreen_Color,
-                dataSourceForCharacterScreen_Character);
+                dataSourceForCharacterScreen_Character, dataSourceForCharacterScreen_DirtyCells);
 
         createAboutWindow();
         createHelpWindow();
@@ -309,8 +323,23 @@ public class MainWindow extends JFrame implements IMainView {
                         presenter.setProgramCounter(memoryTable.getSelectedRow());
                     } else if (e.getButton() == MouseEvent.BUTTON3) {
                         int row = memoryTable.rowAtPoint(e.getPoint());
-                        memoryTable.setRowSelectionInterval(row, row);
-                        presenter.setBreakpoint(memoryTable.getSelectedRow());
+                        if (!e.isAltDown() || !memoryTable.isRowSelected(row)) {
+                            memoryTable.setRowSelectionInterval(row, row);
+                        }
+                        if (e.isShiftDown()) {
+                            // Выполнение до курсора.
+                            if (runItem.isEnabled()) {
+                                presenter.runToAddress(row);
+                            }
+                        } else if (e.isControlDown()) {
+                            setConditionalBreakpoint(row);
+                        } else if (e.isAltDown()) {
+                            // Наблюдение за выделенной областью памяти.
+                            setWatchpoint(memoryTable.getSelectionModel().getMinSelectionIndex(),
+                                    memoryTable.getSelectionModel().getMaxSelectionIndex());
+                        } else {
+                            presenter.setBreakpoint(memoryTable.getSelectedRow());
+                        }
                     }
                 }
             }
@@ -423,6 +452,48 @@ public class MainWindow extends JFrame implements IMainView {
             }
         });
 
+        clock2MHzItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                presenter.setClockFrequency(IEmulator.CLOCK_FREQUENCY_2_MHZ);
+            }
+        });
+
+        clock8MHzItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                presenter.setClockFrequency(4 * IEmulator.CLOCK_FREQUENCY_2_MHZ);
+            }
+        });
+
+        clockUnthrottledItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                presenter.setClockFrequency(IEmulator.UNTHROTTLED);
+            }
+        });
+
+        waitForInterruptOnHaltItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                presenter.setWaitForInterruptOnHalt(waitForInterruptOnHaltItem.isSelected());
+            }
+        });
+
+        timerWaitFastForwardItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                presenter.setTimerWaitFastForward(timerWaitFastForwardItem.isSelected());
+            }
+        });
+
+        liveViewItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                presenter.setLiveView(liveViewItem.isSelected());
+            }
+        });
+
         helpItem.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
@@ -475,6 +546,30 @@ public class MainWindow extends JFrame implements IMainView {
         deleteAllBreakpointsItem = new JMenuItem("Delete All Breakpoints");
         deleteAllBreakpointsItem.setFont(mainFont);
 
+        clock2MHzItem = new JRadioButtonMenuItem("2 MHz (Intel 8080)", true);
+        clock2MHzItem.setFont(mainFont);
+        clock8MHzItem = new JRadioButtonMenuItem("8 MHz (x4)");
+        clock8MHzItem.setFont(mainFont);
+        clockUnthrottledItem = new JRadioButtonMenuItem("Unthrottled");
+        clockUnthrottledItem.setFont(mainFont);
+        ButtonGroup clockGroup = new ButtonGroup();
+        clockGroup.add(clock2MHzItem);
+        clockGroup.add(clock8MHzItem);
+        clockGroup.add(clockUnthrottledItem);
+
+        clockMenu = new JMenu("Clock");
+        clockMenu.setFont(mainFont);
+        clockMenu.add(clock2MHzItem);
+        clockMenu.add(clock8MHzItem);
+        clockMenu.add(clockUnthrottledItem);
+
+        waitForInterruptOnHaltItem = new JCheckBoxMenuItem("HLT Waits for Interrupt");
+        waitForInterruptOnHaltItem.setFont(mainFont);
+        timerWaitFastForwardItem = new JCheckBoxMenuItem("Fast-Forward Timer Waits");
+        timerWaitFastForwardItem.setFont(mainFont);
+        liveViewItem = new JCheckBoxMenuItem("Live Registers While Running");
+        liveViewItem.setFont(mainFont);
+
         emulatorMenu = new JMenu("Emulator");
         emulatorMenu.setFont(mainFont);
         emulatorMenu.add(translationItem);
@@ -490,6 +585,11 @@ public class MainWindow extends JFrame implements IMainView {
         emulatorMenu.add(showHideScreens);
         emulatorMenu.addSeparator();
         emulatorMenu.add(deleteAllBreakpointsItem);
+        emulatorMenu.addSeparator();
+        emulatorMenu.add(clockMenu);
+        emulatorMenu.add(waitForInterruptOnHaltItem);
+        emulatorMenu.add(timerWaitFastForwardItem);
+        emulatorMenu.add(liveViewItem);
 
         helpItem = new JMenuItem("Help      F1");
         helpItem.setFont(mainFont);
@@ -509,7 +609,7 @@ public class MainWindow extends JFrame implements IMainView {
         this.setJMenuBar(menuBar);
     }
 
-    private void createMemoryTable(String[][] dataSourceForMemoryTable) {
+    private void createMemoryTable(IMemoryTableDataSource dataSourceForMemoryTable) {
 
         memoryTableModel = new MemoryTableModel(dataSourceForMemoryTable);
         memoryTable.setModel(memoryTableModel);
@@ -552,15 +652,19 @@ public class MainWindow extends JFrame implements IMainView {
         externalPeripheralTable.getColumnModel().getColumn(2).setMaxWidth(75);
     }
 
-    private void createScreens(int[][] dataSourceForPixelScreen, int[][] dataSourceForCharacterScreen_Color,
-                               int[][] dataSourceForCharacterScreen_Character) {
+    private void createScreens(int[][] dataSourceForPixelScreen, DirtyMask dataSourceForPixelScreen_DirtyRows,
+                               int[][] dataSourceForCharacterScreen_Color,
+                               int[][] dataSourceForCharacterScreen_Character,
+                               DirtyMask dataSourceForCharacterScreen_DirtyCells) {
 
         pixelScreenView = new PixelScreenView(256, 256, 1);
         characterScreenView = new CharacterScreenView(240, 240, 12);
 
         pixelScreenView.setColorData(dataSourceForPixelScreen);
+        pixelScreenView.setDirtyMask(dataSourceForPixelScreen_DirtyRows);
         characterScreenView.setColorData(dataSourceForCharacterScreen_Color);
         characterScreenView.setCharData(dataSourceForCharacterScreen_Character);
+        characterScreenView.setDirtyMask(dataSourceForCharacterScreen_DirtyCells);
 
         screensWindow = new ScreensWindow((PixelScreenView) pixelScreenView,
                 (CharacterScreenView) characterScreenView, this);
@@ -662,6 +766,13 @@ public class MainWindow extends JFrame implements IMainView {
         switchTabItem.setFocusable(false);
         showHideScreens.setFocusable(false);
         deleteAllBreakpointsItem.setFocusable(false);
+        clockMenu.setFocusable(false);
+        clock2MHzItem.setFocusable(false);
+        clock8MHzItem.setFocusable(false);
+        clockUnthrottledItem.setFocusable(false);
+        waitForInterruptOnHaltItem.setFocusable(false);
+        timerWaitFastForwardItem.setFocusable(false);
+        liveViewItem.setFocusable(false);
         helpItem.setFocusable(false);
         aboutItem.setFocusable(false);
 
@@ -728,6 +839,31 @@ public class MainWindow extends JFrame implements IMainView {
         System.exit(1);
     }
 
+    private void setConditionalBreakpoint(int address) {
+        String condition = JOptionPane.showInputDialog(MainWindow.this,
+                "Breakpoint condition (e.g. A == 0x10 && [HL] != 0):", "Conditional Breakpoint",
+                JOptionPane.QUESTION_MESSAGE);
+        if (condition != null && !condition.trim().isEmpty()) {
+            try {
+                presenter.setBreakpoint(address, condition);
+            } catch (IllegalArgumentException e) {
+                JOptionPane.showMessageDialog(MainWindow.this,
+                        e.getMessage(), "Error!", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
+    private void setWatchpoint(int firstAddress, int lastAddress) {
+        String[] options = {"Write", "Read", "Read/Write", "Remove"};
+        int option = JOptionPane.showOptionDialog(MainWindow.this,
+                String.format("Watch memory %04X - %04X:", firstAddress, lastAddress), "Watchpoint",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if (option >= 0) {
+            presenter.setWatchpoint(firstAddress, lastAddress - firstAddress + 1,
+                    option == 1 || option == 2, option == 0 || option == 2);
+        }
+    }
+
     private void run() {
         presenter.run();
     }
@@ -899,13 +1035,25 @@ public class MainWindow extends JFrame implements IMainView {
 
             try {
                 Thread.sleep(250);
-            } catch (InterruptedException ignored) {}
+            } catch (InterruptedException e) {
+                // Выполнение программы остановлено, команда IN получает значение 0.
+                Thread.currentThread().interrupt();
+                return 0;
+            }
         }
     }
 
     @Override
-    public void memoryTableUpdate() {
-        memoryTableModel.fireTableDataChanged();
+    public void showWatchpointHit(int address, boolean write, int commandAddress) {
+        String message = String.format("%s %04X by command at %04X",
+                write ? "Write to" : "Read from", address, commandAddress);
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(MainWindow.this,
+                message, "Watchpoint", JOptionPane.INFORMATION_MESSAGE));
+    }
+
+    @Override
+    public void memoryTableUpdate(int firstAddress, int lastAddress) {
+        SwingUtilities.invokeLater(() -> memoryTableModel.rowsUpdated(firstAddress, lastAddress));
     }
 
     @Override
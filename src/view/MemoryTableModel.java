@@ -1,13 +1,32 @@
 package view;
 
 import javax.swing.table.AbstractTableModel;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Модель таблицы памяти. Строки форматируются при отображении из источника данных,
+ * а отформатированные строки хранятся в небольшом кэше LRU, поэтому перерисовка
+ * видимой части таблицы не создаёт строки заново. Изменённые строки удаляются из кэша
+ * методом {@link #rowsUpdated(int, int)}.
+ * Методы модели вызываются в потоке обработки событий.
+ */
 class MemoryTableModel extends AbstractTableModel {
 
-    private String[][] dataSourceForMemoryTable;
+    private static final int CACHE_SIZE = 256;
+
+    private IMemoryTableDataSource dataSourceForMemoryTable;
     private String[] columnName = {"Address", "Command", "Code"};
 
-    MemoryTableModel(String[][] dataSourceForMemoryTable) {
+    private final LinkedHashMap<Integer, String[]> rows
+            = new LinkedHashMap<Integer, String[]>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String[]> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    MemoryTableModel(IMemoryTableDataSource dataSourceForMemoryTable) {
         this.dataSourceForMemoryTable = dataSourceForMemoryTable;
     }
 
@@ -18,16 +37,39 @@ class MemoryTableModel extends AbstractTableModel {
 
     @Override
     public int getRowCount() {
-        return dataSourceForMemoryTable.length;
+        return dataSourceForMemoryTable.getMemorySize();
     }
 
     @Override
     public int getColumnCount() {
-        return dataSourceForMemoryTable[0].length;
+        return columnName.length;
     }
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        return dataSourceForMemoryTable[rowIndex][columnIndex];
+        String[] row = rows.get(rowIndex);
+        if (row == null) {
+            row = new String[] {
+                    String.format("%04x", rowIndex),
+                    dataSourceForMemoryTable.getCommand(rowIndex),
+                    String.format("%02x", dataSourceForMemoryTable.getValue(rowIndex))
+            };
+            rows.put(rowIndex, row);
+        }
+        return row[columnIndex];
+    }
+
+    /**
+     * Метод для уведомления таблицы об изменении ячеек памяти с адресами от first до last.
+     */
+    void rowsUpdated(int first, int last) {
+        if (last - first >= CACHE_SIZE) {
+            rows.clear();
+        } else {
+            for (int i = first; i <= last; ++i) {
+                rows.remove(i);
+            }
+        }
+        fireTableRowsUpdated(first, last);
     }
 }
@@ -1,16 +1,46 @@
 package view;
 
+import model.emulator.DirtyMask;
+
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
+/**
+ * Пиксельный экран. Видеопамять отображается в изображение {@link BufferedImage}, пиксели
+ * которого хранятся в массиве int. Цвета берутся из заранее вычисленной палитры на 256 кодов.
+ * При перерисовке обновляются только строки, отмеченные моделью экрана как изменённые,
+ * после чего изображение выводится одним вызовом с масштабированием.
+ */
 class PixelScreenView extends JPanel implements IScreenView {
 
+    private static final int[] PALETTE = new int[256];
+
+    static {
+        for (int colorCode = 0; colorCode < PALETTE.length; ++colorCode) {
+            int r = (colorCode & 0b11000000) >> 6;
+            int g = (colorCode & 0b00111000) >> 3;
+            int b = (colorCode & 0b00000111);
+            PALETTE[colorCode] = (85 * r) << 16 | (31 * g) << 8 | 31 * b;
+        }
+    }
+
     private int pixelSize;
     private int[][] memory;
 
+    private final BufferedImage image;
+    private final int[] pixels;
+
+    private DirtyMask dirtyRows;
+    private long[] rows;
+    private boolean fullUpdate = true;
+
     PixelScreenView(int weight, int height, int pixelSize) {
         this.pixelSize = pixelSize;
         this.memory = new int[256][256];
+        this.image = new BufferedImage(weight, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
         setSize(weight * pixelSize, height * pixelSize);
         setVisible(true);
     }
@@ -18,11 +48,19 @@ class PixelScreenView extends JPanel implements IScreenView {
     @Override
     public void setColorData(int[][] data) {
         memory = data;
+        fullUpdate = true;
     }
 
     @Override
     public void setCharData(int[][] data) {}
 
+    @Override
+    public void setDirtyMask(DirtyMask dirtyMask) {
+        dirtyRows = dirtyMask;
+        rows = dirtyMask == null ? null : new long[(dirtyMask.getSize() + 63) / 64];
+        fullUpdate = true;
+    }
+
     @Override
     public void update() {
         repaint();
@@ -31,21 +69,42 @@ class PixelScreenView extends JPanel implements IScreenView {
     @Override
     public void paint(Graphics g) {
         super.paint(g);
-        Graphics2D graphics2D = (Graphics2D) g;
         if (memory != null) {
-            for (int i = 0; i < memory.length; ++i) {
-                for (int j = 0; j < memory[i].length; ++j) {
-                    graphics2D.setColor(getColorByByte(memory[i][j]));
-                    graphics2D.fillRect(j * pixelSize, i * pixelSize, pixelSize, pixelSize);
+            updateImage();
+            g.drawImage(image, 0, 0, image.getWidth() * pixelSize, image.getHeight() * pixelSize, null);
+        }
+    }
+
+    private void updateImage() {
+        int height = Math.min(memory.length, image.getHeight());
+        if (fullUpdate || dirtyRows == null) {
+            fullUpdate = false;
+            if (dirtyRows != null) {
+                dirtyRows.take(rows);
+            }
+            for (int i = 0; i < height; ++i) {
+                updateRow(i);
+            }
+        } else if (dirtyRows.take(rows)) {
+            for (int word = 0; word < rows.length; ++word) {
+                long bits = rows[word];
+                while (bits != 0) {
+                    int i = 64 * word + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (i < height) {
+                        updateRow(i);
+                    }
                 }
             }
         }
     }
 
-    private Color getColorByByte(int colorCode) {
-        int r = (colorCode & 0b11000000) >> 6;
-        int g = (colorCode & 0b00111000) >> 3;
-        int b = (colorCode & 0b00000111);
-        return new Color(85 * r, 31 * g, 31 * b);
+    private void updateRow(int i) {
+        int[] row = memory[i];
+        int width = Math.min(row.length, image.getWidth());
+        int offset = i * image.getWidth();
+        for (int j = 0; j < width; ++j) {
+            pixels[offset + j] = PALETTE[row[j] & 0xFF];
+        }
     }
 }
\ No newline at end of file